@@ -23,7 +23,8 @@ CREATE TABLE `sys_user` (
   `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
   `remark` VARCHAR(500) DEFAULT NULL COMMENT '备注',
   PRIMARY KEY (`id`),
-  UNIQUE KEY `uk_email` (`email`)
+  UNIQUE KEY `uk_email` (`email`),
+  KEY `idx_update_time` (`update_time`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户表';
 
 -- ----------------------------
@@ -82,6 +83,7 @@ CREATE TABLE `bus_account` (
   `type` VARCHAR(20) NOT NULL COMMENT '账户类型(cash, card, alipay, wechat, other)',
   `icon` VARCHAR(50) DEFAULT 'Wallet' COMMENT '图标名称',
   `initial_balance` DECIMAL(15, 2) NOT NULL DEFAULT 0.00 COMMENT '初始余额',
+  `current_balance` DECIMAL(15, 2) NOT NULL DEFAULT 0.00 COMMENT '当前余额(初始余额加交易增量，随交易写入同步维护)',
   `sort_order` INT DEFAULT 0 COMMENT '排序权重',
   `is_system` INT DEFAULT 0 COMMENT '是否系统默认(0:否,1:是)',
   `del_flag` TINYINT(1) DEFAULT 0 COMMENT '删除标志',
@@ -138,8 +140,11 @@ CREATE TABLE `bus_transaction` (
   `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
   PRIMARY KEY (`id`),
   KEY `idx_user_date` (`user_id`, `date`),
+  KEY `idx_user_amount` (`user_id`, `amount`),
+  KEY `idx_user_category` (`user_id`, `category_id`),
   KEY `idx_category` (`category_id`),
-  KEY `idx_account` (`account_id`)
+  KEY `idx_account` (`account_id`),
+  FULLTEXT KEY `ft_note` (`note`) WITH PARSER ngram
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='交易明细表';
 
 -- ----------------------------
@@ -165,9 +170,39 @@ CREATE TABLE `bus_transaction_tag` (
   `transaction_id` BIGINT UNSIGNED NOT NULL COMMENT '交易ID',
   `tag_id` BIGINT UNSIGNED NOT NULL COMMENT '标签ID',
   `del_flag` TINYINT(1) DEFAULT 0 COMMENT '删除标志',
-  PRIMARY KEY (`transaction_id`, `tag_id`)
+  PRIMARY KEY (`transaction_id`, `tag_id`),
+  KEY `idx_tag_transaction` (`tag_id`, `transaction_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='交易标签关联表';
 
+-- ----------------------------
+-- Table structure for bus_daily_summary
+-- ----------------------------
+DROP TABLE IF EXISTS `bus_daily_summary`;
+CREATE TABLE `bus_daily_summary` (
+  `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID',
+  `date` DATE NOT NULL COMMENT '交易日期',
+  `type` ENUM('expense', 'income', 'transfer', 'transfer_in') NOT NULL COMMENT '类型(transfer为转出方, transfer_in为转入方)',
+  `category_id` BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '分类ID(无分类为0)',
+  `account_id` BIGINT UNSIGNED NOT NULL COMMENT '账户ID(transfer_in为转入账户)',
+  `amount_sum` DECIMAL(17, 2) NOT NULL DEFAULT 0 COMMENT '金额合计',
+  `tx_count` INT NOT NULL DEFAULT 0 COMMENT '交易笔数',
+  `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`user_id`, `date`, `type`, `category_id`, `account_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='交易日汇总表';
+
+-- ----------------------------
+-- Table structure for bus_net_worth_snapshot
+-- ----------------------------
+DROP TABLE IF EXISTS `bus_net_worth_snapshot`;
+CREATE TABLE `bus_net_worth_snapshot` (
+  `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID',
+  `snapshot_month` DATE NOT NULL COMMENT '快照月份(当月第一天)',
+  `account_id` BIGINT UNSIGNED NOT NULL COMMENT '账户ID(0为全部账户合计)',
+  `balance` DECIMAL(17, 2) NOT NULL DEFAULT 0 COMMENT '月末余额',
+  `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '生成时间',
+  PRIMARY KEY (`user_id`, `snapshot_month`, `account_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='月末净资产快照表';
+
 -- ----------------------------
 -- Table structure for bus_budget
 -- ----------------------------
@@ -264,4 +299,128 @@ CREATE TABLE `bus_goal_record` (
   KEY `idx_goal_id` (`goal_id`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='目标存取记录流水';
 
+-- ----------------------------
+-- Table structure for sys_ledger_audit_run
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_ledger_audit_run`;
+CREATE TABLE `sys_ledger_audit_run` (
+  `id` BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '巡检批次ID',
+  `trigger_type` VARCHAR(20) NOT NULL COMMENT '触发方式(scheduled, manual)',
+  `status` VARCHAR(20) NOT NULL COMMENT '状态(running, completed, failed)',
+  `max_user_id` BIGINT UNSIGNED NOT NULL COMMENT '开始时的最大用户ID，分区范围以此为上界',
+  `partition_size` INT NOT NULL COMMENT '每个分区包含的用户ID数量',
+  `total_partitions` INT NOT NULL COMMENT '分区总数',
+  `finished_partitions` INT NOT NULL DEFAULT 0 COMMENT '已完成分区数',
+  `finding_count` INT NOT NULL DEFAULT 0 COMMENT '发现问题数',
+  `error_message` VARCHAR(500) DEFAULT NULL COMMENT '失败原因',
+  `start_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '开始时间',
+  `finish_time` DATETIME DEFAULT NULL COMMENT '结束时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_status` (`status`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='账本巡检批次表';
+
+-- ----------------------------
+-- Table structure for sys_ledger_audit_checkpoint
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_ledger_audit_checkpoint`;
+CREATE TABLE `sys_ledger_audit_checkpoint` (
+  `run_id` BIGINT UNSIGNED NOT NULL COMMENT '巡检批次ID',
+  `start_user_id` BIGINT UNSIGNED NOT NULL COMMENT '分区起始用户ID(含)',
+  `end_user_id` BIGINT UNSIGNED NOT NULL COMMENT '分区结束用户ID(不含)',
+  `finding_count` INT NOT NULL DEFAULT 0 COMMENT '分区发现问题数',
+  `duration_ms` BIGINT NOT NULL DEFAULT 0 COMMENT '分区扫描耗时(毫秒)',
+  `finish_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '完成时间',
+  PRIMARY KEY (`run_id`, `start_user_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='账本巡检分区检查点表';
+
+-- ----------------------------
+-- Table structure for sys_ledger_audit_lease
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_ledger_audit_lease`;
+CREATE TABLE `sys_ledger_audit_lease` (
+  `id` TINYINT UNSIGNED NOT NULL COMMENT '固定为1，全局只有一行',
+  `owner` VARCHAR(64) DEFAULT NULL COMMENT '持有租约的实例标识，为空表示空闲',
+  `expire_time` DATETIME DEFAULT NULL COMMENT '租约到期时间，到期后其他实例可接管',
+  PRIMARY KEY (`id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='账本巡检租约表';
+
+-- ----------------------------
+-- Table structure for sys_ledger_audit_finding
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_ledger_audit_finding`;
+CREATE TABLE `sys_ledger_audit_finding` (
+  `id` BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '问题ID',
+  `run_id` BIGINT UNSIGNED NOT NULL COMMENT '巡检批次ID',
+  `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID',
+  `check_type` VARCHAR(40) NOT NULL COMMENT '检查项',
+  `entity_type` VARCHAR(30) NOT NULL COMMENT '问题数据类型(transaction, transaction_tag, account)',
+  `entity_id` BIGINT UNSIGNED NOT NULL COMMENT '问题数据ID',
+  `detail` VARCHAR(255) DEFAULT NULL COMMENT '问题说明',
+  `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '发现时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_run_user` (`run_id`, `user_id`),
+  KEY `idx_user_id` (`user_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='账本巡检问题表';
+
+-- ----------------------------
+-- Table structure for sys_sync_sequence
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_sync_sequence`;
+CREATE TABLE `sys_sync_sequence` (
+  `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID',
+  `seq` BIGINT UNSIGNED NOT NULL DEFAULT 0 COMMENT '最新变更序号',
+  `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`user_id`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户数据变更序号表';
+
+-- ----------------------------
+-- Table structure for sys_sync_change
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_sync_change`;
+CREATE TABLE `sys_sync_change` (
+  `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID',
+  `entity_type` VARCHAR(20) NOT NULL COMMENT '数据类型(account, category, budget, goal, rule, transaction)',
+  `entity_id` BIGINT UNSIGNED NOT NULL COMMENT '数据ID',
+  `seq` BIGINT UNSIGNED NOT NULL COMMENT '最近一次变更的序号',
+  `deleted` TINYINT(1) NOT NULL DEFAULT 0 COMMENT '是否已删除',
+  `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '变更时间',
+  PRIMARY KEY (`user_id`, `entity_type`, `entity_id`),
+  KEY `idx_user_seq` (`user_id`, `seq`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户数据变更表';
+
+-- ----------------------------
+-- Table structure for sys_token_revocation
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_token_revocation`;
+CREATE TABLE `sys_token_revocation` (
+  `id` BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '主键',
+  `jti` VARCHAR(64) NOT NULL COMMENT 'Token ID',
+  `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID',
+  `expire_time` DATETIME NOT NULL COMMENT 'Token过期时间，过期后记录可清理',
+  `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '吊销时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_jti` (`jti`),
+  KEY `idx_create_time` (`create_time`),
+  KEY `idx_expire_time` (`expire_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='Token吊销表';
+
+-- ----------------------------
+-- Table structure for sys_refresh_token
+-- ----------------------------
+DROP TABLE IF EXISTS `sys_refresh_token`;
+CREATE TABLE `sys_refresh_token` (
+  `id` BIGINT UNSIGNED NOT NULL AUTO_INCREMENT COMMENT '主键',
+  `user_id` BIGINT UNSIGNED NOT NULL COMMENT '用户ID',
+  `family_id` VARCHAR(36) NOT NULL COMMENT '令牌族ID，同一次登录轮换出的令牌共用',
+  `token_hash` CHAR(64) NOT NULL COMMENT '刷新令牌SHA-256摘要',
+  `expire_time` DATETIME NOT NULL COMMENT '过期时间，过期后记录可清理',
+  `used_time` DATETIME DEFAULT NULL COMMENT '轮换时间，非空表示已使用',
+  `revoked_time` DATETIME DEFAULT NULL COMMENT '吊销时间，非空表示已吊销',
+  `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '签发时间',
+  PRIMARY KEY (`id`),
+  UNIQUE KEY `uk_token_hash` (`token_hash`),
+  KEY `idx_family_id` (`family_id`),
+  KEY `idx_expire_time` (`expire_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='刷新令牌表';
+
 SET FOREIGN_KEY_CHECKS = 1;
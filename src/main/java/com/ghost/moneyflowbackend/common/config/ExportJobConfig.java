@@ -0,0 +1,34 @@
+package com.ghost.moneyflowbackend.common.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 异步导出任务配置
+ */
+@Configuration
+@EnableConfigurationProperties(ExportProperties.class)
+public class ExportJobConfig {
+
+    /**
+     * 导出任务线程池，与 Tomcat 请求线程隔离，队列满时直接拒绝
+     *
+     * @param exportProperties 导出配置
+     * @return 线程池
+     */
+    @Bean
+    public ThreadPoolTaskExecutor exportJobExecutor(ExportProperties exportProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(exportProperties.getWorkerThreads());
+        executor.setMaxPoolSize(exportProperties.getWorkerThreads());
+        executor.setQueueCapacity(exportProperties.getQueueCapacity());
+        executor.setThreadNamePrefix("export-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,46 @@
+package com.ghost.moneyflowbackend.common.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * 异步导出任务配置参数
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "export.job")
+public class ExportProperties {
+
+    /**
+     * 导出结果文件存放目录
+     */
+    @NotBlank(message = "导出目录不能为空")
+    private String directory = System.getProperty("java.io.tmpdir") + "/money-flow-export";
+
+    /**
+     * 导出工作线程数
+     */
+    @Min(value = 1, message = "导出线程数必须大于0")
+    private Integer workerThreads = 2;
+
+    /**
+     * 等待执行的导出任务上限
+     */
+    @Min(value = 0, message = "导出队列容量不能为负数")
+    private Integer queueCapacity = 20;
+
+    /**
+     * 单个用户同时进行中的导出任务上限
+     */
+    @Min(value = 1, message = "单用户导出任务上限必须大于0")
+    private Integer maxActivePerUser = 2;
+
+    /**
+     * 导出结果保留时间（分钟）
+     */
+    @Min(value = 1, message = "导出结果保留时间必须大于0")
+    private Integer resultTtlMinutes = 60;
+}
@@ -0,0 +1,35 @@
+package com.ghost.moneyflowbackend.common.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 账本巡检配置
+ */
+@Configuration
+@EnableConfigurationProperties(LedgerAuditProperties.class)
+public class LedgerAuditConfig {
+
+    /**
+     * 巡检线程池，线程数即并行扫描的分区数；同一时间只有一个批次，每个工作线程只提交一次
+     *
+     * @param ledgerAuditProperties 巡检配置
+     * @return 线程池
+     */
+    @Bean
+    public ThreadPoolTaskExecutor ledgerAuditExecutor(LedgerAuditProperties ledgerAuditProperties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(ledgerAuditProperties.getParallelism());
+        executor.setMaxPoolSize(ledgerAuditProperties.getParallelism());
+        executor.setQueueCapacity(ledgerAuditProperties.getParallelism());
+        executor.setThreadNamePrefix("ledger-audit-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        // 停机时中断扫描，未完成的批次在下次启动时从检查点继续
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        return executor;
+    }
+}
@@ -0,0 +1,70 @@
+package com.ghost.moneyflowbackend.common.config;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * 账本巡检配置参数
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "ledger.audit")
+public class LedgerAuditProperties {
+
+    /**
+     * 是否启用定时巡检，手动触发不受影响
+     */
+    private Boolean enabled = true;
+
+    /**
+     * 定时巡检的 cron 表达式，由定时任务注解直接读取
+     */
+    private String cron = "0 30 3 * * ?";
+
+    /**
+     * 每个分区包含的用户ID数量
+     */
+    @Min(value = 1, message = "巡检分区大小必须大于0")
+    private Integer partitionSize = 1000;
+
+    /**
+     * 并行扫描的分区数
+     */
+    @Min(value = 1, message = "巡检并行度必须大于0")
+    @Max(value = 8, message = "巡检并行度不能超过8")
+    private Integer parallelism = 2;
+
+    /**
+     * 分区扫描后的休眠时间与扫描耗时之比，1 表示每个工作线程至多一半时间占用数据库
+     */
+    @DecimalMin(value = "0", message = "巡检休眠比例不能为负数")
+    private Double pauseRatio = 1.0;
+
+    /**
+     * 分区扫描后的最短休眠时间（毫秒）
+     */
+    @Min(value = 0, message = "巡检最短休眠时间不能为负数")
+    private Long minPauseMillis = 50L;
+
+    /**
+     * 单个分区每个检查项最多记录的问题数
+     */
+    @Min(value = 1, message = "巡检问题上限必须大于0")
+    private Integer maxFindingsPerCheck = 500;
+
+    /**
+     * 巡检批次保留天数，过期批次的问题与检查点一并清理
+     */
+    @Min(value = 1, message = "巡检批次保留天数必须大于0")
+    private Integer retentionDays = 30;
+
+    /**
+     * 巡检租约时长（秒），同一时刻只有持有租约的实例执行巡检；每个分区开始前续约，需明显大于单个分区的扫描耗时
+     */
+    @Min(value = 1, message = "巡检租约时长必须大于0")
+    private Integer leaseSeconds = 600;
+}
@@ -0,0 +1,12 @@
+package com.ghost.moneyflowbackend.common.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 标签字典缓存配置
+ */
+@Configuration
+@EnableConfigurationProperties(TagCacheProperties.class)
+public class TagCacheConfig {
+}
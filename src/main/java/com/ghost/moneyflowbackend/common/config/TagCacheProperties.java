@@ -0,0 +1,30 @@
+package com.ghost.moneyflowbackend.common.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * 标签字典缓存配置参数
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "tag.cache")
+public class TagCacheProperties {
+
+    /**
+     * 最多缓存的用户数，超出后按最近最少使用淘汰
+     */
+    @Min(value = 1, message = "标签缓存用户数必须大于0")
+    private Long maximumSize = 10000L;
+
+    /**
+     * 字典加载后的有效期，多实例部署时也是其他实例新增标签的最长感知延迟
+     */
+    @NotNull(message = "标签缓存有效期不能为空")
+    private Duration expireAfterWrite = Duration.ofMinutes(30);
+}
@@ -0,0 +1,12 @@
+package com.ghost.moneyflowbackend.common.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 交易文件导入配置
+ */
+@Configuration
+@EnableConfigurationProperties(TransactionImportProperties.class)
+public class TransactionImportConfig {
+}
@@ -0,0 +1,35 @@
+package com.ghost.moneyflowbackend.common.config;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * 交易文件导入配置参数
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "transaction.import")
+public class TransactionImportProperties {
+
+    /**
+     * 每批写入的交易条数，每批在独立事务中提交；交易插入语句每行 15 个参数，需低于 MySQL 占位符上限
+     */
+    @Min(value = 1, message = "导入批次大小必须大于0")
+    @Max(value = 2000, message = "导入批次大小不能超过2000")
+    private Integer chunkSize = 1000;
+
+    /**
+     * 返回的行级错误条数上限，超出部分只计数
+     */
+    @Min(value = 0, message = "导入错误条数上限不能为负数")
+    private Integer maxErrors = 1000;
+
+    /**
+     * 查找表头时最多跳过的前置行数，用于兼容支付宝、微信账单的说明文字
+     */
+    @Min(value = 0, message = "表头前置行数不能为负数")
+    private Integer maxPreambleRows = 30;
+}
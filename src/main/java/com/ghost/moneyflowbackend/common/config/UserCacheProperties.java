@@ -0,0 +1,30 @@
+package com.ghost.moneyflowbackend.common.config;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * 用户缓存配置参数
+ */
+@Data
+@Validated
+@ConfigurationProperties(prefix = "security.user-cache")
+public class UserCacheProperties {
+
+    /**
+     * 最多缓存的用户数，超出后按最近最少使用淘汰
+     */
+    @Min(value = 1, message = "用户缓存条目数必须大于0")
+    private Long maximumSize = 10000L;
+
+    /**
+     * 用户加载后的有效期，用户状态轮询失败时作为兜底的最长过期时间
+     */
+    @NotNull(message = "用户缓存有效期不能为空")
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,27 @@
+package com.ghost.moneyflowbackend.common.config;
+
+import com.ghost.moneyflowbackend.common.web.DataVersionInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Web MVC 配置
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final DataVersionInterceptor dataVersionInterceptor;
+
+    /**
+     * 注册拦截器
+     *
+     * @param registry 拦截器注册表
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(dataVersionInterceptor).addPathPatterns("/api/**");
+    }
+}
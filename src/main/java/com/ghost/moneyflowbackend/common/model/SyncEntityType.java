@@ -0,0 +1,40 @@
+package com.ghost.moneyflowbackend.common.model;
+
+/**
+ * 增量同步的数据类型
+ */
+public final class SyncEntityType {
+
+    /**
+     * 账户
+     */
+    public static final String ACCOUNT = "account";
+
+    /**
+     * 分类
+     */
+    public static final String CATEGORY = "category";
+
+    /**
+     * 月度预算
+     */
+    public static final String BUDGET = "budget";
+
+    /**
+     * 储蓄目标
+     */
+    public static final String GOAL = "goal";
+
+    /**
+     * 周期性规则
+     */
+    public static final String RULE = "rule";
+
+    /**
+     * 交易
+     */
+    public static final String TRANSACTION = "transaction";
+
+    private SyncEntityType() {
+    }
+}
@@ -2,10 +2,13 @@ package com.ghost.moneyflowbackend.common.security;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
+
 /**
  * 认证配置参数
  */
@@ -31,4 +34,34 @@ public class AuthProperties {
      */
     @NotBlank(message = "JWT签发者不能为空")
     private String issuer = "money-flow-backend";
+
+    /**
+     * 是否直接由 Token 载荷构建登录用户，不再逐次查询用户表
+     */
+    @NotNull(message = "无状态鉴权开关不能为空")
+    private Boolean stateless = true;
+
+    /**
+     * 用户停用、删除状态的轮询间隔，无状态鉴权下状态变更最迟在一个间隔后生效
+     */
+    @NotNull(message = "用户状态轮询间隔不能为空")
+    private Duration statusRefreshInterval = Duration.ofSeconds(10);
+
+    /**
+     * 已校验 Token 缓存的最大条目数
+     */
+    @Min(value = 1, message = "Token缓存条目数必须大于0")
+    private Long tokenCacheMaximumSize = 100000L;
+
+    /**
+     * Token 吊销记录的轮询间隔，其他实例的退出登录最迟在一个间隔后生效
+     */
+    @NotNull(message = "Token吊销轮询间隔不能为空")
+    private Duration revocationRefreshInterval = Duration.ofSeconds(5);
+
+    /**
+     * 刷新令牌有效期，每次轮换重新计算
+     */
+    @NotNull(message = "刷新令牌有效期不能为空")
+    private Duration refreshTokenTtl = Duration.ofDays(30);
 }
@@ -0,0 +1,90 @@
+package com.ghost.moneyflowbackend.common.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 字符串布隆过滤器，线程安全，只增不删
+ *
+ * 以 64 位 FNV-1a 摘要（经过末尾混合）的高低两半做双重散列生成各探测位置
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * 构造方法，按预期元素数与误判率计算位数组长度与散列次数
+     *
+     * @param expectedInsertions 预期元素数
+     * @param falsePositiveRate 误判率
+     */
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(expectedInsertions, 1L);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(Long.SIZE, (m + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+        this.bits = new AtomicLongArray((int) (bitCount / Long.SIZE));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    /**
+     * 加入元素
+     *
+     * @param value 元素
+     */
+    void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            long mask = 1L << (index % Long.SIZE);
+            int slot = (int) (index / Long.SIZE);
+            long current = bits.get(slot);
+            while ((current & mask) == 0 && !bits.compareAndSet(slot, current, current | mask)) {
+                current = bits.get(slot);
+            }
+        }
+    }
+
+    /**
+     * 判断元素是否可能存在，返回 false 时一定不存在
+     *
+     * @param value 元素
+     * @return 是否可能存在
+     */
+    boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long index = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits.get((int) (index / Long.SIZE)) & (1L << (index % Long.SIZE))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 计算混合后的 64 位 FNV-1a 摘要
+     *
+     * @param value 元素
+     * @return 摘要
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        // 末尾混合，使高低两半都充分依赖全部输入
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
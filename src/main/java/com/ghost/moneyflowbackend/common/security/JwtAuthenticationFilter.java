@@ -1,5 +1,7 @@
 package com.ghost.moneyflowbackend.common.security;
 
+import com.ghost.moneyflowbackend.entity.SysUser;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -34,6 +36,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private final SysUserDetailsService userDetailsService;
 
+    /**
+     * 认证配置
+     */
+    private final AuthProperties authProperties;
+
+    /**
+     * 用户状态登记表
+     */
+    private final UserStatusRegistry userStatusRegistry;
+
+    /**
+     * Token 吊销存储
+     */
+    private final TokenRevocationStore tokenRevocationStore;
+
     /**
      * 过滤请求并建立安全上下文
      *
@@ -52,15 +69,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // 仅在当前上下文未认证时才进行解析，避免重复认证
         if (StringUtils.hasText(token) && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
-                // 从 Token 中读取邮箱作为身份标识
-                String email = jwtService.getSubject(token);
-                if (StringUtils.hasText(email)) {
-                    // 根据邮箱加载用户详情，确保用户状态有效
-                    SysUserDetails userDetails = (SysUserDetails) userDetailsService.loadUserByUsername(email);
+                // 解析时已校验签名与有效期
+                Claims claims = jwtService.parseToken(token);
+                // 已吊销的 Token 按未认证处理，检查只读内存
+                boolean revoked = claims.getId() != null && tokenRevocationStore.isRevoked(claims.getId());
+                SysUserDetails userDetails = revoked ? null : resolveUserDetails(claims);
+                // 停用或删除的用户由状态登记表拦截，Token 中的状态快照只反映签发时的状态
+                if (userDetails != null && userDetails.isEnabled() && userStatusRegistry.isActive(userDetails.getUserId())) {
                     // 构建认证对象并写入安全上下文
+                    // 凭证保存已校验的载荷，退出登录时据此吊销当前 Token
                     UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                             userDetails,
-                            null,
+                            claims,
                             userDetails.getAuthorities()
                     );
                     // 绑定请求细节，便于后续审计与问题排查
@@ -76,6 +96,30 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 构建登录用户：无状态模式下直接使用 Token 载荷，否则按邮箱查询用户表
+     *
+     * @param claims 已校验的 Token 载荷
+     * @return 用户详情，Token 缺少身份信息时返回 null
+     */
+    private SysUserDetails resolveUserDetails(Claims claims) {
+        Long userId = jwtService.getUserId(claims);
+        // 缺少用户ID的 Token 只能按邮箱回查
+        if (Boolean.TRUE.equals(authProperties.getStateless()) && userId != null) {
+            SysUser user = new SysUser();
+            user.setId(userId);
+            user.setEmail(claims.getSubject());
+            user.setStatus(jwtService.getStatus(claims));
+            return new SysUserDetails(user);
+        }
+        String email = claims.getSubject();
+        if (!StringUtils.hasText(email)) {
+            return null;
+        }
+        // 根据邮箱加载用户详情，确保用户未被删除
+        return (SysUserDetails) userDetailsService.loadUserByUsername(email);
+    }
+
     /**
      * 解析请求头中的 Token
      *
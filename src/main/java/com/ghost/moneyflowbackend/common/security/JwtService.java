@@ -3,24 +3,34 @@ package com.ghost.moneyflowbackend.common.security;
 import com.ghost.moneyflowbackend.common.exception.BusinessException;
 import com.ghost.moneyflowbackend.common.exception.ErrorCode;
 import com.ghost.moneyflowbackend.entity.SysUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
+import java.util.UUID;
 
 /**
  * JWT 处理服务
+ *
+ * 签名密钥与解析器只在启动和密钥变更时构建一次，解析器线程安全可并发复用。
+ * 校验通过的 Token 按摘要缓存载荷，缓存到 Token 过期为止，同一 Token 的后续请求不再重复验签与解析
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtService {
 
     /**
@@ -28,11 +38,31 @@ public class JwtService {
      */
     public static final String CLAIM_USER_ID = "userId";
 
+    /**
+     * 用户状态载荷字段，签发时的账号状态快照
+     */
+    public static final String CLAIM_STATUS = "status";
+
     /**
      * 认证配置
      */
     private final AuthProperties authProperties;
 
+    /**
+     * 当前密钥对应的签名上下文
+     */
+    private volatile SigningContext signingContext;
+
+    /**
+     * 构造方法，启动时构建签名上下文，密钥不合法时启动失败
+     *
+     * @param authProperties 认证配置
+     */
+    public JwtService(AuthProperties authProperties) {
+        this.authProperties = authProperties;
+        this.signingContext = buildSigningContext(authProperties.getSecret());
+    }
+
     /**
      * 生成 JWT Token
      *
@@ -45,17 +75,21 @@ public class JwtService {
         // 过期时间由配置决定，避免硬编码
         Instant expireAt = now.plusSeconds(authProperties.getExpireMinutes() * 60L);
         return Jwts.builder()
+                // 唯一ID用于吊销单个 Token
+                .id(UUID.randomUUID().toString())
                 // 签发者用于区分 Token 归属系统
                 .issuer(authProperties.getIssuer())
                 // subject 使用邮箱，便于与认证逻辑保持一致
                 .subject(user.getEmail())
                 // 在载荷中写入用户ID，减少后续查询成本
                 .claim(CLAIM_USER_ID, user.getId())
+                // 写入签发时的账号状态，无状态鉴权据此构建登录用户
+                .claim(CLAIM_STATUS, user.getStatus() == null ? 0 : user.getStatus())
                 // 设置签发与过期时间，便于自动校验有效期
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expireAt))
                 // 使用配置密钥进行签名
-                .signWith(getSignKey())
+                .signWith(currentSigningContext().key())
                 .compact();
     }
 
@@ -66,12 +100,19 @@ public class JwtService {
      * @return Claims内容
      */
     public Claims parseToken(String token) {
+        SigningContext context = currentSigningContext();
+        // 以摘要作为缓存键，内存中不保留可直接使用的 Token 原文
+        String tokenHash = digest(token);
+        Claims claims = context.verifiedTokens().getIfPresent(tokenHash);
+        if (claims != null) {
+            return claims;
+        }
         // 解析时自动验证签名与过期时间
-        return Jwts.parser()
-                .verifyWith(getSignKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        claims = context.parser().parseSignedClaims(token).getPayload();
+        if (claims.getExpiration() != null) {
+            context.verifiedTokens().put(tokenHash, claims);
+        }
+        return claims;
     }
 
     /**
@@ -91,8 +132,17 @@ public class JwtService {
      * @return 用户ID
      */
     public Long getUserId(String token) {
+        return getUserId(parseToken(token));
+    }
+
+    /**
+     * 获取已校验载荷中的用户ID
+     *
+     * @param claims Claims内容
+     * @return 用户ID
+     */
+    public Long getUserId(Claims claims) {
         // 从载荷读取用户ID并做类型兼容
-        Claims claims = parseToken(token);
         Object value = claims.get(CLAIM_USER_ID);
         if (value == null) {
             return null;
@@ -109,17 +159,88 @@ public class JwtService {
     }
 
     /**
-     * 获取签名密钥
+     * 获取已校验载荷中的账号状态快照
+     *
+     * @param claims Claims内容
+     * @return 账号状态，早期签发的 Token 不含该字段时返回 null
+     */
+    public Integer getStatus(Claims claims) {
+        Object value = claims.get(CLAIM_STATUS);
+        return value instanceof Number number ? number.intValue() : null;
+    }
+
+    /**
+     * 获取当前签名上下文，配置中的密钥变更后重新构建，旧密钥的验签缓存随之丢弃
+     *
+     * @return 签名上下文
+     */
+    private SigningContext currentSigningContext() {
+        SigningContext context = signingContext;
+        String secret = authProperties.getSecret();
+        if (context.secret().equals(secret)) {
+            return context;
+        }
+        synchronized (this) {
+            if (!signingContext.secret().equals(secret)) {
+                signingContext = buildSigningContext(secret);
+                log.info("JWT密钥已更新，签名上下文已重建");
+            }
+            return signingContext;
+        }
+    }
+
+    /**
+     * 构建签名上下文
      *
-     * @return 签名密钥
+     * @param secret 签名密钥
+     * @return 签名上下文
      */
-    private SecretKey getSignKey() {
+    private SigningContext buildSigningContext(String secret) {
         // 使用 UTF-8 编码确保跨平台一致性
-        byte[] secretBytes = authProperties.getSecret().getBytes(StandardCharsets.UTF_8);
+        byte[] secretBytes = secret.getBytes(StandardCharsets.UTF_8);
         if (secretBytes.length < 32) {
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "JWT密钥长度不足");
         }
         // 基于 HMAC-SHA 算法生成密钥
-        return Keys.hmacShaKeyFor(secretBytes);
+        SecretKey key = Keys.hmacShaKeyFor(secretBytes);
+        JwtParser parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+        // 每个缓存项在 Token 过期时失效，过期 Token 不会从缓存中通过校验
+        Cache<String, Claims> verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(authProperties.getTokenCacheMaximumSize())
+                .expireAfter(Expiry.<String, Claims>creating((tokenHash, claims) -> {
+                    Duration remaining = Duration.between(Instant.now(), claims.getExpiration().toInstant());
+                    return remaining.isNegative() ? Duration.ZERO : remaining;
+                }))
+                .build();
+        return new SigningContext(secret, key, parser, verifiedTokens);
+    }
+
+    /**
+     * 计算 Token 摘要
+     *
+     * @param token Token字符串
+     * @return SHA-256 摘要的 Base64 编码
+     */
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 不可用", ex);
+        }
+    }
+
+    /**
+     * 签名上下文，密钥、解析器与验签缓存一同替换
+     *
+     * @param secret 构建时使用的密钥原文
+     * @param key 签名密钥
+     * @param parser 线程安全的解析器
+     * @param verifiedTokens Token 摘要到已校验载荷的缓存
+     */
+    private record SigningContext(String secret, SecretKey key, JwtParser parser,
+                                  Cache<String, Claims> verifiedTokens) {
     }
 }
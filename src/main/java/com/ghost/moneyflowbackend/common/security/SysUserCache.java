@@ -0,0 +1,104 @@
+package com.ghost.moneyflowbackend.common.security;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ghost.moneyflowbackend.common.config.UserCacheProperties;
+import com.ghost.moneyflowbackend.entity.SysUser;
+import com.ghost.moneyflowbackend.mapper.SysUserMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 用户缓存
+ *
+ * 按用户ID缓存有效用户，并维护邮箱到用户ID的索引；按邮箱命中时校验缓存用户的邮箱，邮箱变更后旧索引自然失效。
+ * 用户表的修改与删除由 {@link UserStatusRegistry} 轮询发现后发布 {@link SysUserChangedEvent} 淘汰缓存，
+ * 感知延迟不超过一个轮询周期。返回的实体为共享实例，调用方不得修改
+ */
+@Component
+public class SysUserCache {
+
+    private final SysUserMapper sysUserMapper;
+
+    /**
+     * 用户ID到用户的缓存
+     */
+    private final Cache<Long, SysUser> usersById;
+
+    /**
+     * 邮箱到用户ID的缓存
+     */
+    private final Cache<String, Long> userIdsByEmail;
+
+    /**
+     * 构造方法
+     *
+     * @param sysUserMapper 用户数据访问层
+     * @param userCacheProperties 用户缓存配置
+     * @param meterRegistry 指标注册表
+     */
+    public SysUserCache(SysUserMapper sysUserMapper, UserCacheProperties userCacheProperties,
+                        MeterRegistry meterRegistry) {
+        this.sysUserMapper = sysUserMapper;
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(userCacheProperties.getMaximumSize())
+                .expireAfterWrite(userCacheProperties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        this.userIdsByEmail = Caffeine.newBuilder()
+                .maximumSize(userCacheProperties.getMaximumSize())
+                .expireAfterWrite(userCacheProperties.getExpireAfterWrite())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "sysUserById");
+        CaffeineCacheMetrics.monitor(meterRegistry, userIdsByEmail, "sysUserIdByEmail");
+    }
+
+    /**
+     * 按用户ID获取有效用户
+     *
+     * @param userId 用户ID
+     * @return 用户，不存在或已删除时返回 null
+     */
+    public SysUser getById(Long userId) {
+        return usersById.get(userId, sysUserMapper::selectById);
+    }
+
+    /**
+     * 按邮箱获取有效用户
+     *
+     * @param email 邮箱
+     * @return 用户，不存在或已删除时返回 null
+     */
+    public SysUser getByEmail(String email) {
+        Long userId = userIdsByEmail.getIfPresent(email);
+        if (userId != null) {
+            SysUser user = usersById.getIfPresent(userId);
+            if (user != null && email.equals(user.getEmail())) {
+                return user;
+            }
+        }
+        LambdaQueryWrapper<SysUser> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(SysUser::getEmail, email)
+                .eq(SysUser::getDelFlag, 0);
+        SysUser user = sysUserMapper.selectOne(wrapper);
+        if (user != null) {
+            usersById.put(user.getId(), user);
+            userIdsByEmail.put(email, user.getId());
+        }
+        return user;
+    }
+
+    /**
+     * 淘汰变更用户的缓存，事务内发布时在提交后淘汰，避免提交前重新加载到旧数据
+     *
+     * @param event 用户变更事件
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(SysUserChangedEvent event) {
+        usersById.invalidateAll(event.userIds());
+    }
+}
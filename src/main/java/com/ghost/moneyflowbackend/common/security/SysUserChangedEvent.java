@@ -0,0 +1,11 @@
+package com.ghost.moneyflowbackend.common.security;
+
+import java.util.Collection;
+
+/**
+ * 用户表数据变更事件，用户状态轮询发现用户表变更时发布
+ *
+ * @param userIds 变更的用户ID
+ */
+public record SysUserChangedEvent(Collection<Long> userIds) {
+}
@@ -1,8 +1,6 @@
 package com.ghost.moneyflowbackend.common.security;
 
-import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.ghost.moneyflowbackend.entity.SysUser;
-import com.ghost.moneyflowbackend.mapper.SysUserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,9 +17,9 @@ import org.springframework.stereotype.Service;
 public class SysUserDetailsService implements UserDetailsService {
 
     /**
-     * 用户数据访问层
+     * 用户缓存
      */
-    private final SysUserMapper sysUserMapper;
+    private final SysUserCache sysUserCache;
 
     /**
      * 根据邮箱加载用户信息
@@ -31,10 +29,7 @@ public class SysUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) {
-        LambdaQueryWrapper<SysUser> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(SysUser::getEmail, username)
-                .eq(SysUser::getDelFlag, 0);
-        SysUser user = sysUserMapper.selectOne(wrapper);
+        SysUser user = sysUserCache.getByEmail(username);
         if (user == null) {
             log.warn("未找到用户: {}", username);
             throw new UsernameNotFoundException("用户不存在");
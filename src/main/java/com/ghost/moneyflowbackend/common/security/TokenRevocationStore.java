@@ -0,0 +1,167 @@
+package com.ghost.moneyflowbackend.common.security;
+
+import com.ghost.moneyflowbackend.entity.SysTokenRevocation;
+import com.ghost.moneyflowbackend.mapper.SysTokenRevocationMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Token 吊销存储
+ *
+ * 吊销记录落库到 sys_token_revocation，并在内存中镜像为布隆过滤器与精确集合：鉴权时先查布隆过滤器，
+ * 绝大多数未吊销的 Token 在这里直接放行，命中时再查精确集合排除误判，全程不访问数据库。
+ * 应用就绪后加载未过期记录，加载失败时由下一次轮询重试；之后按 create_time 增量拉取其他实例的吊销，
+ * 多实例之间的生效延迟不超过一个轮询周期。
+ * 过期记录定期从内存与数据库中清理，清理时按剩余记录重建布隆过滤器
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TokenRevocationStore {
+
+    /**
+     * 增量轮询的回看时长，覆盖轮询时尚未提交的吊销与多实例之间的时钟偏差
+     */
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    /**
+     * 布隆过滤器的最小容量
+     */
+    private static final long MIN_FILTER_CAPACITY = 10000L;
+
+    /**
+     * 布隆过滤器的目标误判率
+     */
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    /**
+     * 单条语句最多删除的过期记录数，避免长时间持锁
+     */
+    private static final int DELETE_BATCH_SIZE = 1000;
+
+    private final SysTokenRevocationMapper sysTokenRevocationMapper;
+
+    /**
+     * 已吊销且未过期的 Token ID 到过期时间的映射
+     */
+    private final Map<String, LocalDateTime> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * 已吊销 Token ID 的布隆过滤器，只增不删，清理时整体替换
+     */
+    private volatile BloomFilter filter = new BloomFilter(MIN_FILTER_CAPACITY, FALSE_POSITIVE_RATE);
+
+    /**
+     * 已处理到的最新吊销时间
+     */
+    private LocalDateTime watermark;
+
+    /**
+     * 全量加载全部未过期的吊销记录，成功后才设置水位，失败时由下一次轮询重新全量加载
+     */
+    public synchronized void load() {
+        // 先取水位再加载，两次查询之间的吊销由下一次轮询的回看覆盖
+        LocalDateTime loadedWatermark = sysTokenRevocationMapper.selectMaxCreateTime();
+        List<SysTokenRevocation> revocations = sysTokenRevocationMapper.selectUnexpired(LocalDateTime.now());
+        // 保留加载前本实例已写入的吊销，避免全量覆盖时丢失
+        for (SysTokenRevocation revocation : revocations) {
+            revokedTokens.put(revocation.getJti(), revocation.getExpireTime());
+        }
+        rebuildFilter();
+        watermark = loadedWatermark;
+        log.info("Token吊销记录加载完成，共{}条", revokedTokens.size());
+    }
+
+    /**
+     * 判断 Token 是否已吊销，只读内存
+     *
+     * @param jti Token ID
+     * @return 是否已吊销
+     */
+    public boolean isRevoked(String jti) {
+        return filter.mightContain(jti) && revokedTokens.containsKey(jti);
+    }
+
+    /**
+     * 吊销 Token，本实例立即生效
+     *
+     * @param jti Token ID
+     * @param userId 用户ID
+     * @param expireTime Token 过期时间
+     */
+    public void revoke(String jti, Long userId, LocalDateTime expireTime) {
+        sysTokenRevocationMapper.insertIgnore(jti, userId, expireTime);
+        add(jti, expireTime);
+    }
+
+    /**
+     * 增量拉取其他实例的吊销记录
+     */
+    public synchronized void refresh() {
+        if (watermark == null) {
+            load();
+            return;
+        }
+        List<SysTokenRevocation> revocations =
+                sysTokenRevocationMapper.selectCreatedSince(watermark.minus(POLL_OVERLAP));
+        LocalDateTime now = LocalDateTime.now();
+        for (SysTokenRevocation revocation : revocations) {
+            if (revocation.getExpireTime().isAfter(now)) {
+                add(revocation.getJti(), revocation.getExpireTime());
+            }
+            if (revocation.getCreateTime() != null && revocation.getCreateTime().isAfter(watermark)) {
+                watermark = revocation.getCreateTime();
+            }
+        }
+    }
+
+    /**
+     * 清理过期的吊销记录并重建布隆过滤器
+     *
+     * @return 数据库中删除的记录数
+     */
+    public int compact() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (this) {
+            revokedTokens.values().removeIf(expireTime -> !expireTime.isAfter(now));
+            rebuildFilter();
+        }
+        int deleted = 0;
+        int batch;
+        do {
+            batch = sysTokenRevocationMapper.deleteExpired(now, DELETE_BATCH_SIZE);
+            deleted += batch;
+        } while (batch == DELETE_BATCH_SIZE);
+        return deleted;
+    }
+
+    /**
+     * 加入内存镜像，先写精确集合再写布隆过滤器，保证过滤器命中时精确集合已可见；与重建互斥，避免写入即将被替换的过滤器
+     *
+     * @param jti Token ID
+     * @param expireTime Token 过期时间
+     */
+    private synchronized void add(String jti, LocalDateTime expireTime) {
+        revokedTokens.put(jti, expireTime);
+        filter.put(jti);
+    }
+
+    /**
+     * 按精确集合重建布隆过滤器，容量预留一倍余量
+     */
+    private void rebuildFilter() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(MIN_FILTER_CAPACITY, revokedTokens.size() * 2L),
+                FALSE_POSITIVE_RATE);
+        for (String jti : revokedTokens.keySet()) {
+            rebuilt.put(jti);
+        }
+        filter = rebuilt;
+    }
+}
@@ -0,0 +1,108 @@
+package com.ghost.moneyflowbackend.common.security;
+
+import com.ghost.moneyflowbackend.entity.SysUser;
+import com.ghost.moneyflowbackend.mapper.SysUserMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 用户状态登记表
+ *
+ * 无状态鉴权不再逐次查询用户表，停用与删除通过这里生效：内存中只保存已停用或已删除的用户ID，
+ * 应用就绪后全量加载，之后按 update_time 增量轮询用户表；加载失败时由下一次轮询重试，加载完成前所有用户视为可用。
+ * 状态变更最迟在一个轮询周期后生效。
+ * 轮询到的每个变更用户都会发布 {@link SysUserChangedEvent}
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatusRegistry {
+
+    /**
+     * 增量轮询的回看时长，覆盖轮询时尚未提交的更新与多实例之间的时钟偏差
+     */
+    private static final Duration POLL_OVERLAP = Duration.ofMinutes(1);
+
+    private final SysUserMapper sysUserMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * 已停用或已删除的用户ID
+     */
+    private final Set<Long> inactiveUserIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 已处理到的最新更新时间
+     */
+    private LocalDateTime watermark;
+
+    /**
+     * 全量加载全部已停用或已删除的用户，成功后才设置水位，失败时由下一次轮询重新全量加载
+     */
+    public synchronized void load() {
+        // 先取水位再加载，两次查询之间的更新由下一次轮询的回看覆盖
+        LocalDateTime loadedWatermark = sysUserMapper.selectMaxUpdateTime();
+        List<SysUser> inactiveUsers = sysUserMapper.selectInactiveStatuses();
+        inactiveUserIds.clear();
+        for (SysUser user : inactiveUsers) {
+            inactiveUserIds.add(user.getId());
+        }
+        watermark = loadedWatermark;
+        log.info("用户状态加载完成，停用或删除用户{}个", inactiveUserIds.size());
+    }
+
+    /**
+     * 增量拉取状态有变化的用户
+     */
+    public synchronized void refresh() {
+        if (watermark == null) {
+            load();
+            return;
+        }
+        List<SysUser> users = sysUserMapper.selectStatusesUpdatedSince(watermark.minus(POLL_OVERLAP));
+        for (SysUser user : users) {
+            if (isInactive(user)) {
+                if (inactiveUserIds.add(user.getId())) {
+                    log.info("用户已停用或删除，拒绝其令牌，用户ID: {}", user.getId());
+                }
+            } else {
+                inactiveUserIds.remove(user.getId());
+            }
+            if (user.getUpdateTime() != null && user.getUpdateTime().isAfter(watermark)) {
+                watermark = user.getUpdateTime();
+            }
+        }
+        if (!users.isEmpty()) {
+            // 其他实例的资料修改同样只能通过轮询感知，由用户缓存等监听方自行淘汰
+            eventPublisher.publishEvent(new SysUserChangedEvent(users.stream().map(SysUser::getId).toList()));
+        }
+    }
+
+    /**
+     * 判断用户是否处于可用状态
+     *
+     * @param userId 用户ID
+     * @return 是否可用
+     */
+    public boolean isActive(Long userId) {
+        return !inactiveUserIds.contains(userId);
+    }
+
+    /**
+     * 判断用户是否已停用或已删除
+     *
+     * @param user 用户状态
+     * @return 是否不可用
+     */
+    private boolean isInactive(SysUser user) {
+        return Integer.valueOf(1).equals(user.getStatus()) || Integer.valueOf(1).equals(user.getDelFlag());
+    }
+}
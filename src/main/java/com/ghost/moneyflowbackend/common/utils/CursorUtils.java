@@ -0,0 +1,60 @@
+package com.ghost.moneyflowbackend.common.utils;
+
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 游标分页工具类，负责游标的编码与解码
+ */
+public final class CursorUtils {
+
+    /**
+     * 游标片段分隔符
+     */
+    private static final String SEPARATOR = "|";
+
+    private CursorUtils() {
+    }
+
+    /**
+     * 将排序键编码为不透明游标
+     *
+     * @param parts 排序键片段
+     * @return 游标字符串
+     */
+    public static String encode(String... parts) {
+        String raw = String.join(SEPARATOR, parts);
+        // 使用 URL 安全的 Base64，便于直接作为查询参数传递
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标为排序键片段，最后一个片段可以包含分隔符
+     *
+     * @param cursor 游标字符串
+     * @param expectedParts 期望的片段数量
+     * @return 排序键片段
+     * @throws BusinessException 游标格式不合法时抛出
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        if (!StringUtils.hasText(cursor)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "分页游标不合法");
+        }
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "分页游标不合法");
+        }
+        // 限定片段数量：保留末尾空片段，避免排序键为空字符串时片段数量不一致，同时允许最后一个片段包含分隔符
+        String[] parts = raw.split("\\" + SEPARATOR, expectedParts);
+        if (parts.length != expectedParts) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "分页游标不合法");
+        }
+        return parts;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ghost.moneyflowbackend.common.utils;
 
 import com.ghost.moneyflowbackend.common.security.SysUserDetails;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -56,6 +57,19 @@ public class SecurityUtils {
         return getCurrentUserDetails().getUser();
     }
 
+    /**
+     * 获取当前请求 Token 的已校验载荷
+     *
+     * @return Token 载荷，非 Token 认证时返回 null
+     */
+    public static Claims getCurrentTokenClaims() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getCredentials() instanceof Claims claims) {
+            return claims;
+        }
+        return null;
+    }
+
     /**
      * 检查当前用户是否已认证
      *
@@ -0,0 +1,96 @@
+package com.ghost.moneyflowbackend.common.web;
+
+import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * 数据版本拦截器
+ *
+ * 在执行 {@link DataVersioned} 标记的查询之前读取用户数据版本，If-None-Match 命中时返回 304。
+ * 版本在查询之前读取，查询期间提交的写入只会让返回的 ETag 偏旧，客户端下次请求时重新获取，不会缓存到过期数据。
+ * ETag 由 {@link DataVersionResponseAdvice} 在成功响应写出前设置，异常响应不带 ETag
+ */
+@Component
+@RequiredArgsConstructor
+public class DataVersionInterceptor implements HandlerInterceptor {
+
+    /**
+     * 请求属性名，保存本次请求读取到的 ETag
+     */
+    static final String ETAG_ATTRIBUTE = DataVersionInterceptor.class.getName() + ".ETAG";
+
+    /**
+     * 响应缓存策略：只允许客户端私有缓存，每次使用前必须重新验证
+     */
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    private final ChangeLogService changeLogService;
+
+    /**
+     * 读取数据版本并处理条件请求
+     *
+     * @param request 请求
+     * @param response 响应
+     * @param handler 处理器
+     * @return 版本未变化时返回 false，不再执行查询
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)
+                || !handlerMethod.hasMethodAnnotation(DataVersioned.class)
+                || !(HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod()))) {
+            return true;
+        }
+        Long userId = SecurityUtils.getCurrentUserId();
+        // 带上用户ID，避免同一客户端切换账号后误用其他用户的缓存
+        String etag = "W/\"" + userId + "-" + changeLogService.getVersion(userId) + "\"";
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    /**
+     * 按弱比较判断 If-None-Match 是否包含当前 ETag
+     *
+     * @param ifNoneMatch 请求头 If-None-Match
+     * @param etag 当前 ETag
+     * @return 是否命中
+     */
+    private boolean matches(String ifNoneMatch, String etag) {
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        String opaqueTag = stripWeakPrefix(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value) || opaqueTag.equals(stripWeakPrefix(value))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 去掉弱 ETag 前缀
+     *
+     * @param etag ETag
+     * @return 带引号的 ETag 值
+     */
+    private String stripWeakPrefix(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -0,0 +1,61 @@
+package com.ghost.moneyflowbackend.common.web;
+
+import com.ghost.moneyflowbackend.common.model.Result;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 为 {@link DataVersioned} 标记接口的成功响应设置 ETag
+ *
+ * 业务异常由全局异常处理器以 HTTP 200 返回，只在处理方法本身正常返回且业务码为成功时设置，避免客户端缓存错误响应
+ */
+@RestControllerAdvice
+public class DataVersionResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * 只处理标记了数据版本的接口，异常处理方法的返回值不经过这里
+     *
+     * @param returnType 返回值类型
+     * @param converterType 消息转换器类型
+     * @return 是否处理
+     */
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return returnType.hasMethodAnnotation(DataVersioned.class);
+    }
+
+    /**
+     * 写出响应前设置 ETag 与缓存策略
+     *
+     * @param body 响应体
+     * @param returnType 返回值类型
+     * @param selectedContentType 响应内容类型
+     * @param selectedConverterType 消息转换器类型
+     * @param request 请求
+     * @param response 响应
+     * @return 原响应体
+     */
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)
+                || !(body instanceof Result<?> result)
+                || !Integer.valueOf(0).equals(result.getCode())) {
+            return body;
+        }
+        Object etag = servletRequest.getServletRequest().getAttribute(DataVersionInterceptor.ETAG_ATTRIBUTE);
+        if (etag != null) {
+            response.getHeaders().set(HttpHeaders.ETAG, etag.toString());
+            response.getHeaders().set(HttpHeaders.CACHE_CONTROL, DataVersionInterceptor.CACHE_CONTROL);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,18 @@
+package com.ghost.moneyflowbackend.common.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记响应内容只随当前用户数据版本变化的查询接口
+ *
+ * 标记的接口以数据版本作为弱 ETag 返回，请求头 If-None-Match 与当前版本一致时直接返回 304，不执行查询
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DataVersioned {
+}
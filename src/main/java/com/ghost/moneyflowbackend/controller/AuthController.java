@@ -2,6 +2,8 @@ package com.ghost.moneyflowbackend.controller;
 
 import com.ghost.moneyflowbackend.common.model.Result;
 import com.ghost.moneyflowbackend.model.dto.AuthLoginRequest;
+import com.ghost.moneyflowbackend.model.dto.AuthLogoutRequest;
+import com.ghost.moneyflowbackend.model.dto.AuthRefreshRequest;
 import com.ghost.moneyflowbackend.model.dto.AuthRegisterRequest;
 import com.ghost.moneyflowbackend.model.vo.AuthLoginResponse;
 import com.ghost.moneyflowbackend.model.vo.AuthMeResponse;
@@ -52,6 +54,18 @@ public class AuthController {
         return Result.ok(authService.register(request));
     }
 
+    /**
+     * 刷新 Token
+     *
+     * @param request 刷新参数
+     * @return 新的 Token 与刷新令牌
+     */
+    @Operation(summary = "刷新Token")
+    @PostMapping("/refresh")
+    public Result<AuthLoginResponse> refresh(@Valid @RequestBody AuthRefreshRequest request) {
+        return Result.ok(authService.refresh(request));
+    }
+
     /**
      * 获取当前用户信息
      *
@@ -66,12 +80,13 @@ public class AuthController {
     /**
      * 退出登录
      *
+     * @param request 退出登录参数（可选）
      * @return 退出登录结果
      */
     @Operation(summary = "退出登录")
     @PostMapping("/logout")
-    public Result<Void> logout() {
-        authService.logout();
+    public Result<Void> logout(@Valid @RequestBody(required = false) AuthLogoutRequest request) {
+        authService.logout(request);
         return Result.ok(null);
     }
 }
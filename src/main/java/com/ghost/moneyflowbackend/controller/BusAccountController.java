@@ -1,17 +1,21 @@
 package com.ghost.moneyflowbackend.controller;
 
 import com.ghost.moneyflowbackend.common.model.Result;
+import com.ghost.moneyflowbackend.common.web.DataVersioned;
 import com.ghost.moneyflowbackend.model.dto.AccountCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.AccountUpdateRequest;
+import com.ghost.moneyflowbackend.model.vo.AccountBalanceHistoryVO;
 import com.ghost.moneyflowbackend.model.vo.AccountVO;
 import com.ghost.moneyflowbackend.service.BusAccountService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @Tag(name = "资产账户管理")
@@ -37,6 +41,7 @@ public class BusAccountController {
      * @return 账户列表
      */
     @Operation(summary = "获取账户列表")
+    @DataVersioned
     @GetMapping
     public Result<List<AccountVO>> list() {
         return Result.ok(busAccountService.listAccounts());
@@ -68,6 +73,26 @@ public class BusAccountController {
         return Result.ok(busAccountService.updateAccount(id, request));
     }
 
+    /**
+     * 获取账户余额历史
+     *
+     * @param id 账户ID
+     * @param granularity 粒度 day/week/month
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return 余额历史
+     */
+    @Operation(summary = "获取账户余额历史")
+    @GetMapping("/{id}/balance-history")
+    public Result<AccountBalanceHistoryVO> balanceHistory(@PathVariable("id") @NotNull(message = "账户ID不能为空") Long id,
+                                                          @RequestParam(value = "granularity", required = false) String granularity,
+                                                          @RequestParam(value = "startDate", required = false)
+                                                          @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+                                                          @RequestParam(value = "endDate", required = false)
+                                                          @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+        return Result.ok(busAccountService.getBalanceHistory(id, granularity, startDate, endDate));
+    }
+
     /**
      * 删除账户
      *
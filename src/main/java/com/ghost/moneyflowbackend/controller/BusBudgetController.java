@@ -1,6 +1,7 @@
 package com.ghost.moneyflowbackend.controller;
 
 import com.ghost.moneyflowbackend.common.model.Result;
+import com.ghost.moneyflowbackend.common.web.DataVersioned;
 import com.ghost.moneyflowbackend.model.dto.BudgetSaveRequest;
 import com.ghost.moneyflowbackend.model.vo.BudgetVO;
 import com.ghost.moneyflowbackend.service.BusBudgetService;
@@ -35,6 +36,7 @@ public class BusBudgetController {
      * @return 月度预算信息
      */
     @Operation(summary = "获取月度预算")
+    @DataVersioned
     @GetMapping
     public Result<BudgetVO> getBudget(@RequestParam("month") @NotBlank(message = "月份不能为空") String month) {
         return Result.ok(busBudgetService.getBudget(month));
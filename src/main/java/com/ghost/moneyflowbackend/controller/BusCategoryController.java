@@ -1,6 +1,7 @@
 package com.ghost.moneyflowbackend.controller;
 
 import com.ghost.moneyflowbackend.common.model.Result;
+import com.ghost.moneyflowbackend.common.web.DataVersioned;
 import com.ghost.moneyflowbackend.model.dto.CategoryCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.CategoryUpdateRequest;
 import com.ghost.moneyflowbackend.model.vo.CategoryVO;
@@ -38,6 +39,7 @@ public class BusCategoryController {
      * @return 分类列表
      */
     @Operation(summary = "获取分类列表")
+    @DataVersioned
     @GetMapping
     public Result<List<CategoryVO>> list(@RequestParam(value = "type", required = false) String type) {
         return Result.ok(busCategoryService.listCategories(type));
@@ -1,6 +1,7 @@
 package com.ghost.moneyflowbackend.controller;
 
 import com.ghost.moneyflowbackend.common.model.Result;
+import com.ghost.moneyflowbackend.common.web.DataVersioned;
 import com.ghost.moneyflowbackend.model.dto.GoalCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.GoalRecordCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.GoalUpdateRequest;
@@ -38,6 +39,7 @@ public class BusGoalController {
      * @return 目标列表
      */
     @Operation(summary = "获取目标列表")
+    @DataVersioned
     @GetMapping
     public Result<List<GoalVO>> list() {
         return Result.ok(busGoalService.listGoals());
@@ -1,6 +1,7 @@
 package com.ghost.moneyflowbackend.controller;
 
 import com.ghost.moneyflowbackend.common.model.Result;
+import com.ghost.moneyflowbackend.common.web.DataVersioned;
 import com.ghost.moneyflowbackend.model.dto.RecurringRuleCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.RecurringRuleUpdateRequest;
 import com.ghost.moneyflowbackend.model.vo.RecurringRuleVO;
@@ -40,6 +41,7 @@ public class BusRecurringRuleController {
      * @return 规则列表
      */
     @Operation(summary = "获取规则列表")
+    @DataVersioned
     @GetMapping
     public Result<List<RecurringRuleVO>> list() {
         return Result.ok(busRecurringRuleService.listRules());
@@ -1,18 +1,35 @@
 package com.ghost.moneyflowbackend.controller;
 
 import com.ghost.moneyflowbackend.common.model.Result;
+import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
+import com.ghost.moneyflowbackend.common.web.DataVersioned;
+import com.ghost.moneyflowbackend.model.dto.TransactionBatchCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.TransactionCreateRequest;
+import com.ghost.moneyflowbackend.model.dto.TransactionQuery;
 import com.ghost.moneyflowbackend.model.dto.TransactionUpdateRequest;
+import com.ghost.moneyflowbackend.model.vo.CursorPageVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionBatchResultVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionImportResultVO;
 import com.ghost.moneyflowbackend.model.vo.TransactionVO;
 import com.ghost.moneyflowbackend.service.BusTransactionService;
+import com.ghost.moneyflowbackend.service.TransactionExportService;
+import com.ghost.moneyflowbackend.service.TransactionImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -22,15 +39,30 @@ import java.util.List;
 @RequestMapping("/api/transactions")
 public class BusTransactionController {
 
+    /**
+     * xlsx 文件内容类型
+     */
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
     private final BusTransactionService busTransactionService;
 
+    private final TransactionExportService transactionExportService;
+
+    private final TransactionImportService transactionImportService;
+
     /**
      * 构造方法
      *
      * @param busTransactionService 交易明细业务服务
+     * @param transactionExportService 交易明细导出服务
+     * @param transactionImportService 交易文件导入服务
      */
-    public BusTransactionController(BusTransactionService busTransactionService) {
+    public BusTransactionController(BusTransactionService busTransactionService,
+                                    TransactionExportService transactionExportService,
+                                    TransactionImportService transactionImportService) {
         this.busTransactionService = busTransactionService;
+        this.transactionExportService = transactionExportService;
+        this.transactionImportService = transactionImportService;
     }
 
     /**
@@ -42,9 +74,13 @@ public class BusTransactionController {
      * @param categoryId 分类ID（可选）
      * @param accountId 账户ID（可选）
      * @param tags 标签列表，逗号分隔（可选）
+     * @param tagMatch 标签匹配模式 any/all（可选，默认 any）
+     * @param sort 排序字段 date/amount/category（可选，默认 date）
+     * @param direction 排序方向 asc/desc（可选，默认 desc）
      * @return 交易列表
      */
     @Operation(summary = "获取交易列表")
+    @DataVersioned
     @GetMapping
     public Result<List<TransactionVO>> list(@RequestParam(value = "startDate", required = false)
                                             @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
@@ -53,12 +89,147 @@ public class BusTransactionController {
                                             @RequestParam(value = "type", required = false) String type,
                                             @RequestParam(value = "categoryId", required = false) Long categoryId,
                                             @RequestParam(value = "accountId", required = false) Long accountId,
-                                            @RequestParam(value = "tags", required = false) String tags) {
-        List<String> tagList = null;
-        if (tags != null && !tags.isBlank()) {
-            tagList = List.of(tags.split(","));
-        }
-        return Result.ok(busTransactionService.listTransactions(startDate, endDate, type, categoryId, accountId, tagList));
+                                            @RequestParam(value = "tags", required = false) String tags,
+                                            @RequestParam(value = "tagMatch", required = false) String tagMatch,
+                                            @RequestParam(value = "sort", required = false) String sort,
+                                            @RequestParam(value = "direction", required = false) String direction) {
+        TransactionQuery query = buildQuery(startDate, endDate, type, categoryId, accountId, tags, tagMatch);
+        query.setSort(sort);
+        query.setDirection(direction);
+        return Result.ok(busTransactionService.listTransactions(query));
+    }
+
+    /**
+     * 游标分页获取交易列表，携带 size 参数时启用
+     *
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @param type 交易类型（可选）
+     * @param categoryId 分类ID（可选）
+     * @param accountId 账户ID（可选）
+     * @param tags 标签列表，逗号分隔（可选）
+     * @param tagMatch 标签匹配模式 any/all（可选，默认 any）
+     * @param sort 排序字段 date/amount/category（可选，默认 date）
+     * @param direction 排序方向 asc/desc（可选，默认 desc）
+     * @param cursor 上一页返回的游标（首页不传）
+     * @param size 每页条数，最大100
+     * @return 分页结果
+     */
+    @Operation(summary = "游标分页获取交易列表")
+    @DataVersioned
+    @GetMapping(params = "size")
+    public Result<CursorPageVO<TransactionVO>> page(@RequestParam(value = "startDate", required = false)
+                                                    @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+                                                    @RequestParam(value = "endDate", required = false)
+                                                    @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+                                                    @RequestParam(value = "type", required = false) String type,
+                                                    @RequestParam(value = "categoryId", required = false) Long categoryId,
+                                                    @RequestParam(value = "accountId", required = false) Long accountId,
+                                                    @RequestParam(value = "tags", required = false) String tags,
+                                                    @RequestParam(value = "tagMatch", required = false) String tagMatch,
+                                                    @RequestParam(value = "sort", required = false) String sort,
+                                                    @RequestParam(value = "direction", required = false) String direction,
+                                                    @RequestParam(value = "cursor", required = false) String cursor,
+                                                    @RequestParam(value = "size")
+                                                    @Min(value = 1, message = "每页条数必须大于0") Integer size) {
+        TransactionQuery query = buildQuery(startDate, endDate, type, categoryId, accountId, tags, tagMatch);
+        query.setSort(sort);
+        query.setDirection(direction);
+        return Result.ok(busTransactionService.pageTransactions(query, cursor, size));
+    }
+
+    /**
+     * 按备注搜索交易，按相关度、日期倒序游标分页
+     *
+     * @param q 搜索关键词，多个词以空格分隔且需同时命中
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @param type 交易类型（可选）
+     * @param categoryId 分类ID（可选）
+     * @param accountId 账户ID（可选）
+     * @param tags 标签列表，逗号分隔（可选）
+     * @param tagMatch 标签匹配模式 any/all（可选，默认 any）
+     * @param cursor 上一页返回的游标（首页不传）
+     * @param size 每页条数（可选，默认20，最大100）
+     * @return 分页结果
+     */
+    @Operation(summary = "按备注搜索交易")
+    @DataVersioned
+    @GetMapping("/search")
+    public Result<CursorPageVO<TransactionVO>> search(@RequestParam("q") String q,
+                                                      @RequestParam(value = "startDate", required = false)
+                                                      @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+                                                      @RequestParam(value = "endDate", required = false)
+                                                      @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+                                                      @RequestParam(value = "type", required = false) String type,
+                                                      @RequestParam(value = "categoryId", required = false) Long categoryId,
+                                                      @RequestParam(value = "accountId", required = false) Long accountId,
+                                                      @RequestParam(value = "tags", required = false) String tags,
+                                                      @RequestParam(value = "tagMatch", required = false) String tagMatch,
+                                                      @RequestParam(value = "cursor", required = false) String cursor,
+                                                      @RequestParam(value = "size", required = false)
+                                                      @Min(value = 1, message = "每页条数必须大于0") Integer size) {
+        TransactionQuery query = buildQuery(startDate, endDate, type, categoryId, accountId, tags, tagMatch);
+        return Result.ok(busTransactionService.searchTransactions(query, q, cursor, size));
+    }
+
+    /**
+     * 以 CSV 格式流式导出交易明细
+     *
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @param type 交易类型（可选）
+     * @param categoryId 分类ID（可选）
+     * @param accountId 账户ID（可选）
+     * @param tags 标签列表，逗号分隔（可选）
+     * @param tagMatch 标签匹配模式 any/all（可选，默认 any）
+     * @return CSV 文件流
+     */
+    @Operation(summary = "导出交易明细CSV")
+    @GetMapping("/export.csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(@RequestParam(value = "startDate", required = false)
+                                                           @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+                                                           @RequestParam(value = "endDate", required = false)
+                                                           @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+                                                           @RequestParam(value = "type", required = false) String type,
+                                                           @RequestParam(value = "categoryId", required = false) Long categoryId,
+                                                           @RequestParam(value = "accountId", required = false) Long accountId,
+                                                           @RequestParam(value = "tags", required = false) String tags,
+                                                           @RequestParam(value = "tagMatch", required = false) String tagMatch) {
+        TransactionQuery query = buildQuery(startDate, endDate, type, categoryId, accountId, tags, tagMatch);
+        // 在请求线程内确定导出用户，流式写出在异步线程中执行
+        query.setUserId(SecurityUtils.getCurrentUserId());
+        StreamingResponseBody body = outputStream -> transactionExportService.exportCsv(query, outputStream);
+        return attachment(new MediaType("text", "csv", StandardCharsets.UTF_8), "transactions.csv", body);
+    }
+
+    /**
+     * 以 xlsx 格式导出交易明细
+     *
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @param type 交易类型（可选）
+     * @param categoryId 分类ID（可选）
+     * @param accountId 账户ID（可选）
+     * @param tags 标签列表，逗号分隔（可选）
+     * @param tagMatch 标签匹配模式 any/all（可选，默认 any）
+     * @return xlsx 文件流
+     */
+    @Operation(summary = "导出交易明细Excel")
+    @GetMapping("/export.xlsx")
+    public ResponseEntity<StreamingResponseBody> exportXlsx(@RequestParam(value = "startDate", required = false)
+                                                            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+                                                            @RequestParam(value = "endDate", required = false)
+                                                            @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+                                                            @RequestParam(value = "type", required = false) String type,
+                                                            @RequestParam(value = "categoryId", required = false) Long categoryId,
+                                                            @RequestParam(value = "accountId", required = false) Long accountId,
+                                                            @RequestParam(value = "tags", required = false) String tags,
+                                                            @RequestParam(value = "tagMatch", required = false) String tagMatch) {
+        TransactionQuery query = buildQuery(startDate, endDate, type, categoryId, accountId, tags, tagMatch);
+        query.setUserId(SecurityUtils.getCurrentUserId());
+        StreamingResponseBody body = outputStream -> transactionExportService.exportXlsx(query, outputStream);
+        return attachment(MediaType.parseMediaType(XLSX_CONTENT_TYPE), "transactions.xlsx", body);
     }
 
     /**
@@ -73,6 +244,34 @@ public class BusTransactionController {
         return Result.ok(busTransactionService.createTransaction(request));
     }
 
+    /**
+     * 批量创建交易，逐条返回创建结果
+     *
+     * @param request 批量创建参数
+     * @return 批量创建结果
+     */
+    @Operation(summary = "批量创建交易")
+    @PostMapping("/batch")
+    public Result<TransactionBatchResultVO> batchCreate(@Valid @RequestBody TransactionBatchCreateRequest request) {
+        return Result.ok(busTransactionService.batchCreateTransactions(request));
+    }
+
+    /**
+     * 导入 CSV 交易流水
+     *
+     * @param file CSV 文件
+     * @param accountId 默认账户ID（可选），文件中缺少或无法匹配账户时使用
+     * @param charset 文件编码（可选，默认 UTF-8）
+     * @return 导入结果
+     */
+    @Operation(summary = "导入交易流水CSV")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Result<TransactionImportResultVO> importCsv(@RequestParam("file") MultipartFile file,
+                                                       @RequestParam(value = "accountId", required = false) Long accountId,
+                                                       @RequestParam(value = "charset", required = false) String charset) {
+        return Result.ok(transactionImportService.importCsv(file, accountId, charset));
+    }
+
     /**
      * 更新交易
      *
@@ -99,4 +298,50 @@ public class BusTransactionController {
         busTransactionService.deleteTransaction(id);
         return Result.ok(null);
     }
+
+    /**
+     * 组装交易查询条件
+     *
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param type 交易类型
+     * @param categoryId 分类ID
+     * @param accountId 账户ID
+     * @param tags 标签列表，逗号分隔
+     * @param tagMatch 标签匹配模式
+     * @return 查询条件
+     */
+    private TransactionQuery buildQuery(LocalDate startDate, LocalDate endDate, String type, Long categoryId,
+                                        Long accountId, String tags, String tagMatch) {
+        TransactionQuery query = new TransactionQuery();
+        query.setStartDate(startDate);
+        query.setEndDate(endDate);
+        query.setType(type);
+        query.setCategoryId(categoryId);
+        query.setAccountId(accountId);
+        if (tags != null && !tags.isBlank()) {
+            query.setTags(List.of(tags.split(",")));
+        }
+        query.setTagMatch(tagMatch);
+        return query;
+    }
+
+    /**
+     * 构建附件下载响应
+     *
+     * @param mediaType 内容类型
+     * @param filename 文件名
+     * @param body 流式响应体
+     * @return 下载响应
+     */
+    private ResponseEntity<StreamingResponseBody> attachment(MediaType mediaType, String filename,
+                                                             StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(filename, StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .body(body);
+    }
 }
@@ -0,0 +1,82 @@
+package com.ghost.moneyflowbackend.controller;
+
+import com.ghost.moneyflowbackend.common.model.Result;
+import com.ghost.moneyflowbackend.model.dto.ExportJobCreateRequest;
+import com.ghost.moneyflowbackend.model.vo.ExportJobVO;
+import com.ghost.moneyflowbackend.service.ExportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+@Tag(name = "导出任务")
+@RestController
+@RequestMapping("/api/export-jobs")
+public class ExportJobController {
+
+    private final ExportJobService exportJobService;
+
+    /**
+     * 构造方法
+     *
+     * @param exportJobService 导出任务服务
+     */
+    public ExportJobController(ExportJobService exportJobService) {
+        this.exportJobService = exportJobService;
+    }
+
+    /**
+     * 创建导出任务
+     *
+     * @param request 导出请求
+     * @return 导出任务信息
+     */
+    @Operation(summary = "创建导出任务")
+    @PostMapping
+    public Result<ExportJobVO> create(@Valid @RequestBody ExportJobCreateRequest request) {
+        return Result.ok(exportJobService.createJob(request));
+    }
+
+    /**
+     * 查询导出任务状态
+     *
+     * @param jobId 任务ID
+     * @return 导出任务信息
+     */
+    @Operation(summary = "查询导出任务")
+    @GetMapping("/{jobId}")
+    public Result<ExportJobVO> get(@PathVariable("jobId") String jobId) {
+        return Result.ok(exportJobService.getJob(jobId));
+    }
+
+    /**
+     * 下载导出结果文件
+     *
+     * @param jobId 任务ID
+     * @return 文件流
+     */
+    @Operation(summary = "下载导出结果")
+    @GetMapping("/{jobId}/file")
+    public ResponseEntity<Resource> download(@PathVariable("jobId") String jobId) {
+        Path file = exportJobService.getResultFile(jobId);
+        Resource resource = new FileSystemResource(file);
+        MediaType mediaType = MediaTypeFactory.getMediaType(resource).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("transactions-" + file.getFileName(), StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .body(resource);
+    }
+}
@@ -0,0 +1,85 @@
+package com.ghost.moneyflowbackend.controller;
+
+import com.ghost.moneyflowbackend.common.model.Result;
+import com.ghost.moneyflowbackend.model.vo.CategoryRankingVO;
+import com.ghost.moneyflowbackend.model.vo.NetWorthTimelineVO;
+import com.ghost.moneyflowbackend.model.vo.StatisticsOverviewVO;
+import com.ghost.moneyflowbackend.service.NetWorthService;
+import com.ghost.moneyflowbackend.service.StatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+@Tag(name = "收支统计")
+@RestController
+@RequestMapping("/api/statistics")
+public class StatisticsController {
+
+    private final StatisticsService statisticsService;
+    private final NetWorthService netWorthService;
+
+    /**
+     * 构造方法
+     *
+     * @param statisticsService 收支统计服务
+     * @param netWorthService 净资产服务
+     */
+    public StatisticsController(StatisticsService statisticsService, NetWorthService netWorthService) {
+        this.statisticsService = statisticsService;
+        this.netWorthService = netWorthService;
+    }
+
+    /**
+     * 获取收支概览
+     *
+     * @param startDate 开始日期（可选，默认本月第一天）
+     * @param endDate 结束日期（可选，默认本月最后一天）
+     * @return 收支概览
+     */
+    @Operation(summary = "获取收支概览")
+    @GetMapping("/overview")
+    public Result<StatisticsOverviewVO> overview(@RequestParam(value = "startDate", required = false)
+                                                 @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+                                                 @RequestParam(value = "endDate", required = false)
+                                                 @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+        return Result.ok(statisticsService.getOverview(startDate, endDate));
+    }
+
+    /**
+     * 获取分类排行
+     *
+     * @param startDate 开始日期（可选，默认本月第一天）
+     * @param endDate 结束日期（可选，默认本月最后一天）
+     * @param type 交易类型 expense/income（可选，默认 expense）
+     * @return 分类排行
+     */
+    @Operation(summary = "获取分类排行")
+    @GetMapping("/categories")
+    public Result<CategoryRankingVO> categories(@RequestParam(value = "startDate", required = false)
+                                                @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+                                                @RequestParam(value = "endDate", required = false)
+                                                @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+                                                @RequestParam(value = "type", required = false) String type) {
+        return Result.ok(statisticsService.getCategoryRanking(startDate, endDate, type));
+    }
+
+    /**
+     * 获取净资产走势
+     *
+     * @param startMonth 开始月份（可选，默认结束月份往前 11 个月）
+     * @param endMonth 结束月份（可选，默认本月）
+     * @return 净资产走势
+     */
+    @Operation(summary = "获取净资产走势")
+    @GetMapping("/net-worth")
+    public Result<NetWorthTimelineVO> netWorth(@RequestParam(value = "startMonth", required = false)
+                                               @DateTimeFormat(pattern = "yyyy-MM") YearMonth startMonth,
+                                               @RequestParam(value = "endMonth", required = false)
+                                               @DateTimeFormat(pattern = "yyyy-MM") YearMonth endMonth) {
+        return Result.ok(netWorthService.getTimeline(startMonth, endMonth));
+    }
+}
@@ -0,0 +1,39 @@
+package com.ghost.moneyflowbackend.controller;
+
+import com.ghost.moneyflowbackend.common.model.Result;
+import com.ghost.moneyflowbackend.model.vo.SyncVO;
+import com.ghost.moneyflowbackend.service.SyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "数据同步")
+@RestController
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final SyncService syncService;
+
+    /**
+     * 构造方法
+     *
+     * @param syncService 增量同步服务
+     */
+    public SyncController(SyncService syncService) {
+        this.syncService = syncService;
+    }
+
+    /**
+     * 获取增量变更
+     *
+     * @param since 上次同步返回的游标（可选，为空时从头同步）
+     * @param limit 每页变更条数（可选，默认 500，最大 1000）
+     * @return 变更数据与新游标
+     */
+    @Operation(summary = "获取增量变更")
+    @GetMapping
+    public Result<SyncVO> sync(@RequestParam(value = "since", required = false) String since,
+                               @RequestParam(value = "limit", required = false) Integer limit) {
+        return Result.ok(syncService.sync(since, limit));
+    }
+}
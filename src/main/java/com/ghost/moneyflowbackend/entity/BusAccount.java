@@ -5,6 +5,7 @@ import com.baomidou.mybatisplus.annotation.TableId;
 import com.baomidou.mybatisplus.annotation.TableLogic;
 import com.baomidou.mybatisplus.annotation.TableName;
 import com.baomidou.mybatisplus.annotation.FieldFill;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
 import com.baomidou.mybatisplus.annotation.TableField;
 import lombok.Data;
 
@@ -55,6 +56,12 @@ public class BusAccount {
     @NotNull(message = "初始余额不能为空")
     private BigDecimal initialBalance;
 
+    /**
+     * 当前余额，只通过增量 SQL 维护，实体更新时不写入
+     */
+    @TableField(updateStrategy = FieldStrategy.NEVER)
+    private BigDecimal currentBalance;
+
     /**
      * 排序权重
      */
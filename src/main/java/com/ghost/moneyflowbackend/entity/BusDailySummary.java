@@ -0,0 +1,56 @@
+package com.ghost.moneyflowbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 交易日汇总实体
+ */
+@Data
+@TableName("bus_daily_summary")
+public class BusDailySummary {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 交易日期
+     */
+    private LocalDate date;
+
+    /**
+     * 类型(expense, income, transfer, transfer_in)，转账按转出与转入账户各记一行
+     */
+    private String type;
+
+    /**
+     * 分类ID，无分类时为0
+     */
+    private Long categoryId;
+
+    /**
+     * 账户ID
+     */
+    private Long accountId;
+
+    /**
+     * 金额合计
+     */
+    private BigDecimal amountSum;
+
+    /**
+     * 交易笔数
+     */
+    private Integer txCount;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updateTime;
+}
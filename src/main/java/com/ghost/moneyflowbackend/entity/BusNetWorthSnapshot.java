@@ -0,0 +1,41 @@
+package com.ghost.moneyflowbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 月末净资产快照实体
+ */
+@Data
+@TableName("bus_net_worth_snapshot")
+public class BusNetWorthSnapshot {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 快照月份(当月第一天)
+     */
+    private LocalDate snapshotMonth;
+
+    /**
+     * 账户ID(0为全部账户合计)
+     */
+    private Long accountId;
+
+    /**
+     * 月末余额
+     */
+    private BigDecimal balance;
+
+    /**
+     * 生成时间
+     */
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,44 @@
+package com.ghost.moneyflowbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 账本巡检分区检查点实体
+ */
+@Data
+@TableName("sys_ledger_audit_checkpoint")
+public class SysLedgerAuditCheckpoint {
+
+    /**
+     * 巡检批次ID
+     */
+    private Long runId;
+
+    /**
+     * 分区起始用户ID(含)
+     */
+    private Long startUserId;
+
+    /**
+     * 分区结束用户ID(不含)
+     */
+    private Long endUserId;
+
+    /**
+     * 分区发现问题数
+     */
+    private Integer findingCount;
+
+    /**
+     * 分区扫描耗时(毫秒)
+     */
+    private Long durationMs;
+
+    /**
+     * 完成时间
+     */
+    private LocalDateTime finishTime;
+}
@@ -0,0 +1,57 @@
+package com.ghost.moneyflowbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 账本巡检问题实体
+ */
+@Data
+@TableName("sys_ledger_audit_finding")
+public class SysLedgerAuditFinding {
+
+    /**
+     * 问题ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 巡检批次ID
+     */
+    private Long runId;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 检查项
+     */
+    private String checkType;
+
+    /**
+     * 问题数据类型(transaction, transaction_tag, account)
+     */
+    private String entityType;
+
+    /**
+     * 问题数据ID
+     */
+    private Long entityId;
+
+    /**
+     * 问题说明
+     */
+    private String detail;
+
+    /**
+     * 发现时间
+     */
+    private LocalDateTime createTime;
+}
@@ -0,0 +1,72 @@
+package com.ghost.moneyflowbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 账本巡检批次实体
+ */
+@Data
+@TableName("sys_ledger_audit_run")
+public class SysLedgerAuditRun {
+
+    /**
+     * 巡检批次ID
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 触发方式(scheduled, manual)
+     */
+    private String triggerType;
+
+    /**
+     * 状态(running, completed, failed)
+     */
+    private String status;
+
+    /**
+     * 开始时的最大用户ID，分区范围以此为上界
+     */
+    private Long maxUserId;
+
+    /**
+     * 每个分区包含的用户ID数量
+     */
+    private Integer partitionSize;
+
+    /**
+     * 分区总数
+     */
+    private Integer totalPartitions;
+
+    /**
+     * 已完成分区数
+     */
+    private Integer finishedPartitions;
+
+    /**
+     * 发现问题数
+     */
+    private Integer findingCount;
+
+    /**
+     * 失败原因
+     */
+    private String errorMessage;
+
+    /**
+     * 开始时间
+     */
+    private LocalDateTime startTime;
+
+    /**
+     * 结束时间
+     */
+    private LocalDateTime finishTime;
+}
@@ -0,0 +1,57 @@
+package com.ghost.moneyflowbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刷新令牌实体
+ */
+@Data
+@TableName("sys_refresh_token")
+public class SysRefreshToken {
+
+    /**
+     * 主键
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 令牌族ID
+     */
+    private String familyId;
+
+    /**
+     * 刷新令牌摘要
+     */
+    private String tokenHash;
+
+    /**
+     * 过期时间
+     */
+    private LocalDateTime expireTime;
+
+    /**
+     * 轮换时间
+     */
+    private LocalDateTime usedTime;
+
+    /**
+     * 吊销时间
+     */
+    private LocalDateTime revokedTime;
+
+    /**
+     * 签发时间
+     */
+    private LocalDateTime createTime;
+}
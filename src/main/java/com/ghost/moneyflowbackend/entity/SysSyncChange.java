@@ -0,0 +1,44 @@
+package com.ghost.moneyflowbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户数据变更实体，每条数据只保留最近一次变更
+ */
+@Data
+@TableName("sys_sync_change")
+public class SysSyncChange {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 数据类型
+     */
+    private String entityType;
+
+    /**
+     * 数据ID
+     */
+    private Long entityId;
+
+    /**
+     * 最近一次变更的序号
+     */
+    private Long seq;
+
+    /**
+     * 是否已删除(0否 1是)
+     */
+    private Integer deleted;
+
+    /**
+     * 变更时间
+     */
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,32 @@
+package com.ghost.moneyflowbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 用户数据变更序号实体
+ */
+@Data
+@TableName("sys_sync_sequence")
+public class SysSyncSequence {
+
+    /**
+     * 用户ID
+     */
+    @TableId(type = IdType.INPUT)
+    private Long userId;
+
+    /**
+     * 最新变更序号
+     */
+    private Long seq;
+
+    /**
+     * 更新时间
+     */
+    private LocalDateTime updateTime;
+}
@@ -0,0 +1,42 @@
+package com.ghost.moneyflowbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Token 吊销实体
+ */
+@Data
+@TableName("sys_token_revocation")
+public class SysTokenRevocation {
+
+    /**
+     * 主键
+     */
+    @TableId(type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * Token ID
+     */
+    private String jti;
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * Token 过期时间
+     */
+    private LocalDateTime expireTime;
+
+    /**
+     * 吊销时间
+     */
+    private LocalDateTime createTime;
+}
@@ -3,10 +3,51 @@ package com.ghost.moneyflowbackend.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ghost.moneyflowbackend.entity.BusAccount;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * 资产账户数据访问层
  */
 @Mapper
 public interface BusAccountMapper extends BaseMapper<BusAccount> {
+    /**
+     * 按增量调整账户当前余额
+     *
+     * @param accountId 账户ID
+     * @param delta 余额增量，可为负数
+     * @return 影响行数
+     */
+    int adjustBalance(@Param("accountId") Long accountId, @Param("delta") BigDecimal delta);
+
+    /**
+     * 修改初始余额，并把新旧初始余额的差额同步计入当前余额
+     *
+     * @param userId 用户ID
+     * @param accountId 账户ID
+     * @param initialBalance 新的初始余额
+     * @return 影响行数
+     */
+    int updateInitialBalance(@Param("userId") Long userId, @Param("accountId") Long accountId,
+                             @Param("initialBalance") BigDecimal initialBalance);
+
+    /**
+     * 从交易明细重算用户全部账户的当前余额
+     *
+     * @param userId 用户ID
+     * @return 影响行数
+     */
+    int rebuildBalances(@Param("userId") Long userId);
+
+    /**
+     * 查询用户全部账户名称，包含已删除账户，供导出历史交易时还原名称
+     *
+     * @param userId 用户ID
+     * @return 账户ID与名称
+     */
+    @Select("SELECT id, name FROM bus_account WHERE user_id = #{userId}")
+    List<BusAccount> selectNamesIncludingDeleted(@Param("userId") Long userId);
 }
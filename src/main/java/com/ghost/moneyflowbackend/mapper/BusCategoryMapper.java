@@ -3,10 +3,22 @@ package com.ghost.moneyflowbackend.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ghost.moneyflowbackend.entity.BusCategory;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.List;
 
 /**
  * 收支分类数据访问层
  */
 @Mapper
 public interface BusCategoryMapper extends BaseMapper<BusCategory> {
+    /**
+     * 查询用户可见的全部分类名称，包含已删除分类与系统分类，供导出历史交易时还原名称
+     *
+     * @param userId 用户ID
+     * @return 分类ID与名称
+     */
+    @Select("SELECT id, name FROM bus_category WHERE user_id = #{userId} OR user_id IS NULL")
+    List<BusCategory> selectNamesIncludingDeleted(@Param("userId") Long userId);
 }
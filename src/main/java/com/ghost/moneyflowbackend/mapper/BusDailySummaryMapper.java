@@ -0,0 +1,105 @@
+package com.ghost.moneyflowbackend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ghost.moneyflowbackend.entity.BusDailySummary;
+import com.ghost.moneyflowbackend.model.dto.AccountDailyFlowRow;
+import com.ghost.moneyflowbackend.model.dto.AccountMonthlyFlowRow;
+import com.ghost.moneyflowbackend.model.dto.CategoryAmountRow;
+import com.ghost.moneyflowbackend.model.dto.TransactionSummaryRow;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 交易日汇总数据访问层
+ */
+@Mapper
+public interface BusDailySummaryMapper extends BaseMapper<BusDailySummary> {
+    /**
+     * 按增量累加日汇总，不存在的汇总行直接插入
+     *
+     * @param deltas 增量列表，金额与笔数可为负数
+     * @return 影响行数
+     */
+    int upsertDeltas(@Param("list") List<BusDailySummary> deltas);
+
+    /**
+     * 删除用户的全部日汇总
+     *
+     * @param userId 用户ID
+     * @return 删除行数
+     */
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * 从交易明细重建用户的收入、支出与转出汇总
+     *
+     * @param userId 用户ID
+     * @return 插入行数
+     */
+    int rebuildFromTransactions(@Param("userId") Long userId);
+
+    /**
+     * 从交易明细重建用户的转入汇总
+     *
+     * @param userId 用户ID
+     * @return 插入行数
+     */
+    int rebuildTransferInFromTransactions(@Param("userId") Long userId);
+
+    /**
+     * 查询存在交易、汇总或账户数据的用户ID
+     *
+     * @return 用户ID列表
+     */
+    List<Long> selectLedgerUserIds();
+
+    /**
+     * 按日期范围汇总收入与支出
+     *
+     * @param userId 用户ID
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return 收支汇总
+     */
+    TransactionSummaryRow selectSummary(@Param("userId") Long userId, @Param("startDate") LocalDate startDate,
+                                        @Param("endDate") LocalDate endDate);
+
+    /**
+     * 按分类汇总指定类型交易的金额与笔数
+     *
+     * @param userId 用户ID
+     * @param type 交易类型
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return 分类汇总列表
+     */
+    List<CategoryAmountRow> selectCategoryAmounts(@Param("userId") Long userId, @Param("type") String type,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    /**
+     * 按日期顺序查询账户截至结束日期的每日净流入
+     *
+     * @param userId 用户ID
+     * @param accountId 账户ID
+     * @param endDate 结束日期
+     * @return 每日净流入列表，按日期升序
+     */
+    List<AccountDailyFlowRow> selectAccountDailyFlows(@Param("userId") Long userId, @Param("accountId") Long accountId,
+                                                      @Param("endDate") LocalDate endDate);
+
+    /**
+     * 按账户与月份汇总用户的净流入
+     *
+     * @param userId 用户ID
+     * @param startDate 开始日期（可为空，表示不限）
+     * @param endDate 结束日期
+     * @return 月度净流入列表，按月份、账户升序
+     */
+    List<AccountMonthlyFlowRow> selectAccountMonthlyFlows(@Param("userId") Long userId,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
+}
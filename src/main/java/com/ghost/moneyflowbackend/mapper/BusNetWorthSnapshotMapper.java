@@ -0,0 +1,77 @@
+package com.ghost.moneyflowbackend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ghost.moneyflowbackend.entity.BusNetWorthSnapshot;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 月末净资产快照数据访问层
+ */
+@Mapper
+public interface BusNetWorthSnapshotMapper extends BaseMapper<BusNetWorthSnapshot> {
+    /**
+     * 多行插入快照
+     *
+     * @param snapshots 快照列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<BusNetWorthSnapshot> snapshots);
+
+    /**
+     * 删除用户的全部快照
+     *
+     * @param userId 用户ID
+     * @return 删除行数
+     */
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * 删除用户指定月份及之后的快照
+     *
+     * @param userId 用户ID
+     * @param month 起始月份(当月第一天)
+     * @return 删除行数
+     */
+    int deleteFromMonth(@Param("userId") Long userId, @Param("month") LocalDate month);
+
+    /**
+     * 查询用户月份范围内的合计快照
+     *
+     * @param userId 用户ID
+     * @param startMonth 开始月份
+     * @param endMonth 结束月份
+     * @return 合计快照列表，按月份升序
+     */
+    List<BusNetWorthSnapshot> selectTotals(@Param("userId") Long userId, @Param("startMonth") LocalDate startMonth,
+                                           @Param("endMonth") LocalDate endMonth);
+
+    /**
+     * 查询用户早于指定月份的最近快照月份
+     *
+     * @param userId 用户ID
+     * @param month 月份
+     * @return 快照月份，没有时返回 null
+     */
+    LocalDate selectLatestMonthBefore(@Param("userId") Long userId, @Param("month") LocalDate month);
+
+    /**
+     * 查询用户某个月份的各账户快照
+     *
+     * @param userId 用户ID
+     * @param month 快照月份
+     * @return 账户快照列表，不含合计行
+     */
+    List<BusNetWorthSnapshot> selectAccountBalances(@Param("userId") Long userId, @Param("month") LocalDate month);
+
+    /**
+     * 查询有账户但缺少指定月份快照的用户
+     *
+     * @param month 快照月份
+     * @return 用户ID列表
+     */
+    List<Long> selectUserIdsMissingMonth(@Param("month") LocalDate month);
+}
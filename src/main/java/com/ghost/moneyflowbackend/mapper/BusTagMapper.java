@@ -3,10 +3,20 @@ package com.ghost.moneyflowbackend.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ghost.moneyflowbackend.entity.BusTag;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 标签数据访问层
  */
 @Mapper
 public interface BusTagMapper extends BaseMapper<BusTag> {
+    /**
+     * 多行插入标签，回填自增ID；审计字段需由调用方填充
+     *
+     * @param tags 数据列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<BusTag> tags);
 }
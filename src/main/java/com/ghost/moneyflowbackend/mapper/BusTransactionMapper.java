@@ -2,32 +2,69 @@ package com.ghost.moneyflowbackend.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ghost.moneyflowbackend.entity.BusTransaction;
+import com.ghost.moneyflowbackend.model.dto.TransactionExportRow;
+import com.ghost.moneyflowbackend.model.dto.TransactionQuery;
+import com.ghost.moneyflowbackend.model.dto.TransactionSearchRow;
+import com.ghost.moneyflowbackend.model.dto.TransactionSortRow;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.session.ResultHandler;
 
-import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * 交易明细数据访问层
  */
 @Mapper
 public interface BusTransactionMapper extends BaseMapper<BusTransaction> {
-    @Select("SELECT COALESCE(SUM(amount), 0) FROM bus_transaction " +
-            "WHERE user_id = #{userId} AND del_flag = 0 AND type = 'income' AND account_id = #{accountId}")
-    BigDecimal sumIncome(@Param("userId") Long userId, @Param("accountId") Long accountId);
+    /**
+     * 按条件查询交易列表，标签过滤以 EXISTS 半连接在数据库内完成
+     *
+     * @param query 查询条件
+     * @return 交易列表
+     */
+    List<TransactionSortRow> selectByQuery(@Param("q") TransactionQuery query);
 
-    @Select("SELECT COALESCE(SUM(amount), 0) FROM bus_transaction " +
-            "WHERE user_id = #{userId} AND del_flag = 0 AND type = 'expense' AND account_id = #{accountId}")
-    BigDecimal sumExpense(@Param("userId") Long userId, @Param("accountId") Long accountId);
+    /**
+     * 按备注全文检索交易，在列表过滤条件基础上按相关度、日期、ID倒序分页返回
+     *
+     * @param query 查询条件，keyword 为布尔模式表达式，offset、limit 分别为偏移与条数
+     * @return 交易及相关度列表
+     */
+    List<TransactionSearchRow> searchByQuery(@Param("q") TransactionQuery query);
 
-    @Select("SELECT COALESCE(SUM(amount), 0) FROM bus_transaction " +
-            "WHERE user_id = #{userId} AND del_flag = 0 AND type = 'transfer' AND account_id = #{accountId}")
-    BigDecimal sumTransferOut(@Param("userId") Long userId, @Param("accountId") Long accountId);
+    /**
+     * 按条件流式读取交易，逐行回调处理器，用于大数据量导出
+     *
+     * @param query 查询条件
+     * @param handler 行处理器
+     */
+    void streamByQuery(@Param("q") TransactionQuery query, ResultHandler<TransactionExportRow> handler);
 
-    @Select("SELECT COALESCE(SUM(amount), 0) FROM bus_transaction " +
-            "WHERE user_id = #{userId} AND del_flag = 0 AND type = 'transfer' AND target_account_id = #{accountId}")
-    BigDecimal sumTransferIn(@Param("userId") Long userId, @Param("accountId") Long accountId);
+    /**
+     * 按ID锁定读取未删除的交易，持有行锁直到事务结束
+     *
+     * @param id 交易ID
+     * @return 交易，不存在或已删除时返回 null
+     */
+    BusTransaction selectByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * 按条件统计交易数量，用于计算导出进度
+     *
+     * @param query 查询条件
+     * @return 交易数量
+     */
+    long countByQuery(@Param("q") TransactionQuery query);
+
+    /**
+     * 多行插入交易，回填自增ID；审计字段需由调用方填充
+     *
+     * @param transactions 交易列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<BusTransaction> transactions);
 
     @Select("SELECT COUNT(1) FROM bus_transaction " +
             "WHERE user_id = #{userId} AND del_flag = 0 AND (account_id = #{accountId} OR target_account_id = #{accountId})")
@@ -3,10 +3,28 @@ package com.ghost.moneyflowbackend.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ghost.moneyflowbackend.entity.BusTransactionTag;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
 
 /**
  * 交易标签关联数据访问层
  */
 @Mapper
 public interface BusTransactionTagMapper extends BaseMapper<BusTransactionTag> {
+    /**
+     * 多行插入交易标签关联
+     *
+     * @param links 数据列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<BusTransactionTag> links);
+
+    /**
+     * 多行插入交易标签关联，已逻辑删除的同一关联恢复为有效
+     *
+     * @param links 数据列表
+     * @return 影响行数
+     */
+    int insertOrRestoreBatch(@Param("list") List<BusTransactionTag> links);
 }
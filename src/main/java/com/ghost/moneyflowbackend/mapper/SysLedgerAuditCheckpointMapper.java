@@ -0,0 +1,30 @@
+package com.ghost.moneyflowbackend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ghost.moneyflowbackend.entity.SysLedgerAuditCheckpoint;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 账本巡检分区检查点数据访问层
+ */
+@Mapper
+public interface SysLedgerAuditCheckpointMapper extends BaseMapper<SysLedgerAuditCheckpoint> {
+    @Select("SELECT start_user_id FROM sys_ledger_audit_checkpoint WHERE run_id = #{runId}")
+    List<Long> selectFinishedStarts(@Param("runId") Long runId);
+
+    @Insert("INSERT IGNORE INTO sys_ledger_audit_checkpoint " +
+            "(run_id, start_user_id, end_user_id, finding_count, duration_ms, finish_time) " +
+            "VALUES (#{runId}, #{startUserId}, #{endUserId}, #{findingCount}, #{durationMs}, #{finishTime})")
+    int insertIgnore(SysLedgerAuditCheckpoint checkpoint);
+
+    @Delete("DELETE cp FROM sys_ledger_audit_checkpoint cp JOIN sys_ledger_audit_run r ON r.id = cp.run_id " +
+            "WHERE r.start_time < #{before}")
+    int deleteByRunStartedBefore(@Param("before") LocalDateTime before);
+}
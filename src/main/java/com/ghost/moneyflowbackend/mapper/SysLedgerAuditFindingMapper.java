@@ -0,0 +1,93 @@
+package com.ghost.moneyflowbackend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ghost.moneyflowbackend.entity.SysLedgerAuditFinding;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 账本巡检问题数据访问层
+ *
+ * 各检查查询只扫描 [startUserId, endUserId) 范围内的用户，返回的问题行未填写批次与检查项
+ */
+@Mapper
+public interface SysLedgerAuditFindingMapper extends BaseMapper<SysLedgerAuditFinding> {
+    /**
+     * 多行插入巡检问题
+     *
+     * @param findings 问题列表
+     * @return 插入行数
+     */
+    int insertBatch(@Param("list") List<SysLedgerAuditFinding> findings);
+
+    /**
+     * 删除早于指定时间开始的批次的问题
+     *
+     * @param before 时间界限
+     * @return 删除行数
+     */
+    int deleteByRunStartedBefore(@Param("before") LocalDateTime before);
+
+    /**
+     * 查询账户不存在、已删除或属于其他用户的交易
+     *
+     * @param startUserId 起始用户ID(含)
+     * @param endUserId 结束用户ID(不含)
+     * @param limit 最多返回行数
+     * @return 问题列表
+     */
+    List<SysLedgerAuditFinding> selectInvalidAccountTransactions(@Param("startUserId") Long startUserId,
+                                                                 @Param("endUserId") Long endUserId,
+                                                                 @Param("limit") int limit);
+
+    /**
+     * 查询分类不存在、已删除、属于其他用户或收支类型不符的交易
+     *
+     * @param startUserId 起始用户ID(含)
+     * @param endUserId 结束用户ID(不含)
+     * @param limit 最多返回行数
+     * @return 问题列表
+     */
+    List<SysLedgerAuditFinding> selectInvalidCategoryTransactions(@Param("startUserId") Long startUserId,
+                                                                  @Param("endUserId") Long endUserId,
+                                                                  @Param("limit") int limit);
+
+    /**
+     * 查询目标账户缺失、已删除、属于其他用户或与转出账户相同的转账
+     *
+     * @param startUserId 起始用户ID(含)
+     * @param endUserId 结束用户ID(不含)
+     * @param limit 最多返回行数
+     * @return 问题列表
+     */
+    List<SysLedgerAuditFinding> selectInvalidTransferTargets(@Param("startUserId") Long startUserId,
+                                                             @Param("endUserId") Long endUserId,
+                                                             @Param("limit") int limit);
+
+    /**
+     * 查询指向已删除交易、已删除标签或其他用户标签的标签关联
+     *
+     * @param startUserId 起始用户ID(含)
+     * @param endUserId 结束用户ID(不含)
+     * @param limit 最多返回行数
+     * @return 问题列表
+     */
+    List<SysLedgerAuditFinding> selectInvalidTagLinks(@Param("startUserId") Long startUserId,
+                                                      @Param("endUserId") Long endUserId,
+                                                      @Param("limit") int limit);
+
+    /**
+     * 查询当前余额与交易明细重算结果不一致的账户
+     *
+     * @param startUserId 起始用户ID(含)
+     * @param endUserId 结束用户ID(不含)
+     * @param limit 最多返回行数
+     * @return 问题列表
+     */
+    List<SysLedgerAuditFinding> selectBalanceDrifts(@Param("startUserId") Long startUserId,
+                                                    @Param("endUserId") Long endUserId,
+                                                    @Param("limit") int limit);
+}
@@ -0,0 +1,43 @@
+package com.ghost.moneyflowbackend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ghost.moneyflowbackend.entity.SysLedgerAuditRun;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+
+/**
+ * 账本巡检批次数据访问层
+ */
+@Mapper
+public interface SysLedgerAuditRunMapper extends BaseMapper<SysLedgerAuditRun> {
+    @Update("UPDATE sys_ledger_audit_run SET finished_partitions = finished_partitions + 1, " +
+            "finding_count = finding_count + #{findingCount} WHERE id = #{runId}")
+    int incrementProgress(@Param("runId") Long runId, @Param("findingCount") int findingCount);
+
+    @Delete("DELETE FROM sys_ledger_audit_run WHERE start_time < #{before}")
+    int deleteStartedBefore(@Param("before") LocalDateTime before);
+
+    @Select("SELECT COALESCE(MAX(id), 0) FROM sys_user")
+    long selectMaxUserId();
+
+    @Insert("INSERT IGNORE INTO sys_ledger_audit_lease (id) VALUES (1)")
+    int insertLeaseIfAbsent();
+
+    @Update("UPDATE sys_ledger_audit_lease SET owner = #{owner}, " +
+            "expire_time = NOW() + INTERVAL #{leaseSeconds} SECOND " +
+            "WHERE id = 1 AND (owner IS NULL OR owner = #{owner} OR expire_time < NOW())")
+    int acquireLease(@Param("owner") String owner, @Param("leaseSeconds") int leaseSeconds);
+
+    @Update("UPDATE sys_ledger_audit_lease SET expire_time = NOW() + INTERVAL #{leaseSeconds} SECOND " +
+            "WHERE id = 1 AND owner = #{owner}")
+    int renewLease(@Param("owner") String owner, @Param("leaseSeconds") int leaseSeconds);
+
+    @Update("UPDATE sys_ledger_audit_lease SET owner = NULL, expire_time = NULL WHERE id = 1 AND owner = #{owner}")
+    int releaseLease(@Param("owner") String owner);
+}
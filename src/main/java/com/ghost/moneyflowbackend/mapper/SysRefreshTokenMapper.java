@@ -0,0 +1,27 @@
+package com.ghost.moneyflowbackend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ghost.moneyflowbackend.entity.SysRefreshToken;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刷新令牌数据访问层
+ */
+@Mapper
+public interface SysRefreshTokenMapper extends BaseMapper<SysRefreshToken> {
+    @Update("UPDATE sys_refresh_token SET used_time = #{now} " +
+            "WHERE id = #{id} AND used_time IS NULL AND revoked_time IS NULL")
+    int markUsed(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Update("UPDATE sys_refresh_token SET revoked_time = #{now} " +
+            "WHERE family_id = #{familyId} AND revoked_time IS NULL")
+    int revokeFamily(@Param("familyId") String familyId, @Param("now") LocalDateTime now);
+
+    @Delete("DELETE FROM sys_refresh_token WHERE expire_time <= #{now} LIMIT #{limit}")
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
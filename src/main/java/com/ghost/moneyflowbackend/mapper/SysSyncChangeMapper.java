@@ -0,0 +1,43 @@
+package com.ghost.moneyflowbackend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ghost.moneyflowbackend.entity.SysSyncChange;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 用户数据变更数据访问层
+ */
+@Mapper
+public interface SysSyncChangeMapper extends BaseMapper<SysSyncChange> {
+    /**
+     * 多行写入变更，同一数据已有变更时覆盖为最新序号
+     *
+     * @param changes 变更列表
+     * @return 影响行数
+     */
+    int upsertBatch(@Param("list") List<SysSyncChange> changes);
+
+    /**
+     * 为用户现有的全部有效数据生成初始变更，序号从 1 开始连续分配
+     *
+     * @param userId 用户ID
+     * @param now 变更时间
+     * @return 插入行数
+     */
+    int insertInitialChanges(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * 按序号升序查询指定序号之后的变更
+     *
+     * @param userId 用户ID
+     * @param afterSeq 起始序号(不含)
+     * @param limit 最大条数
+     * @return 变更列表
+     */
+    List<SysSyncChange> selectAfter(@Param("userId") Long userId, @Param("afterSeq") long afterSeq,
+                                    @Param("limit") int limit);
+}
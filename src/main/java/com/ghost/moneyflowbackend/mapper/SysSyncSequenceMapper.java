@@ -0,0 +1,30 @@
+package com.ghost.moneyflowbackend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ghost.moneyflowbackend.entity.SysSyncSequence;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 用户数据变更序号数据访问层
+ */
+@Mapper
+public interface SysSyncSequenceMapper extends BaseMapper<SysSyncSequence> {
+    @Insert("INSERT IGNORE INTO sys_sync_sequence (user_id, seq) VALUES (#{userId}, 0)")
+    int insertIgnore(@Param("userId") Long userId);
+
+    @Update("UPDATE sys_sync_sequence SET seq = seq + #{count} WHERE user_id = #{userId}")
+    int increment(@Param("userId") Long userId, @Param("count") int count);
+
+    @Update("UPDATE sys_sync_sequence SET seq = #{seq} WHERE user_id = #{userId}")
+    int updateSeq(@Param("userId") Long userId, @Param("seq") long seq);
+
+    @Select("SELECT seq FROM sys_sync_sequence WHERE user_id = #{userId}")
+    Long selectSeq(@Param("userId") Long userId);
+
+    @Select("SELECT seq FROM sys_sync_sequence WHERE user_id = #{userId} FOR UPDATE")
+    Long selectSeqForUpdate(@Param("userId") Long userId);
+}
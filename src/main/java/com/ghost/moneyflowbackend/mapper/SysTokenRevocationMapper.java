@@ -0,0 +1,35 @@
+package com.ghost.moneyflowbackend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.ghost.moneyflowbackend.entity.SysTokenRevocation;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Token 吊销数据访问层
+ */
+@Mapper
+public interface SysTokenRevocationMapper extends BaseMapper<SysTokenRevocation> {
+    @Insert("INSERT IGNORE INTO sys_token_revocation (jti, user_id, expire_time) " +
+            "VALUES (#{jti}, #{userId}, #{expireTime})")
+    int insertIgnore(@Param("jti") String jti, @Param("userId") Long userId,
+                     @Param("expireTime") LocalDateTime expireTime);
+
+    @Select("SELECT jti, expire_time FROM sys_token_revocation WHERE expire_time > #{now}")
+    List<SysTokenRevocation> selectUnexpired(@Param("now") LocalDateTime now);
+
+    @Select("SELECT jti, expire_time, create_time FROM sys_token_revocation WHERE create_time >= #{since}")
+    List<SysTokenRevocation> selectCreatedSince(@Param("since") LocalDateTime since);
+
+    @Select("SELECT MAX(create_time) FROM sys_token_revocation")
+    LocalDateTime selectMaxCreateTime();
+
+    @Delete("DELETE FROM sys_token_revocation WHERE expire_time <= #{now} LIMIT #{limit}")
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
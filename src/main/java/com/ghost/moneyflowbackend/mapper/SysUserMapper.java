@@ -3,10 +3,39 @@ package com.ghost.moneyflowbackend.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.ghost.moneyflowbackend.entity.SysUser;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * 用户表数据访问层
  */
 @Mapper
 public interface SysUserMapper extends BaseMapper<SysUser> {
+    /**
+     * 查询已停用或已删除的用户状态，绕过逻辑删除过滤
+     *
+     * @return 用户ID、状态、删除标志与更新时间
+     */
+    @Select("SELECT id, status, del_flag, update_time FROM sys_user WHERE status = 1 OR del_flag = 1")
+    List<SysUser> selectInactiveStatuses();
+
+    /**
+     * 查询指定时间之后有更新的用户状态，包括已删除用户
+     *
+     * @param since 起始更新时间（含）
+     * @return 用户ID、状态、删除标志与更新时间
+     */
+    @Select("SELECT id, status, del_flag, update_time FROM sys_user WHERE update_time >= #{since}")
+    List<SysUser> selectStatusesUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * 查询用户表最新的更新时间，包括已删除用户
+     *
+     * @return 最新更新时间，表为空时为 null
+     */
+    @Select("SELECT MAX(update_time) FROM sys_user")
+    LocalDateTime selectMaxUpdateTime();
 }
@@ -0,0 +1,15 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 账户单日净流入行
+ */
+@Data
+public class AccountDailyFlowRow {
+    private LocalDate date;
+    private BigDecimal netAmount;
+}
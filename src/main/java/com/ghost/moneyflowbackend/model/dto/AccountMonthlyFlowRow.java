@@ -0,0 +1,16 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 账户单月净流入行
+ */
+@Data
+public class AccountMonthlyFlowRow {
+    private Long accountId;
+    private LocalDate month;
+    private BigDecimal netAmount;
+}
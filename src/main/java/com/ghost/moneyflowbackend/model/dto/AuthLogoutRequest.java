@@ -0,0 +1,17 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 退出登录请求参数
+ */
+@Data
+public class AuthLogoutRequest {
+
+    /**
+     * 刷新令牌（可选），携带时一并吊销
+     */
+    @Size(max = 128, message = "刷新令牌格式不正确")
+    private String refreshToken;
+}
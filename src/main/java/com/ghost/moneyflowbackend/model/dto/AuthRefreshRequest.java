@@ -0,0 +1,19 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * 刷新令牌请求参数
+ */
+@Data
+public class AuthRefreshRequest {
+
+    /**
+     * 刷新令牌
+     */
+    @NotBlank(message = "刷新令牌不能为空")
+    @Size(max = 128, message = "刷新令牌格式不正确")
+    private String refreshToken;
+}
@@ -0,0 +1,15 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 分类金额汇总行
+ */
+@Data
+public class CategoryAmountRow {
+    private Long categoryId;
+    private BigDecimal totalAmount;
+    private Long transactionCount;
+}
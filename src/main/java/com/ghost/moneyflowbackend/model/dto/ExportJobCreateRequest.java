@@ -0,0 +1,30 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class ExportJobCreateRequest {
+    @NotBlank(message = "导出格式不能为空")
+    private String format;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+
+    private String type;
+
+    private Long categoryId;
+
+    private Long accountId;
+
+    private List<String> tags;
+
+    private String tagMatch;
+}
@@ -0,0 +1,20 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import lombok.Data;
+
+/**
+ * 刷新令牌轮换结果
+ */
+@Data
+public class RefreshTokenRotation {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 新签发的刷新令牌
+     */
+    private String refreshToken;
+}
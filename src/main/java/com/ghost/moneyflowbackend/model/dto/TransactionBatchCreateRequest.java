@@ -0,0 +1,17 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TransactionBatchCreateRequest {
+    /**
+     * 待创建的交易，逐条校验，单条失败不影响其他交易
+     */
+    @NotEmpty(message = "交易列表不能为空")
+    @Size(max = 200, message = "单次最多创建200条交易")
+    private List<TransactionCreateRequest> items;
+}
@@ -0,0 +1,14 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import com.ghost.moneyflowbackend.entity.BusTransaction;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 交易导出行，在交易字段基础上附带逗号分隔的标签ID
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TransactionExportRow extends BusTransaction {
+    private String tagIds;
+}
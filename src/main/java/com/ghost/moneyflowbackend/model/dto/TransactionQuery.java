@@ -0,0 +1,108 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import lombok.Data;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 交易查询条件，用户ID、游标与条数由服务层填充
+ */
+@Data
+public class TransactionQuery {
+    public static final String SORT_DATE = "date";
+    public static final String SORT_AMOUNT = "amount";
+    public static final String SORT_CATEGORY = "category";
+
+    private Long userId;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private String type;
+    private Long categoryId;
+    private Long accountId;
+    private List<String> tags;
+
+    /**
+     * 标签匹配模式：any 命中任一标签，all 需包含全部标签
+     */
+    private String tagMatch;
+
+    /**
+     * 排序字段：date 日期，amount 金额，category 分类名称；默认按日期
+     */
+    private String sort;
+
+    /**
+     * 排序方向：asc 升序，desc 降序；默认降序
+     */
+    private String direction;
+
+    /**
+     * 备注全文检索的布尔模式表达式，仅搜索接口由服务层填充
+     */
+    private String keyword;
+
+    private LocalDate cursorDate;
+    private BigDecimal cursorAmount;
+    private String cursorCategoryName;
+    private Long cursorId;
+    private Integer offset;
+    private Integer limit;
+
+    /**
+     * 是否要求包含全部标签
+     *
+     * @return 是否全部匹配
+     */
+    public boolean isTagMatchAll() {
+        return "all".equalsIgnoreCase(tagMatch);
+    }
+
+    /**
+     * 是否升序排列
+     *
+     * @return 是否升序
+     */
+    public boolean isAscending() {
+        return "asc".equals(direction);
+    }
+
+    /**
+     * 规范化交易类型、排序与标签过滤条件
+     *
+     * @return 是否可能存在匹配数据，标签全部为空白时返回 false
+     * @throws BusinessException 标签匹配模式或排序参数不合法时抛出
+     */
+    public boolean normalize() {
+        if (!StringUtils.hasText(type) || "all".equalsIgnoreCase(type)) {
+            type = null;
+        }
+        if (StringUtils.hasText(tagMatch) && !"any".equalsIgnoreCase(tagMatch) && !"all".equalsIgnoreCase(tagMatch)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "标签匹配模式不合法");
+        }
+        sort = StringUtils.hasText(sort) ? sort.toLowerCase() : SORT_DATE;
+        if (!SORT_DATE.equals(sort) && !SORT_AMOUNT.equals(sort) && !SORT_CATEGORY.equals(sort)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "排序字段不合法");
+        }
+        direction = StringUtils.hasText(direction) ? direction.toLowerCase() : "desc";
+        if (!"asc".equals(direction) && !"desc".equals(direction)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "排序方向不合法");
+        }
+        if (tags == null || tags.isEmpty()) {
+            tags = null;
+            return true;
+        }
+        tags = tags.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .distinct()
+                .collect(Collectors.toList());
+        return !tags.isEmpty();
+    }
+}
@@ -0,0 +1,14 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import com.ghost.moneyflowbackend.entity.BusTransaction;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 交易搜索行，在交易字段基础上附带全文检索相关度
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TransactionSearchRow extends BusTransaction {
+    private Double score;
+}
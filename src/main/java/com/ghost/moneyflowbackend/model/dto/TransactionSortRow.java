@@ -0,0 +1,14 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import com.ghost.moneyflowbackend.entity.BusTransaction;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * 交易列表行，在交易字段基础上附带按分类排序时的排序键
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class TransactionSortRow extends BusTransaction {
+    private String sortName;
+}
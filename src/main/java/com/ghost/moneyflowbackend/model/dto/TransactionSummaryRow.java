@@ -0,0 +1,16 @@
+package com.ghost.moneyflowbackend.model.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * 交易收支汇总行
+ */
+@Data
+public class TransactionSummaryRow {
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private Long incomeCount;
+    private Long expenseCount;
+}
@@ -0,0 +1,21 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+public class AccountBalanceHistoryVO {
+    private Long accountId;
+    private String granularity;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private List<AccountBalancePointVO> points;
+}
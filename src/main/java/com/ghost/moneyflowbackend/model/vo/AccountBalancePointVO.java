@@ -0,0 +1,17 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class AccountBalancePointVO {
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate periodStart;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate periodEnd;
+    private BigDecimal balance;
+    private BigDecimal change;
+}
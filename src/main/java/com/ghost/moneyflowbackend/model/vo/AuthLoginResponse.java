@@ -13,6 +13,11 @@ public class AuthLoginResponse {
      */
     private String token;
 
+    /**
+     * 刷新令牌，单次有效，用于换取新的 JWT Token
+     */
+    private String refreshToken;
+
     /**
      * 用户信息
      */
@@ -8,6 +8,7 @@ import java.util.Map;
 
 @Data
 public class BudgetVO {
+    private Long id;
     private String month;
     private BigDecimal total;
     private Map<Long, BigDecimal> categories = new HashMap<>();
@@ -0,0 +1,18 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CategoryRankItemVO {
+    private Long categoryId;
+    private String name;
+    private String icon;
+    private BigDecimal amount;
+    private Long transactionCount;
+    private BigDecimal percentage;
+    private List<CategoryRankItemVO> children = new ArrayList<>();
+}
@@ -0,0 +1,21 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CategoryRankingVO {
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate startDate;
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate endDate;
+    private String type;
+    private BigDecimal totalAmount;
+    private Long totalCount;
+    private List<CategoryRankItemVO> items = new ArrayList<>();
+}
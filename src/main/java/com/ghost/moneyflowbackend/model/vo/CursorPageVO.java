@@ -0,0 +1,13 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CursorPageVO<T> {
+    private List<T> records = new ArrayList<>();
+    private String nextCursor;
+    private Boolean hasMore;
+}
@@ -0,0 +1,27 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ExportJobVO {
+    private String jobId;
+    private String format;
+    private String status;
+    private Long totalRows;
+    private Long processedRows;
+    private Integer progress;
+    private String fileName;
+    private String errorMessage;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime expireTime;
+}
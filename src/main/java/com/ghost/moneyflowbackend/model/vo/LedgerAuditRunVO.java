@@ -0,0 +1,25 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class LedgerAuditRunVO {
+    private Long runId;
+    private String triggerType;
+    private String status;
+    private Long maxUserId;
+    private Integer totalPartitions;
+    private Integer finishedPartitions;
+    private Integer progress;
+    private Integer findingCount;
+    private String errorMessage;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime startTime;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime finishTime;
+}
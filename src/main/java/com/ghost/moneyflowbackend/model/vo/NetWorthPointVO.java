@@ -0,0 +1,15 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+
+@Data
+public class NetWorthPointVO {
+    @JsonFormat(pattern = "yyyy-MM")
+    private YearMonth month;
+    private BigDecimal totalBalance;
+    private Boolean snapshot;
+}
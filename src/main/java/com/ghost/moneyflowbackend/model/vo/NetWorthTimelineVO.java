@@ -0,0 +1,16 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@Data
+public class NetWorthTimelineVO {
+    @JsonFormat(pattern = "yyyy-MM")
+    private YearMonth startMonth;
+    @JsonFormat(pattern = "yyyy-MM")
+    private YearMonth endMonth;
+    private List<NetWorthPointVO> points;
+}
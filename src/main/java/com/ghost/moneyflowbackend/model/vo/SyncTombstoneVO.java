@@ -0,0 +1,9 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import lombok.Data;
+
+@Data
+public class SyncTombstoneVO {
+    private String type;
+    private Long id;
+}
@@ -0,0 +1,19 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class SyncVO {
+    private String cursor;
+    private Boolean hasMore;
+    private List<AccountVO> accounts = new ArrayList<>();
+    private List<CategoryVO> categories = new ArrayList<>();
+    private List<BudgetVO> budgets = new ArrayList<>();
+    private List<GoalVO> goals = new ArrayList<>();
+    private List<RecurringRuleVO> rules = new ArrayList<>();
+    private List<TransactionVO> transactions = new ArrayList<>();
+    private List<SyncTombstoneVO> deleted = new ArrayList<>();
+}
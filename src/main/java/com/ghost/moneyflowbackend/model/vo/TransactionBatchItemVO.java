@@ -0,0 +1,11 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import lombok.Data;
+
+@Data
+public class TransactionBatchItemVO {
+    private Integer index;
+    private Boolean success;
+    private TransactionVO transaction;
+    private String errorMessage;
+}
@@ -0,0 +1,13 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TransactionBatchResultVO {
+    private Integer successCount;
+    private Integer failureCount;
+    private List<TransactionBatchItemVO> items = new ArrayList<>();
+}
@@ -0,0 +1,9 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import lombok.Data;
+
+@Data
+public class TransactionImportErrorVO {
+    private Long rowNumber;
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.ghost.moneyflowbackend.model.vo;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TransactionImportResultVO {
+    private Long totalRows = 0L;
+    private Long successCount = 0L;
+    private Long failureCount = 0L;
+    private Long skippedCount = 0L;
+    private List<TransactionImportErrorVO> errors = new ArrayList<>();
+    private Boolean errorsTruncated = false;
+}
@@ -1,6 +1,8 @@
 package com.ghost.moneyflowbackend.service;
 
 import com.ghost.moneyflowbackend.model.dto.AuthLoginRequest;
+import com.ghost.moneyflowbackend.model.dto.AuthLogoutRequest;
+import com.ghost.moneyflowbackend.model.dto.AuthRefreshRequest;
 import com.ghost.moneyflowbackend.model.dto.AuthRegisterRequest;
 import com.ghost.moneyflowbackend.model.vo.AuthLoginResponse;
 import com.ghost.moneyflowbackend.model.vo.AuthMeResponse;
@@ -26,6 +28,14 @@ public interface AuthService {
      */
     AuthLoginResponse register(AuthRegisterRequest request);
 
+    /**
+     * 使用刷新令牌换取新的 Token 与刷新令牌
+     *
+     * @param request 刷新参数
+     * @return 登录结果
+     */
+    AuthLoginResponse refresh(AuthRefreshRequest request);
+
     /**
      * 获取当前用户信息
      *
@@ -34,7 +44,9 @@ public interface AuthService {
     AuthMeResponse currentUser();
 
     /**
-     * 退出登录
+     * 退出登录，吊销当前 Token 及携带的刷新令牌
+     *
+     * @param request 退出登录参数（可选）
      */
-    void logout();
+    void logout(AuthLogoutRequest request);
 }
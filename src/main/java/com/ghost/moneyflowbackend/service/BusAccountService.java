@@ -4,8 +4,11 @@ import com.baomidou.mybatisplus.extension.service.IService;
 import com.ghost.moneyflowbackend.entity.BusAccount;
 import com.ghost.moneyflowbackend.model.dto.AccountCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.AccountUpdateRequest;
+import com.ghost.moneyflowbackend.model.vo.AccountBalanceHistoryVO;
 import com.ghost.moneyflowbackend.model.vo.AccountVO;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,9 +17,13 @@ import java.util.List;
 public interface BusAccountService extends IService<BusAccount> {
     List<AccountVO> listAccounts();
 
+    List<AccountVO> listAccountsByIds(Long userId, Collection<Long> accountIds);
+
     AccountVO createAccount(AccountCreateRequest request);
 
     AccountVO updateAccount(Long accountId, AccountUpdateRequest request);
 
     void deleteAccount(Long accountId);
+
+    AccountBalanceHistoryVO getBalanceHistory(Long accountId, String granularity, LocalDate startDate, LocalDate endDate);
 }
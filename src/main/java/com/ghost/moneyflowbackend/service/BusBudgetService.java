@@ -5,8 +5,13 @@ import com.ghost.moneyflowbackend.entity.BusBudget;
 import com.ghost.moneyflowbackend.model.dto.BudgetSaveRequest;
 import com.ghost.moneyflowbackend.model.vo.BudgetVO;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface BusBudgetService extends IService<BusBudget> {
     BudgetVO getBudget(String month);
 
     BudgetVO saveBudget(BudgetSaveRequest request);
+
+    List<BudgetVO> listBudgetsByIds(Long userId, Collection<Long> budgetIds);
 }
@@ -6,6 +6,7 @@ import com.ghost.moneyflowbackend.model.dto.CategoryCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.CategoryUpdateRequest;
 import com.ghost.moneyflowbackend.model.vo.CategoryVO;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,6 +15,8 @@ import java.util.List;
 public interface BusCategoryService extends IService<BusCategory> {
     List<CategoryVO> listCategories(String type);
 
+    List<CategoryVO> listCategoriesByIds(Long userId, Collection<Long> categoryIds);
+
     CategoryVO createCategory(CategoryCreateRequest request);
 
     CategoryVO updateCategory(Long categoryId, CategoryUpdateRequest request);
@@ -7,11 +7,14 @@ import com.ghost.moneyflowbackend.model.dto.GoalRecordCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.GoalUpdateRequest;
 import com.ghost.moneyflowbackend.model.vo.GoalVO;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BusGoalService extends IService<BusGoal> {
     List<GoalVO> listGoals();
 
+    List<GoalVO> listGoalsByIds(Long userId, Collection<Long> goalIds);
+
     GoalVO createGoal(GoalCreateRequest request);
 
     GoalVO updateGoal(Long goalId, GoalUpdateRequest request);
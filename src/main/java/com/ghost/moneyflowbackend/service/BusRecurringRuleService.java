@@ -7,11 +7,14 @@ import com.ghost.moneyflowbackend.model.dto.RecurringRuleUpdateRequest;
 import com.ghost.moneyflowbackend.model.vo.RecurringRuleVO;
 import com.ghost.moneyflowbackend.model.vo.TransactionVO;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface BusRecurringRuleService extends IService<BusRecurringRule> {
     List<RecurringRuleVO> listRules();
 
+    List<RecurringRuleVO> listRulesByIds(Long userId, Collection<Long> ruleIds);
+
     RecurringRuleVO createRule(RecurringRuleCreateRequest request);
 
     RecurringRuleVO updateRule(Long ruleId, RecurringRuleUpdateRequest request);
@@ -1,23 +1,40 @@
 package com.ghost.moneyflowbackend.service;
 
 import com.baomidou.mybatisplus.extension.service.IService;
+import com.ghost.moneyflowbackend.entity.BusAccount;
+import com.ghost.moneyflowbackend.entity.BusCategory;
 import com.ghost.moneyflowbackend.entity.BusTransaction;
+import com.ghost.moneyflowbackend.model.dto.TransactionBatchCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.TransactionCreateRequest;
+import com.ghost.moneyflowbackend.model.dto.TransactionQuery;
 import com.ghost.moneyflowbackend.model.dto.TransactionUpdateRequest;
+import com.ghost.moneyflowbackend.model.vo.CursorPageVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionBatchResultVO;
 import com.ghost.moneyflowbackend.model.vo.TransactionVO;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 交易明细业务服务
  */
 public interface BusTransactionService extends IService<BusTransaction> {
-    List<TransactionVO> listTransactions(LocalDate startDate, LocalDate endDate, String type,
-                                         Long categoryId, Long accountId, List<String> tags);
+    List<TransactionVO> listTransactions(TransactionQuery query);
+
+    CursorPageVO<TransactionVO> pageTransactions(TransactionQuery query, String cursor, Integer size);
+
+    CursorPageVO<TransactionVO> searchTransactions(TransactionQuery query, String keyword, String cursor, Integer size);
+
+    List<TransactionVO> listTransactionsByIds(Long userId, Collection<Long> transactionIds);
 
     TransactionVO createTransaction(TransactionCreateRequest request);
 
+    TransactionBatchResultVO batchCreateTransactions(TransactionBatchCreateRequest request);
+
+    TransactionBatchResultVO createTransactions(Long userId, List<TransactionCreateRequest> items,
+                                                Map<Long, BusAccount> accountMap, Map<Long, BusCategory> categoryMap);
+
     TransactionVO updateTransaction(Long transactionId, TransactionUpdateRequest request);
 
     void deleteTransaction(Long transactionId);
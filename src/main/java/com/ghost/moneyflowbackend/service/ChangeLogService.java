@@ -0,0 +1,18 @@
+package com.ghost.moneyflowbackend.service;
+
+import java.util.Collection;
+
+/**
+ * 用户数据变更记录服务
+ */
+public interface ChangeLogService {
+    void recordChange(Long userId, String entityType, Long entityId, boolean deleted);
+
+    void recordChanges(Long userId, String entityType, Collection<Long> entityIds, boolean deleted);
+
+    boolean ensureInitialized(Long userId);
+
+    void lockSequence(Long userId);
+
+    long getVersion(Long userId);
+}
@@ -72,6 +72,7 @@ public class DefaultDataInitializer {
         account.setType(type);
         account.setIcon(icon);
         account.setInitialBalance(BigDecimal.ZERO);
+        account.setCurrentBalance(BigDecimal.ZERO);
         account.setSortOrder(order);
         account.setIsSystem(1);
         account.setDelFlag(0);
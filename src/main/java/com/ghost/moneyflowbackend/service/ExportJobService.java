@@ -0,0 +1,19 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.model.dto.ExportJobCreateRequest;
+import com.ghost.moneyflowbackend.model.vo.ExportJobVO;
+
+import java.nio.file.Path;
+
+/**
+ * 异步导出任务服务
+ */
+public interface ExportJobService {
+    ExportJobVO createJob(ExportJobCreateRequest request);
+
+    ExportJobVO getJob(String jobId);
+
+    Path getResultFile(String jobId);
+
+    int cleanupExpiredJobs();
+}
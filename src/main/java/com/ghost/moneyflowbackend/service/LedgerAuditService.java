@@ -0,0 +1,14 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.model.vo.LedgerAuditRunVO;
+
+/**
+ * 账本一致性巡检服务
+ */
+public interface LedgerAuditService {
+    LedgerAuditRunVO startAudit(String triggerType);
+
+    LedgerAuditRunVO resumeInterruptedAudit();
+
+    LedgerAuditRunVO getLatestRun();
+}
@@ -0,0 +1,20 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.model.vo.NetWorthTimelineVO;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * 净资产快照与走势服务
+ */
+public interface NetWorthService {
+    NetWorthTimelineVO getTimeline(YearMonth startMonth, YearMonth endMonth);
+
+    List<Long> listUsersMissingSnapshot();
+
+    int snapshotClosedMonths(Long userId);
+
+    void invalidateSnapshots(Long userId, LocalDate fromDate);
+}
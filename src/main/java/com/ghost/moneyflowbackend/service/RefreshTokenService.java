@@ -0,0 +1,16 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.model.dto.RefreshTokenRotation;
+
+/**
+ * 刷新令牌服务
+ */
+public interface RefreshTokenService {
+    String issue(Long userId);
+
+    RefreshTokenRotation rotate(String refreshToken);
+
+    void revoke(Long userId, String refreshToken);
+
+    int cleanupExpiredTokens();
+}
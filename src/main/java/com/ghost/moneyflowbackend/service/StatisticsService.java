@@ -0,0 +1,15 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.model.vo.CategoryRankingVO;
+import com.ghost.moneyflowbackend.model.vo.StatisticsOverviewVO;
+
+import java.time.LocalDate;
+
+/**
+ * 收支统计服务
+ */
+public interface StatisticsService {
+    StatisticsOverviewVO getOverview(LocalDate startDate, LocalDate endDate);
+
+    CategoryRankingVO getCategoryRanking(LocalDate startDate, LocalDate endDate, String type);
+}
@@ -0,0 +1,10 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.model.vo.SyncVO;
+
+/**
+ * 增量同步服务
+ */
+public interface SyncService {
+    SyncVO sync(String since, Integer limit);
+}
@@ -0,0 +1,17 @@
+package com.ghost.moneyflowbackend.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 用户标签字典服务
+ */
+public interface TagDictionaryService {
+    Map<String, Long> resolveIds(Long userId, Collection<String> names);
+
+    Map<Long, String> resolveNames(Long userId, Collection<Long> tagIds);
+
+    Map<Long, String> getNames(Long userId);
+
+    void invalidate(Long userId);
+}
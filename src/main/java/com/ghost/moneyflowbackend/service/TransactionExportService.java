@@ -0,0 +1,22 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.model.dto.TransactionQuery;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * 交易明细导出服务
+ */
+public interface TransactionExportService {
+    void exportCsv(TransactionQuery query, OutputStream outputStream) throws IOException;
+
+    void exportCsv(TransactionQuery query, OutputStream outputStream, LongConsumer progressListener) throws IOException;
+
+    void exportXlsx(TransactionQuery query, OutputStream outputStream) throws IOException;
+
+    void exportXlsx(TransactionQuery query, OutputStream outputStream, LongConsumer progressListener) throws IOException;
+
+    long countRows(TransactionQuery query);
+}
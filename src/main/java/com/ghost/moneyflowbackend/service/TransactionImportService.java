@@ -0,0 +1,11 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.model.vo.TransactionImportResultVO;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 交易文件导入服务
+ */
+public interface TransactionImportService {
+    TransactionImportResultVO importCsv(MultipartFile file, Long defaultAccountId, String charset);
+}
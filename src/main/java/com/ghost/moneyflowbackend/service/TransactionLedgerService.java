@@ -0,0 +1,24 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.entity.BusTransaction;
+
+import java.util.List;
+
+/**
+ * 交易账本派生数据维护服务，交易写入时在同一数据库事务内同步更新汇总数据
+ */
+public interface TransactionLedgerService {
+    void recordCreated(BusTransaction transaction);
+
+    void recordCreated(List<BusTransaction> transactions);
+
+    void recordUpdated(BusTransaction before, BusTransaction after);
+
+    void recordDeleted(BusTransaction transaction);
+
+    List<Long> listLedgerUserIds();
+
+    void rebuildDailySummary(Long userId);
+
+    void rebuildAccountBalances(Long userId);
+}
@@ -4,6 +4,8 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.ghost.moneyflowbackend.common.exception.BusinessException;
 import com.ghost.moneyflowbackend.common.exception.ErrorCode;
 import com.ghost.moneyflowbackend.common.security.JwtService;
+import com.ghost.moneyflowbackend.common.security.SysUserCache;
+import com.ghost.moneyflowbackend.common.security.TokenRevocationStore;
 import com.ghost.moneyflowbackend.common.security.SysUserDetails;
 import com.ghost.moneyflowbackend.entity.SysUser;
 import com.ghost.moneyflowbackend.mapper.SysUserMapper;
@@ -13,8 +15,13 @@ import com.ghost.moneyflowbackend.model.vo.AuthLoginResponse;
 import com.ghost.moneyflowbackend.model.vo.AuthMeResponse;
 import com.ghost.moneyflowbackend.model.vo.AuthUserVO;
 import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
+import com.ghost.moneyflowbackend.model.dto.AuthLogoutRequest;
+import com.ghost.moneyflowbackend.model.dto.AuthRefreshRequest;
+import com.ghost.moneyflowbackend.model.dto.RefreshTokenRotation;
 import com.ghost.moneyflowbackend.service.AuthService;
 import com.ghost.moneyflowbackend.service.DefaultDataInitializer;
+import com.ghost.moneyflowbackend.service.RefreshTokenService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,8 +29,10 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * 登录注册鉴权服务实现
@@ -58,6 +67,21 @@ public class AuthServiceImpl implements AuthService {
      */
     private final DefaultDataInitializer defaultDataInitializer;
 
+    /**
+     * 用户缓存
+     */
+    private final SysUserCache sysUserCache;
+
+    /**
+     * Token 吊销存储
+     */
+    private final TokenRevocationStore tokenRevocationStore;
+
+    /**
+     * 刷新令牌服务
+     */
+    private final RefreshTokenService refreshTokenService;
+
     /**
      * 用户登录
      *
@@ -83,7 +107,7 @@ public class AuthServiceImpl implements AuthService {
         // 签发 JWT 供前端后续请求使用
         String token = jwtService.generateToken(user);
         log.info("登录成功，用户ID: {}", user.getId());
-        return buildLoginResponse(user, token);
+        return buildLoginResponse(user, token, refreshTokenService.issue(user.getId()));
     }
 
     /**
@@ -119,7 +143,28 @@ public class AuthServiceImpl implements AuthService {
         // 注册成功后直接签发 Token，实现注册即登录
         String token = jwtService.generateToken(user);
         log.info("注册成功，用户ID: {}", user.getId());
-        return buildLoginResponse(user, token);
+        return buildLoginResponse(user, token, refreshTokenService.issue(user.getId()));
+    }
+
+    /**
+     * 使用刷新令牌换取新的 Token 与刷新令牌
+     *
+     * @param request 刷新参数
+     * @return 登录结果
+     */
+    @Override
+    public AuthLoginResponse refresh(AuthRefreshRequest request) {
+        // 刷新令牌按摘要一次索引查询即可校验，不再走密码校验
+        RefreshTokenRotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        SysUser user = sysUserCache.getById(rotation.getUserId());
+        if (user == null || (user.getStatus() != null && user.getStatus() == 1)) {
+            // 账号已删除或停用时吊销令牌族，避免继续续期
+            refreshTokenService.revoke(rotation.getUserId(), rotation.getRefreshToken());
+            log.warn("刷新失败，账号不可用，用户ID: {}", rotation.getUserId());
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "账号不可用，请重新登录");
+        }
+        String token = jwtService.generateToken(user);
+        return buildLoginResponse(user, token, rotation.getRefreshToken());
     }
 
     /**
@@ -129,20 +174,34 @@ public class AuthServiceImpl implements AuthService {
      */
     @Override
     public AuthMeResponse currentUser() {
-        // 从安全上下文中获取当前用户信息
+        // 无状态鉴权下安全上下文只有 Token 中的身份信息，昵称、头像等资料需查询用户表
+        SysUser user = sysUserCache.getById(SecurityUtils.getCurrentUserId());
+        if (user == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "用户不存在");
+        }
         AuthMeResponse response = new AuthMeResponse();
-        response.setUser(buildUserVO(SecurityUtils.getCurrentUser()));
+        response.setUser(buildUserVO(user));
         return response;
     }
 
     /**
      * 退出登录
+     *
+     * @param request 退出登录参数（可选）
      */
     @Override
-    public void logout() {
-        // JWT 是无状态的，无需服务端维护会话
-        // 可以在此记录登出日志，用于统计或审计
-        log.info("用户退出登录");
+    public void logout(AuthLogoutRequest request) {
+        // 携带刷新令牌时一并吊销其令牌族，退出后不能再换取新 Token
+        if (request != null && StringUtils.hasText(request.getRefreshToken())) {
+            refreshTokenService.revoke(SecurityUtils.getCurrentUserId(), request.getRefreshToken());
+        }
+        // 吊销当前 Token 直到其过期，其他实例在下一次轮询后生效
+        Claims claims = SecurityUtils.getCurrentTokenClaims();
+        if (claims != null && claims.getId() != null && claims.getExpiration() != null) {
+            LocalDateTime expireTime = LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault());
+            tokenRevocationStore.revoke(claims.getId(), SecurityUtils.getCurrentUserId(), expireTime);
+        }
+        log.info("用户退出登录，用户ID: {}", SecurityUtils.getCurrentUserId());
     }
 
     /**
@@ -188,12 +247,14 @@ public class AuthServiceImpl implements AuthService {
      *
      * @param user  用户实体
      * @param token JWT Token
+     * @param refreshToken 刷新令牌
      * @return 登录响应
      */
-    private AuthLoginResponse buildLoginResponse(SysUser user, String token) {
-        // 组装登录返回结构，包含 Token 与用户信息
+    private AuthLoginResponse buildLoginResponse(SysUser user, String token, String refreshToken) {
+        // 组装登录返回结构，包含 Token、刷新令牌与用户信息
         AuthLoginResponse response = new AuthLoginResponse();
         response.setToken(token);
+        response.setRefreshToken(refreshToken);
         response.setUser(buildUserVO(user));
         return response;
     }
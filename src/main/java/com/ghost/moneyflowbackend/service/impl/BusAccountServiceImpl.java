@@ -4,21 +4,36 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ghost.moneyflowbackend.common.exception.BusinessException;
 import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.model.SyncEntityType;
 import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
 import com.ghost.moneyflowbackend.entity.BusAccount;
 import com.ghost.moneyflowbackend.mapper.BusAccountMapper;
+import com.ghost.moneyflowbackend.mapper.BusDailySummaryMapper;
 import com.ghost.moneyflowbackend.mapper.BusTransactionMapper;
 import com.ghost.moneyflowbackend.model.dto.AccountCreateRequest;
+import com.ghost.moneyflowbackend.model.dto.AccountDailyFlowRow;
 import com.ghost.moneyflowbackend.model.dto.AccountUpdateRequest;
+import com.ghost.moneyflowbackend.model.vo.AccountBalanceHistoryVO;
+import com.ghost.moneyflowbackend.model.vo.AccountBalancePointVO;
 import com.ghost.moneyflowbackend.model.vo.AccountVO;
 import com.ghost.moneyflowbackend.service.BusAccountService;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
+import com.ghost.moneyflowbackend.service.NetWorthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -28,10 +43,22 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class BusAccountServiceImpl extends ServiceImpl<BusAccountMapper, BusAccount> implements BusAccountService {
+    private static final String GRANULARITY_DAY = "day";
+    private static final String GRANULARITY_WEEK = "week";
+    private static final String GRANULARITY_MONTH = "month";
+
+    /**
+     * 余额历史最多返回的时间点数
+     */
+    private static final int MAX_HISTORY_POINTS = 400;
+
     private final BusTransactionMapper busTransactionMapper;
+    private final BusDailySummaryMapper busDailySummaryMapper;
+    private final NetWorthService netWorthService;
+    private final ChangeLogService changeLogService;
 
     /**
-     * 获取当前用户的账户列表，并计算每个账户的实时余额
+     * 获取当前用户的账户列表，余额取自随交易写入维护的当前余额
      *
      * @return 账户列表
      */
@@ -45,9 +72,30 @@ public class BusAccountServiceImpl extends ServiceImpl<BusAccountMapper, BusAcco
         List<BusAccount> accounts = list(wrapper);
         List<AccountVO> result = new ArrayList<>();
         for (BusAccount account : accounts) {
-            AccountVO vo = toAccountVO(account);
-            vo.setCurrentBalance(calculateCurrentBalance(account));
-            result.add(vo);
+            result.add(toAccountVO(account));
+        }
+        return result;
+    }
+
+    /**
+     * 按ID批量获取用户的有效账户，不存在或已删除的账户不出现在结果中
+     *
+     * @param userId 用户ID
+     * @param accountIds 账户ID集合
+     * @return 账户列表，按ID升序
+     */
+    @Override
+    public List<AccountVO> listAccountsByIds(Long userId, Collection<Long> accountIds) {
+        if (accountIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LambdaQueryWrapper<BusAccount> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BusAccount::getUserId, userId)
+                .in(BusAccount::getId, accountIds)
+                .orderByAsc(BusAccount::getId);
+        List<AccountVO> result = new ArrayList<>();
+        for (BusAccount account : list(wrapper)) {
+            result.add(toAccountVO(account));
         }
         return result;
     }
@@ -59,6 +107,7 @@ public class BusAccountServiceImpl extends ServiceImpl<BusAccountMapper, BusAcco
      * @return 创建后的账户信息
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public AccountVO createAccount(AccountCreateRequest request) {
         Long userId = SecurityUtils.getCurrentUserId();
         BusAccount account = new BusAccount();
@@ -67,25 +116,26 @@ public class BusAccountServiceImpl extends ServiceImpl<BusAccountMapper, BusAcco
         account.setType(request.getType());
         account.setIcon(request.getIcon());
         account.setInitialBalance(request.getInitialBalance());
+        account.setCurrentBalance(request.getInitialBalance());
         account.setSortOrder(request.getSortOrder());
         boolean saved = save(account);
         if (!saved || account.getId() == null) {
             log.error("创建账户失败，用户ID: {}", userId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "创建账户失败");
         }
-        AccountVO vo = toAccountVO(account);
-        vo.setCurrentBalance(account.getInitialBalance());
-        return vo;
+        changeLogService.recordChange(userId, SyncEntityType.ACCOUNT, account.getId(), false);
+        return toAccountVO(account);
     }
 
     /**
-     * 更新账户信息
+     * 更新账户信息，初始余额变化时按差额同步调整当前余额
      *
      * @param accountId 账户ID
      * @param request 更新参数
      * @return 更新后的账户信息
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public AccountVO updateAccount(Long accountId, AccountUpdateRequest request) {
         Long userId = SecurityUtils.getCurrentUserId();
         BusAccount account = getAccountById(userId, accountId);
@@ -103,7 +153,10 @@ public class BusAccountServiceImpl extends ServiceImpl<BusAccountMapper, BusAcco
             account.setIcon(request.getIcon());
         }
         if (request.getInitialBalance() != null) {
+            baseMapper.updateInitialBalance(userId, accountId, request.getInitialBalance());
             account.setInitialBalance(request.getInitialBalance());
+            // 初始余额从账户创建当月与首笔流水所在月中较早的一个起计入净资产，改动不频繁，直接失效全部快照
+            netWorthService.invalidateSnapshots(userId, null);
         }
         if (request.getSortOrder() != null) {
             account.setSortOrder(request.getSortOrder());
@@ -113,9 +166,8 @@ public class BusAccountServiceImpl extends ServiceImpl<BusAccountMapper, BusAcco
             log.error("更新账户失败，用户ID: {}, 账户ID: {}", userId, accountId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "更新账户失败");
         }
-        AccountVO vo = toAccountVO(account);
-        vo.setCurrentBalance(calculateCurrentBalance(account));
-        return vo;
+        changeLogService.recordChange(userId, SyncEntityType.ACCOUNT, accountId, false);
+        return toAccountVO(getAccountById(userId, accountId));
     }
 
     /**
@@ -124,6 +176,7 @@ public class BusAccountServiceImpl extends ServiceImpl<BusAccountMapper, BusAcco
      * @param accountId 账户ID
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void deleteAccount(Long accountId) {
         Long userId = SecurityUtils.getCurrentUserId();
         BusAccount account = getAccountById(userId, accountId);
@@ -138,6 +191,78 @@ public class BusAccountServiceImpl extends ServiceImpl<BusAccountMapper, BusAcco
             log.error("删除账户失败，用户ID: {}, 账户ID: {}", userId, accountId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "删除账户失败");
         }
+        // 已关联交易的账户不允许删除，只有初始余额从创建当月起计入过快照
+        netWorthService.invalidateSnapshots(userId,
+                account.getCreateTime() == null ? null : account.getCreateTime().toLocalDate());
+        changeLogService.recordChange(userId, SyncEntityType.ACCOUNT, accountId, true);
+    }
+
+    /**
+     * 获取账户余额历史
+     *
+     * 从日汇总按日期顺序读取账户截至结束日期的每日净流入，以初始余额为起点用分为单位的 long 做前缀和，
+     * 开始日期之前的流水累计为期初余额，之后按粒度分桶输出每期期末余额
+     *
+     * @param accountId 账户ID
+     * @param granularity 粒度 day/week/month（可选，默认 month）
+     * @param startDate 开始日期（可选，默认按粒度取最近 30 天、12 周或 12 个月）
+     * @param endDate 结束日期（可选，默认今天）
+     * @return 余额历史
+     */
+    @Override
+    public AccountBalanceHistoryVO getBalanceHistory(Long accountId, String granularity, LocalDate startDate,
+                                                     LocalDate endDate) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        BusAccount account = getAccountById(userId, accountId);
+        String unit = StringUtils.hasText(granularity) ? granularity : GRANULARITY_MONTH;
+        if (!GRANULARITY_DAY.equals(unit) && !GRANULARITY_WEEK.equals(unit) && !GRANULARITY_MONTH.equals(unit)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "粒度仅支持 day、week 或 month");
+        }
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = alignToPeriodStart(startDate != null ? startDate : defaultHistoryStart(end, unit), unit);
+        if (start.isAfter(end)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "开始日期不能晚于结束日期");
+        }
+        if (countPeriods(start, end, unit) > MAX_HISTORY_POINTS) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "时间范围过大，请缩小范围或使用更大的粒度");
+        }
+
+        List<AccountDailyFlowRow> flows = busDailySummaryMapper.selectAccountDailyFlows(userId, accountId, end);
+        long balance = toCents(account.getInitialBalance());
+        int index = 0;
+        while (index < flows.size() && flows.get(index).getDate().isBefore(start)) {
+            balance += toCents(flows.get(index).getNetAmount());
+            index++;
+        }
+        long openingBalance = balance;
+        List<AccountBalancePointVO> points = new ArrayList<>();
+        for (LocalDate periodStart = start; !periodStart.isAfter(end); periodStart = nextPeriodStart(periodStart, unit)) {
+            LocalDate periodEnd = nextPeriodStart(periodStart, unit).minusDays(1);
+            if (periodEnd.isAfter(end)) {
+                periodEnd = end;
+            }
+            long periodOpening = balance;
+            while (index < flows.size() && !flows.get(index).getDate().isAfter(periodEnd)) {
+                balance += toCents(flows.get(index).getNetAmount());
+                index++;
+            }
+            AccountBalancePointVO point = new AccountBalancePointVO();
+            point.setPeriodStart(periodStart);
+            point.setPeriodEnd(periodEnd);
+            point.setBalance(fromCents(balance));
+            point.setChange(fromCents(balance - periodOpening));
+            points.add(point);
+        }
+
+        AccountBalanceHistoryVO vo = new AccountBalanceHistoryVO();
+        vo.setAccountId(accountId);
+        vo.setGranularity(unit);
+        vo.setStartDate(start);
+        vo.setEndDate(end);
+        vo.setOpeningBalance(fromCents(openingBalance));
+        vo.setClosingBalance(fromCents(balance));
+        vo.setPoints(points);
+        return vo;
     }
 
     /**
@@ -159,30 +284,95 @@ public class BusAccountServiceImpl extends ServiceImpl<BusAccountMapper, BusAcco
     }
 
     /**
-     * 计算账户实时余额
+     * 按粒度计算默认开始日期
      *
-     * @param account 账户实体
-     * @return 实时余额
+     * @param end 结束日期
+     * @param unit 粒度
+     * @return 默认开始日期
      */
-    private BigDecimal calculateCurrentBalance(BusAccount account) {
-        Long userId = account.getUserId();
-        Long accountId = account.getId();
-        BigDecimal income = nullSafe(busTransactionMapper.sumIncome(userId, accountId));
-        BigDecimal expense = nullSafe(busTransactionMapper.sumExpense(userId, accountId));
-        BigDecimal transferOut = nullSafe(busTransactionMapper.sumTransferOut(userId, accountId));
-        BigDecimal transferIn = nullSafe(busTransactionMapper.sumTransferIn(userId, accountId));
-        BigDecimal initial = nullSafe(account.getInitialBalance());
-        return initial.add(income).add(transferIn).subtract(expense).subtract(transferOut);
+    private LocalDate defaultHistoryStart(LocalDate end, String unit) {
+        if (GRANULARITY_DAY.equals(unit)) {
+            return end.minusDays(29);
+        }
+        if (GRANULARITY_WEEK.equals(unit)) {
+            return end.minusWeeks(11);
+        }
+        return end.minusMonths(11);
+    }
+
+    /**
+     * 把日期对齐到所在周期的第一天，周以周一开始
+     *
+     * @param date 日期
+     * @param unit 粒度
+     * @return 周期第一天
+     */
+    private LocalDate alignToPeriodStart(LocalDate date, String unit) {
+        if (GRANULARITY_WEEK.equals(unit)) {
+            return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+        if (GRANULARITY_MONTH.equals(unit)) {
+            return date.withDayOfMonth(1);
+        }
+        return date;
+    }
+
+    /**
+     * 计算下一个周期的第一天
+     *
+     * @param periodStart 当前周期第一天
+     * @param unit 粒度
+     * @return 下一个周期第一天
+     */
+    private LocalDate nextPeriodStart(LocalDate periodStart, String unit) {
+        if (GRANULARITY_WEEK.equals(unit)) {
+            return periodStart.plusWeeks(1);
+        }
+        if (GRANULARITY_MONTH.equals(unit)) {
+            return periodStart.plusMonths(1);
+        }
+        return periodStart.plusDays(1);
+    }
+
+    /**
+     * 计算日期范围包含的周期数
+     *
+     * @param start 对齐后的开始日期
+     * @param end 结束日期
+     * @param unit 粒度
+     * @return 周期数
+     */
+    private long countPeriods(LocalDate start, LocalDate end, String unit) {
+        if (GRANULARITY_WEEK.equals(unit)) {
+            return ChronoUnit.WEEKS.between(start, end) + 1;
+        }
+        if (GRANULARITY_MONTH.equals(unit)) {
+            return ChronoUnit.MONTHS.between(start, end) + 1;
+        }
+        return ChronoUnit.DAYS.between(start, end) + 1;
+    }
+
+    /**
+     * 金额转换为分
+     *
+     * @param amount 金额
+     * @return 以分为单位的整数
+     */
+    private long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
     }
 
     /**
-     * 空值保护，避免金额计算出现空指针
+     * 分转换为金额
      *
-     * @param value 金额
-     * @return 非空金额
+     * @param cents 以分为单位的整数
+     * @return 金额
      */
-    private BigDecimal nullSafe(BigDecimal value) {
-        return value == null ? BigDecimal.ZERO : value;
+    private BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
     }
 
     /**
@@ -198,6 +388,7 @@ public class BusAccountServiceImpl extends ServiceImpl<BusAccountMapper, BusAcco
         vo.setType(account.getType());
         vo.setIcon(account.getIcon());
         vo.setInitialBalance(account.getInitialBalance());
+        vo.setCurrentBalance(account.getCurrentBalance());
         vo.setSortOrder(account.getSortOrder());
         return vo;
     }
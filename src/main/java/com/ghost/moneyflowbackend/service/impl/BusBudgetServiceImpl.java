@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ghost.moneyflowbackend.common.exception.BusinessException;
 import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.model.SyncEntityType;
 import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
 import com.ghost.moneyflowbackend.entity.BusBudget;
 import com.ghost.moneyflowbackend.entity.BusBudgetItem;
@@ -14,6 +15,7 @@ import com.ghost.moneyflowbackend.mapper.BusCategoryMapper;
 import com.ghost.moneyflowbackend.model.dto.BudgetSaveRequest;
 import com.ghost.moneyflowbackend.model.vo.BudgetVO;
 import com.ghost.moneyflowbackend.service.BusBudgetService;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,8 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.YearMonth;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -37,6 +41,7 @@ import java.util.Map;
 public class BusBudgetServiceImpl extends ServiceImpl<BusBudgetMapper, BusBudget> implements BusBudgetService {
     private final BusBudgetItemMapper busBudgetItemMapper;
     private final BusCategoryMapper busCategoryMapper;
+    private final ChangeLogService changeLogService;
 
     /**
      * 获取指定月份预算信息
@@ -59,6 +64,7 @@ public class BusBudgetServiceImpl extends ServiceImpl<BusBudgetMapper, BusBudget
             vo.setCategories(new HashMap<>());
             return vo;
         }
+        vo.setId(budget.getId());
         vo.setTotal(budget.getTotalAmount());
         vo.setCategories(loadBudgetItems(budget.getId()));
         return vo;
@@ -103,13 +109,43 @@ public class BusBudgetServiceImpl extends ServiceImpl<BusBudgetMapper, BusBudget
             }
         }
         upsertBudgetItems(userId, budget.getId(), request.getCategories());
+        changeLogService.recordChange(userId, SyncEntityType.BUDGET, budget.getId(), false);
         BudgetVO vo = new BudgetVO();
+        vo.setId(budget.getId());
         vo.setMonth(month);
         vo.setTotal(budget.getTotalAmount());
         vo.setCategories(loadBudgetItems(budget.getId()));
         return vo;
     }
 
+    /**
+     * 按ID批量获取用户的有效预算
+     *
+     * @param userId 用户ID
+     * @param budgetIds 预算ID集合
+     * @return 预算列表，按月份升序
+     */
+    @Override
+    public List<BudgetVO> listBudgetsByIds(Long userId, Collection<Long> budgetIds) {
+        if (budgetIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LambdaQueryWrapper<BusBudget> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BusBudget::getUserId, userId)
+                .in(BusBudget::getId, budgetIds)
+                .orderByAsc(BusBudget::getMonth);
+        List<BudgetVO> result = new ArrayList<>();
+        for (BusBudget budget : list(wrapper)) {
+            BudgetVO vo = new BudgetVO();
+            vo.setId(budget.getId());
+            vo.setMonth(budget.getMonth());
+            vo.setTotal(budget.getTotalAmount());
+            vo.setCategories(loadBudgetItems(budget.getId()));
+            result.add(vo);
+        }
+        return result;
+    }
+
     /**
      * 获取预算实体对象
      *
@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ghost.moneyflowbackend.common.exception.BusinessException;
 import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.model.SyncEntityType;
 import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
 import com.ghost.moneyflowbackend.entity.BusCategory;
 import com.ghost.moneyflowbackend.mapper.BusCategoryMapper;
@@ -12,13 +13,16 @@ import com.ghost.moneyflowbackend.model.dto.CategoryCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.CategoryUpdateRequest;
 import com.ghost.moneyflowbackend.model.vo.CategoryVO;
 import com.ghost.moneyflowbackend.service.BusCategoryService;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +35,7 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class BusCategoryServiceImpl extends ServiceImpl<BusCategoryMapper, BusCategory> implements BusCategoryService {
     private final BusTransactionMapper busTransactionMapper;
+    private final ChangeLogService changeLogService;
 
     /**
      * 获取分类列表，并构建父子层级结构
@@ -71,6 +76,29 @@ public class BusCategoryServiceImpl extends ServiceImpl<BusCategoryMapper, BusCa
         return roots;
     }
 
+    /**
+     * 按ID批量获取用户可见的有效分类（含系统分类），结果不组装层级
+     *
+     * @param userId 用户ID
+     * @param categoryIds 分类ID集合
+     * @return 分类列表，按ID升序
+     */
+    @Override
+    public List<CategoryVO> listCategoriesByIds(Long userId, Collection<Long> categoryIds) {
+        if (categoryIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LambdaQueryWrapper<BusCategory> wrapper = new LambdaQueryWrapper<>();
+        wrapper.in(BusCategory::getId, categoryIds)
+                .and(query -> query.eq(BusCategory::getUserId, userId).or().isNull(BusCategory::getUserId))
+                .orderByAsc(BusCategory::getId);
+        List<CategoryVO> result = new ArrayList<>();
+        for (BusCategory category : list(wrapper)) {
+            result.add(toCategoryVO(category));
+        }
+        return result;
+    }
+
     /**
      * 创建分类
      *
@@ -78,6 +106,7 @@ public class BusCategoryServiceImpl extends ServiceImpl<BusCategoryMapper, BusCa
      * @return 创建后的分类信息
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public CategoryVO createCategory(CategoryCreateRequest request) {
         Long userId = SecurityUtils.getCurrentUserId();
         if (request.getParentId() != null && request.getParentId() != 0) {
@@ -101,6 +130,7 @@ public class BusCategoryServiceImpl extends ServiceImpl<BusCategoryMapper, BusCa
             log.error("创建分类失败，用户ID: {}", userId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "创建分类失败");
         }
+        changeLogService.recordChange(userId, SyncEntityType.CATEGORY, category.getId(), false);
         return toCategoryVO(category);
     }
 
@@ -112,6 +142,7 @@ public class BusCategoryServiceImpl extends ServiceImpl<BusCategoryMapper, BusCa
      * @return 更新后的分类信息
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public CategoryVO updateCategory(Long categoryId, CategoryUpdateRequest request) {
         Long userId = SecurityUtils.getCurrentUserId();
         BusCategory category = getUserCategory(userId, categoryId);
@@ -151,6 +182,7 @@ public class BusCategoryServiceImpl extends ServiceImpl<BusCategoryMapper, BusCa
             log.error("更新分类失败，用户ID: {}, 分类ID: {}", userId, categoryId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "更新分类失败");
         }
+        changeLogService.recordChange(userId, SyncEntityType.CATEGORY, categoryId, false);
         return toCategoryVO(category);
     }
 
@@ -160,6 +192,7 @@ public class BusCategoryServiceImpl extends ServiceImpl<BusCategoryMapper, BusCa
      * @param categoryId 分类ID
      */
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public void deleteCategory(Long categoryId) {
         Long userId = SecurityUtils.getCurrentUserId();
         BusCategory category = getUserCategory(userId, categoryId);
@@ -178,6 +211,7 @@ public class BusCategoryServiceImpl extends ServiceImpl<BusCategoryMapper, BusCa
             log.error("删除分类失败，用户ID: {}, 分类ID: {}", userId, categoryId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "删除分类失败");
         }
+        changeLogService.recordChange(userId, SyncEntityType.CATEGORY, categoryId, true);
     }
 
     /**
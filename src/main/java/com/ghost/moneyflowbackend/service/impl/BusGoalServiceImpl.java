@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ghost.moneyflowbackend.common.exception.BusinessException;
 import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.model.SyncEntityType;
 import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
 import com.ghost.moneyflowbackend.entity.BusGoal;
 import com.ghost.moneyflowbackend.entity.BusGoalRecord;
@@ -14,6 +15,7 @@ import com.ghost.moneyflowbackend.model.dto.GoalRecordCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.GoalUpdateRequest;
 import com.ghost.moneyflowbackend.model.vo.GoalVO;
 import com.ghost.moneyflowbackend.service.BusGoalService;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,7 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -37,6 +40,7 @@ public class BusGoalServiceImpl extends ServiceImpl<BusGoalMapper, BusGoal> impl
     private static final Set<String> ALLOWED_STATUSES = Set.of("ongoing", "completed", "archived");
 
     private final BusGoalRecordMapper busGoalRecordMapper;
+    private final ChangeLogService changeLogService;
 
     /**
      * 获取当前用户的目标列表
@@ -58,6 +62,29 @@ public class BusGoalServiceImpl extends ServiceImpl<BusGoalMapper, BusGoal> impl
         return result;
     }
 
+    /**
+     * 按ID批量获取用户的有效目标
+     *
+     * @param userId 用户ID
+     * @param goalIds 目标ID集合
+     * @return 目标列表，按ID升序
+     */
+    @Override
+    public List<GoalVO> listGoalsByIds(Long userId, Collection<Long> goalIds) {
+        if (goalIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LambdaQueryWrapper<BusGoal> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BusGoal::getUserId, userId)
+                .in(BusGoal::getId, goalIds)
+                .orderByAsc(BusGoal::getId);
+        List<GoalVO> result = new ArrayList<>();
+        for (BusGoal goal : list(wrapper)) {
+            result.add(toVO(goal));
+        }
+        return result;
+    }
+
     /**
      * 创建储蓄目标
      *
@@ -84,6 +111,7 @@ public class BusGoalServiceImpl extends ServiceImpl<BusGoalMapper, BusGoal> impl
             log.error("创建目标失败，用户ID: {}", userId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "创建目标失败");
         }
+        changeLogService.recordChange(userId, SyncEntityType.GOAL, goal.getId(), false);
         return toVO(goal);
     }
 
@@ -133,6 +161,7 @@ public class BusGoalServiceImpl extends ServiceImpl<BusGoalMapper, BusGoal> impl
             log.error("更新目标失败，用户ID: {}, 目标ID: {}", userId, goalId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "更新目标失败");
         }
+        changeLogService.recordChange(userId, SyncEntityType.GOAL, goalId, false);
         return toVO(goal);
     }
 
@@ -151,6 +180,7 @@ public class BusGoalServiceImpl extends ServiceImpl<BusGoalMapper, BusGoal> impl
             log.error("删除目标失败，用户ID: {}, 目标ID: {}", userId, goalId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "删除目标失败");
         }
+        changeLogService.recordChange(userId, SyncEntityType.GOAL, goalId, true);
     }
 
     /**
@@ -195,6 +225,7 @@ public class BusGoalServiceImpl extends ServiceImpl<BusGoalMapper, BusGoal> impl
             log.error("创建目标记录失败，用户ID: {}, 目标ID: {}", userId, goalId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "创建目标记录失败");
         }
+        changeLogService.recordChange(userId, SyncEntityType.GOAL, goalId, false);
         return toVO(goal);
     }
 
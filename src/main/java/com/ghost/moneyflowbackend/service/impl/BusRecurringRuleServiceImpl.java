@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ghost.moneyflowbackend.common.exception.BusinessException;
 import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.model.SyncEntityType;
 import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
 import com.ghost.moneyflowbackend.entity.BusAccount;
 import com.ghost.moneyflowbackend.entity.BusCategory;
@@ -18,6 +19,8 @@ import com.ghost.moneyflowbackend.model.vo.RecurringRuleVO;
 import com.ghost.moneyflowbackend.model.vo.TransactionVO;
 import com.ghost.moneyflowbackend.service.BusRecurringRuleService;
 import com.ghost.moneyflowbackend.service.BusTransactionService;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
+import com.ghost.moneyflowbackend.service.TransactionLedgerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -27,10 +30,12 @@ import org.springframework.util.StringUtils;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * 周期性规则服务实现类
@@ -50,6 +55,8 @@ public class BusRecurringRuleServiceImpl extends ServiceImpl<BusRecurringRuleMap
     private final BusAccountMapper busAccountMapper;
     private final BusCategoryMapper busCategoryMapper;
     private final BusTransactionService busTransactionService;
+    private final TransactionLedgerService transactionLedgerService;
+    private final ChangeLogService changeLogService;
 
     /**
      * 查询当前用户的所有周期性规则
@@ -71,6 +78,29 @@ public class BusRecurringRuleServiceImpl extends ServiceImpl<BusRecurringRuleMap
         return result;
     }
 
+    /**
+     * 按ID批量获取用户的有效周期性规则
+     *
+     * @param userId 用户ID
+     * @param ruleIds 规则ID集合
+     * @return 规则列表，按ID升序
+     */
+    @Override
+    public List<RecurringRuleVO> listRulesByIds(Long userId, Collection<Long> ruleIds) {
+        if (ruleIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LambdaQueryWrapper<BusRecurringRule> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BusRecurringRule::getUserId, userId)
+                .in(BusRecurringRule::getId, ruleIds)
+                .orderByAsc(BusRecurringRule::getId);
+        List<RecurringRuleVO> result = new ArrayList<>();
+        for (BusRecurringRule rule : list(wrapper)) {
+            result.add(toVO(rule));
+        }
+        return result;
+    }
+
     /**
      * 创建新的周期性规则
      * 
@@ -105,6 +135,7 @@ public class BusRecurringRuleServiceImpl extends ServiceImpl<BusRecurringRuleMap
             log.error("创建周期性规则失败，用户ID: {}", userId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "创建规则失败");
         }
+        changeLogService.recordChange(userId, SyncEntityType.RULE, rule.getId(), false);
         return toVO(rule);
     }
 
@@ -160,6 +191,7 @@ public class BusRecurringRuleServiceImpl extends ServiceImpl<BusRecurringRuleMap
             log.error("更新周期性规则失败，用户ID: {}, 规则ID: {}", userId, ruleId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "更新规则失败");
         }
+        changeLogService.recordChange(userId, SyncEntityType.RULE, ruleId, false);
         return toVO(rule);
     }
 
@@ -179,6 +211,7 @@ public class BusRecurringRuleServiceImpl extends ServiceImpl<BusRecurringRuleMap
             log.error("删除周期性规则失败，用户ID: {}, 规则ID: {}", userId, ruleId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "删除规则失败");
         }
+        changeLogService.recordChange(userId, SyncEntityType.RULE, ruleId, true);
     }
 
     /**
@@ -279,12 +312,20 @@ public class BusRecurringRuleServiceImpl extends ServiceImpl<BusRecurringRuleMap
         if (!saved) {
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "生成周期性交易失败");
         }
+        transactionLedgerService.recordCreated(transactions);
 
         // 6. 批量更新规则执行状态
         boolean updated = updateBatchById(updatedRules, 200);
         if (!updated) {
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "更新周期性规则失败");
         }
+        Map<Long, List<Long>> ruleIdsByUser = new TreeMap<>();
+        for (BusRecurringRule rule : updatedRules) {
+            ruleIdsByUser.computeIfAbsent(rule.getUserId(), key -> new ArrayList<>()).add(rule.getId());
+        }
+        for (Map.Entry<Long, List<Long>> entry : ruleIdsByUser.entrySet()) {
+            changeLogService.recordChanges(entry.getKey(), SyncEntityType.RULE, entry.getValue(), false);
+        }
 
         // 7. 转换并返回 VO 列表
         List<TransactionVO> generatedTransactions = new ArrayList<>(transactions.size());
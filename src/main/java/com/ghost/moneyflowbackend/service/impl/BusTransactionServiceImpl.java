@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.ghost.moneyflowbackend.common.exception.BusinessException;
 import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.utils.CursorUtils;
 import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
 import com.ghost.moneyflowbackend.entity.BusAccount;
 import com.ghost.moneyflowbackend.entity.BusCategory;
@@ -15,10 +16,19 @@ import com.ghost.moneyflowbackend.mapper.BusCategoryMapper;
 import com.ghost.moneyflowbackend.mapper.BusTagMapper;
 import com.ghost.moneyflowbackend.mapper.BusTransactionMapper;
 import com.ghost.moneyflowbackend.mapper.BusTransactionTagMapper;
+import com.ghost.moneyflowbackend.model.dto.TransactionBatchCreateRequest;
 import com.ghost.moneyflowbackend.model.dto.TransactionCreateRequest;
+import com.ghost.moneyflowbackend.model.dto.TransactionQuery;
+import com.ghost.moneyflowbackend.model.dto.TransactionSearchRow;
+import com.ghost.moneyflowbackend.model.dto.TransactionSortRow;
 import com.ghost.moneyflowbackend.model.dto.TransactionUpdateRequest;
+import com.ghost.moneyflowbackend.model.vo.CursorPageVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionBatchItemVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionBatchResultVO;
 import com.ghost.moneyflowbackend.model.vo.TransactionVO;
 import com.ghost.moneyflowbackend.service.BusTransactionService;
+import com.ghost.moneyflowbackend.service.TagDictionaryService;
+import com.ghost.moneyflowbackend.service.TransactionLedgerService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -29,14 +39,19 @@ import org.springframework.util.StringUtils;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -51,72 +66,236 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
     private final BusCategoryMapper busCategoryMapper;
     private final BusTransactionTagMapper busTransactionTagMapper;
     private final BusTagMapper busTagMapper;
+    private final TransactionLedgerService transactionLedgerService;
+    private final TagDictionaryService tagDictionaryService;
+
+    /**
+     * 游标分页默认每页条数
+     */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    /**
+     * 游标分页每页最大条数，避免单次请求拉取过多数据
+     */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 交易标签关联单条插入语句的最大行数
+     */
+    private static final int LINK_INSERT_BATCH_SIZE = 1000;
+
+    /**
+     * 搜索关键词最大长度
+     */
+    private static final int MAX_KEYWORD_LENGTH = 100;
+
+    /**
+     * 全文检索分词长度，与 MySQL ngram_token_size 默认值一致，更短的词无法命中索引
+     */
+    private static final int NGRAM_TOKEN_SIZE = 2;
+
+    /**
+     * 全文检索可翻页的最大结果数，按相关度排在其后的记录不再返回，避免深偏移重复排序全部命中记录
+     */
+    private static final int SEARCH_MAX_RESULTS = 1000;
 
     /**
      * 查询交易列表，支持日期、类型、分类、账户与标签过滤
      *
-     * @param startDate 开始日期
-     * @param endDate 结束日期
-     * @param type 交易类型
-     * @param categoryId 分类ID
-     * @param accountId 账户ID
-     * @param tags 标签列表
+     * @param query 查询条件
      * @return 交易列表
      */
     @Override
-    public List<TransactionVO> listTransactions(LocalDate startDate, LocalDate endDate, String type,
-            Long categoryId, Long accountId, List<String> tags) {
-        Long userId = SecurityUtils.getCurrentUserId();
-        LambdaQueryWrapper<BusTransaction> wrapper = new LambdaQueryWrapper<>();
-        wrapper.eq(BusTransaction::getUserId, userId)
-                .eq(BusTransaction::getDelFlag, 0);
-        if (startDate != null) {
-            wrapper.ge(BusTransaction::getDate, startDate);
-        }
-        if (endDate != null) {
-            wrapper.le(BusTransaction::getDate, endDate);
-        }
-        if (StringUtils.hasText(type) && !"all".equalsIgnoreCase(type)) {
-            wrapper.eq(BusTransaction::getType, type);
-        }
-        if (categoryId != null) {
-            wrapper.eq(BusTransaction::getCategoryId, categoryId);
-        }
-        if (accountId != null) {
-            wrapper.eq(BusTransaction::getAccountId, accountId);
-        }
-        Set<Long> filterTransactionIds = null;
-        if (!CollectionUtils.isEmpty(tags)) {
-            Set<String> tagNames = tags.stream()
-                    .filter(StringUtils::hasText)
-                    .map(String::trim)
-                    .filter(StringUtils::hasText)
-                    .collect(Collectors.toSet());
-            if (tagNames.isEmpty()) {
-                return Collections.emptyList();
+    public List<TransactionVO> listTransactions(TransactionQuery query) {
+        if (!prepareQuery(query)) {
+            return Collections.emptyList();
+        }
+        return toTransactionVOList(query.getUserId(), baseMapper.selectByQuery(query));
+    }
+
+    /**
+     * 按游标分页查询交易列表，排序与列表接口一致（默认日期倒序，排序键相同时按ID同向排列）
+     *
+     * @param query 查询条件
+     * @param cursor 上一页返回的游标，首页为空
+     * @param size 每页条数
+     * @return 分页结果
+     */
+    @Override
+    public CursorPageVO<TransactionVO> pageTransactions(TransactionQuery query, String cursor, Integer size) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        CursorPageVO<TransactionVO> page = new CursorPageVO<>();
+        page.setHasMore(false);
+        if (!prepareQuery(query)) {
+            return page;
+        }
+        if (StringUtils.hasText(cursor)) {
+            String[] parts = CursorUtils.decode(cursor, 2);
+            try {
+                query.setCursorId(Long.parseLong(parts[0]));
+                if (TransactionQuery.SORT_AMOUNT.equals(query.getSort())) {
+                    query.setCursorAmount(new BigDecimal(parts[1]));
+                } else if (TransactionQuery.SORT_CATEGORY.equals(query.getSort())) {
+                    query.setCursorCategoryName(parts[1]);
+                } else {
+                    query.setCursorDate(LocalDate.parse(parts[1]));
+                }
+            } catch (DateTimeParseException | NumberFormatException ex) {
+                throw new BusinessException(ErrorCode.INVALID_PARAM, "分页游标不合法");
+            }
+        }
+        // 键集分页：只取排在游标之后的记录，可直接沿 (user_id, 排序键) 索引定位，翻页成本与页码无关；多取一条用于判断是否还有下一页
+        query.setLimit(pageSize + 1);
+        List<TransactionSortRow> transactions = baseMapper.selectByQuery(query);
+        if (transactions.size() > pageSize) {
+            transactions = new ArrayList<>(transactions.subList(0, pageSize));
+            TransactionSortRow last = transactions.get(transactions.size() - 1);
+            page.setHasMore(true);
+            // 排序键放在最后，分类名称中的分隔符不影响解码
+            page.setNextCursor(CursorUtils.encode(String.valueOf(last.getId()), sortValue(query.getSort(), last)));
+        }
+        page.setRecords(toTransactionVOList(query.getUserId(), transactions));
+        return page;
+    }
+
+    /**
+     * 获取交易在当前排序下的排序键，写入下一页游标
+     *
+     * @param sort 排序字段
+     * @param transaction 交易行
+     * @return 排序键
+     */
+    private String sortValue(String sort, TransactionSortRow transaction) {
+        if (TransactionQuery.SORT_AMOUNT.equals(sort)) {
+            return transaction.getAmount().toPlainString();
+        }
+        if (TransactionQuery.SORT_CATEGORY.equals(sort)) {
+            // 直接取查询中的排序键，与游标比较的值完全一致
+            return transaction.getSortName();
+        }
+        return transaction.getDate().toString();
+    }
+
+    /**
+     * 按备注全文检索交易，可叠加列表过滤条件；在全部命中记录中按相关度、日期、ID倒序排列，游标记录偏移量，
+     * 最多翻到相关度最高的 {@value #SEARCH_MAX_RESULTS} 条
+     *
+     * @param query 查询条件
+     * @param keyword 搜索关键词，空白分隔的多个词需同时命中
+     * @param cursor 上一页返回的游标，首页为空
+     * @param size 每页条数
+     * @return 分页结果
+     */
+    @Override
+    public CursorPageVO<TransactionVO> searchTransactions(TransactionQuery query, String keyword, String cursor,
+                                                          Integer size) {
+        query.setKeyword(buildSearchExpression(keyword));
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        CursorPageVO<TransactionVO> page = new CursorPageVO<>();
+        page.setHasMore(false);
+        if (!prepareQuery(query)) {
+            return page;
+        }
+        int offset = 0;
+        if (StringUtils.hasText(cursor)) {
+            try {
+                offset = Integer.parseInt(CursorUtils.decode(cursor, 1)[0]);
+            } catch (NumberFormatException ex) {
+                throw new BusinessException(ErrorCode.INVALID_PARAM, "分页游标不合法");
             }
-            LambdaQueryWrapper<BusTag> tagWrapper = new LambdaQueryWrapper<>();
-            tagWrapper.eq(BusTag::getUserId, userId)
-                    .eq(BusTag::getDelFlag, 0)
-                    .in(BusTag::getName, tagNames);
-            List<BusTag> tagList = busTagMapper.selectList(tagWrapper);
-            if (tagList.isEmpty()) {
-                return Collections.emptyList();
+            if (offset < 0 || offset >= SEARCH_MAX_RESULTS) {
+                throw new BusinessException(ErrorCode.INVALID_PARAM, "分页游标不合法");
             }
-            Set<Long> tagIds = tagList.stream().map(BusTag::getId).collect(Collectors.toSet());
-            LambdaQueryWrapper<BusTransactionTag> linkWrapper = new LambdaQueryWrapper<>();
-            linkWrapper.in(BusTransactionTag::getTagId, tagIds);
-            List<BusTransactionTag> links = busTransactionTagMapper.selectList(linkWrapper);
-            filterTransactionIds = links.stream().map(BusTransactionTag::getTransactionId).collect(Collectors.toSet());
-            if (filterTransactionIds.isEmpty()) {
-                return Collections.emptyList();
+        }
+        // 最后一页截止在结果上限处，多取一条用于判断是否还有下一页
+        int limit = Math.min(pageSize, SEARCH_MAX_RESULTS - offset);
+        query.setOffset(offset);
+        query.setLimit(limit + 1);
+        List<TransactionSearchRow> rows = baseMapper.searchByQuery(query);
+        if (rows.size() > limit) {
+            rows = new ArrayList<>(rows.subList(0, limit));
+            if (offset + limit < SEARCH_MAX_RESULTS) {
+                page.setHasMore(true);
+                page.setNextCursor(CursorUtils.encode(String.valueOf(offset + limit)));
             }
-            wrapper.in(BusTransaction::getId, filterTransactionIds);
         }
-        wrapper.orderByDesc(BusTransaction::getDate, BusTransaction::getId);
-        List<BusTransaction> transactions = list(wrapper);
-        Map<Long, List<String>> tagMap = buildTagMap(transactions);
-        List<TransactionVO> result = new ArrayList<>();
+        page.setRecords(toTransactionVOList(query.getUserId(), rows));
+        return page;
+    }
+
+    /**
+     * 将搜索关键词转换为全文检索布尔模式表达式
+     *
+     * 去掉布尔模式运算符后按空白拆分，每个词作为短语且必须命中；ngram 分词下短语要求各片段连续出现，
+     * 避免“星巴克”命中只含“巴克”的备注
+     *
+     * @param keyword 搜索关键词
+     * @return 布尔模式表达式
+     * @throws BusinessException 关键词为空、过长或没有可检索的词时抛出
+     */
+    private String buildSearchExpression(String keyword) {
+        if (!StringUtils.hasText(keyword)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "搜索关键词不能为空");
+        }
+        if (keyword.length() > MAX_KEYWORD_LENGTH) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "搜索关键词不能超过" + MAX_KEYWORD_LENGTH + "个字符");
+        }
+        StringBuilder expression = new StringBuilder();
+        for (String word : keyword.replaceAll("[+\\-<>()~*\"@]", " ").trim().split("\\s+")) {
+            if (word.codePointCount(0, word.length()) < NGRAM_TOKEN_SIZE) {
+                continue;
+            }
+            if (expression.length() > 0) {
+                expression.append(' ');
+            }
+            expression.append("+\"").append(word).append('"');
+        }
+        if (expression.length() == 0) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "搜索关键词至少需要" + NGRAM_TOKEN_SIZE + "个字符");
+        }
+        return expression.toString();
+    }
+
+    /**
+     * 按ID批量获取用户的有效交易
+     *
+     * @param userId 用户ID
+     * @param transactionIds 交易ID集合
+     * @return 交易列表，按ID升序
+     */
+    @Override
+    public List<TransactionVO> listTransactionsByIds(Long userId, Collection<Long> transactionIds) {
+        if (transactionIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LambdaQueryWrapper<BusTransaction> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BusTransaction::getUserId, userId)
+                .in(BusTransaction::getId, transactionIds)
+                .orderByAsc(BusTransaction::getId);
+        return toTransactionVOList(userId, list(wrapper));
+    }
+
+    /**
+     * 填充当前用户并规范化过滤条件
+     *
+     * @param query 查询条件
+     * @return 是否可能存在匹配数据，标签全部为空白时返回 false
+     */
+    private boolean prepareQuery(TransactionQuery query) {
+        query.setUserId(SecurityUtils.getCurrentUserId());
+        return query.normalize();
+    }
+
+    /**
+     * 批量转换交易实体为视图对象，并填充标签
+     *
+     * @param userId 用户ID
+     * @param transactions 交易实体列表
+     * @return 交易视图对象列表
+     */
+    private List<TransactionVO> toTransactionVOList(Long userId, List<? extends BusTransaction> transactions) {
+        Map<Long, List<String>> tagMap = buildTagMap(userId, transactions);
+        List<TransactionVO> result = new ArrayList<>(transactions.size());
         for (BusTransaction transaction : transactions) {
             TransactionVO vo = toTransactionVO(transaction);
             vo.setTags(tagMap.getOrDefault(transaction.getId(), Collections.emptyList()));
@@ -135,10 +314,242 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
     @Transactional(rollbackFor = Exception.class)
     public TransactionVO createTransaction(TransactionCreateRequest request) {
         Long userId = SecurityUtils.getCurrentUserId();
+        BusTransaction transaction = buildTransaction(userId, request,
+                busAccountMapper::selectById, busCategoryMapper::selectById);
+        boolean saved = save(transaction);
+        if (!saved || transaction.getId() == null) {
+            log.error("创建交易失败，用户ID: {}", userId);
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "创建交易失败");
+        }
+        transactionLedgerService.recordCreated(transaction);
+        updateTags(userId, transaction.getId(), request.getTags());
+        TransactionVO vo = toTransactionVO(transaction);
+        vo.setTags(loadTagNamesByTransactionId(userId, transaction.getId()));
+        return vo;
+    }
+
+    /**
+     * 批量创建交易记录
+     *
+     * 账户与分类各用一次批量查询校验，标签名称一次查询解析，交易与标签关联以多行插入写入；
+     * 单条交易校验失败只记录在对应结果中，其余交易在同一数据库事务内写入
+     *
+     * @param request 批量创建参数
+     * @return 逐条创建结果
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public TransactionBatchResultVO batchCreateTransactions(TransactionBatchCreateRequest request) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        List<TransactionCreateRequest> items = request.getItems();
+        return createTransactions(userId, items, loadAccounts(items), loadCategories(items));
+    }
+
+    /**
+     * 使用预加载的账户与分类批量创建交易，供批量接口与文件导入复用
+     *
+     * @param userId 用户ID
+     * @param items 交易请求列表
+     * @param accountMap 账户ID到账户实体的映射，需包含请求中引用的账户
+     * @param categoryMap 分类ID到分类实体的映射，需包含请求中引用的分类
+     * @return 逐条创建结果
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public TransactionBatchResultVO createTransactions(Long userId, List<TransactionCreateRequest> items,
+                                                       Map<Long, BusAccount> accountMap,
+                                                       Map<Long, BusCategory> categoryMap) {
+        TransactionBatchResultVO result = new TransactionBatchResultVO();
+        List<BusTransaction> transactions = new ArrayList<>();
+        List<Set<String>> transactionTagNames = new ArrayList<>();
+        List<TransactionBatchItemVO> successItems = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            TransactionBatchItemVO itemVO = new TransactionBatchItemVO();
+            itemVO.setIndex(i);
+            result.getItems().add(itemVO);
+            TransactionCreateRequest item = items.get(i);
+            try {
+                if (item == null) {
+                    throw new BusinessException(ErrorCode.INVALID_PARAM, "交易不能为空");
+                }
+                transactions.add(buildTransaction(userId, item, accountMap::get, categoryMap::get));
+            } catch (BusinessException ex) {
+                itemVO.setSuccess(false);
+                itemVO.setErrorMessage(ex.getMessage());
+                continue;
+            }
+            transactionTagNames.add(normalizeTagNames(item.getTags()));
+            itemVO.setSuccess(true);
+            successItems.add(itemVO);
+        }
+        result.setSuccessCount(successItems.size());
+        result.setFailureCount(items.size() - successItems.size());
+        if (transactions.isEmpty()) {
+            return result;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (BusTransaction transaction : transactions) {
+            // 自定义插入语句不经过自动填充，审计字段在此显式设置
+            transaction.setDelFlag(0);
+            transaction.setCreateBy(userId);
+            transaction.setCreateTime(now);
+            transaction.setUpdateBy(userId);
+            transaction.setUpdateTime(now);
+        }
+        int inserted = baseMapper.insertBatch(transactions);
+        if (inserted != transactions.size()) {
+            log.error("批量创建交易失败，用户ID: {}, 预期: {}, 实际: {}", userId, transactions.size(), inserted);
+            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "批量创建交易失败");
+        }
+        transactionLedgerService.recordCreated(transactions);
+        Set<String> allTagNames = new HashSet<>();
+        transactionTagNames.forEach(allTagNames::addAll);
+        Map<String, Long> tagIdMap = resolveTagIds(userId, allTagNames, now);
+        List<BusTransactionTag> links = new ArrayList<>();
+        for (int i = 0; i < transactions.size(); i++) {
+            BusTransaction transaction = transactions.get(i);
+            if (transaction.getId() == null) {
+                log.error("批量创建交易未返回ID，用户ID: {}", userId);
+                throw new BusinessException(ErrorCode.INTERNAL_ERROR, "批量创建交易失败");
+            }
+            for (String name : transactionTagNames.get(i)) {
+                BusTransactionTag link = new BusTransactionTag();
+                link.setTransactionId(transaction.getId());
+                link.setTagId(tagIdMap.get(name));
+                link.setDelFlag(0);
+                links.add(link);
+            }
+            TransactionVO vo = toTransactionVO(transaction);
+            vo.setTags(new ArrayList<>(transactionTagNames.get(i)));
+            successItems.get(i).setTransaction(vo);
+        }
+        // 单条语句的占位符数量有上限，关联数据按固定大小分批写入
+        for (int from = 0; from < links.size(); from += LINK_INSERT_BATCH_SIZE) {
+            busTransactionTagMapper.insertBatch(links.subList(from, Math.min(from + LINK_INSERT_BATCH_SIZE, links.size())));
+        }
+        return result;
+    }
+
+    /**
+     * 批量加载请求中引用的账户
+     *
+     * @param items 交易请求列表
+     * @return 账户ID到账户实体的映射
+     */
+    private Map<Long, BusAccount> loadAccounts(List<TransactionCreateRequest> items) {
+        Set<Long> accountIds = new HashSet<>();
+        for (TransactionCreateRequest item : items) {
+            if (item == null) {
+                continue;
+            }
+            if (item.getAccountId() != null) {
+                accountIds.add(item.getAccountId());
+            }
+            if (item.getTargetAccountId() != null) {
+                accountIds.add(item.getTargetAccountId());
+            }
+        }
+        if (accountIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return busAccountMapper.selectBatchIds(accountIds).stream()
+                .collect(Collectors.toMap(BusAccount::getId, account -> account));
+    }
+
+    /**
+     * 批量加载请求中引用的分类
+     *
+     * @param items 交易请求列表
+     * @return 分类ID到分类实体的映射
+     */
+    private Map<Long, BusCategory> loadCategories(List<TransactionCreateRequest> items) {
+        Set<Long> categoryIds = items.stream()
+                .filter(item -> item != null && item.getCategoryId() != null)
+                .map(TransactionCreateRequest::getCategoryId)
+                .collect(Collectors.toSet());
+        if (categoryIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return busCategoryMapper.selectBatchIds(categoryIds).stream()
+                .collect(Collectors.toMap(BusCategory::getId, category -> category));
+    }
+
+    /**
+     * 一次查询解析标签名称，缺失的标签以多行插入创建
+     *
+     * @param userId 用户ID
+     * @param tagNames 标签名称集合
+     * @param now 创建时间
+     * @return 标签名称到标签ID的映射
+     */
+    private Map<String, Long> resolveTagIds(Long userId, Set<String> tagNames, LocalDateTime now) {
+        if (tagNames.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<String, Long> tagIdMap = new HashMap<>(tagDictionaryService.resolveIds(userId, tagNames));
+        List<BusTag> newTags = new ArrayList<>();
+        for (String name : tagNames) {
+            if (tagIdMap.containsKey(name)) {
+                continue;
+            }
+            BusTag newTag = new BusTag();
+            newTag.setUserId(userId);
+            newTag.setName(name);
+            newTag.setDelFlag(0);
+            newTag.setCreateBy(userId);
+            newTag.setCreateTime(now);
+            newTags.add(newTag);
+        }
+        if (!newTags.isEmpty()) {
+            busTagMapper.insertBatch(newTags);
+            for (BusTag tag : newTags) {
+                if (tag.getId() == null) {
+                    log.error("批量创建标签未返回ID，用户ID: {}, 标签名: {}", userId, tag.getName());
+                    throw new BusinessException(ErrorCode.INTERNAL_ERROR, "创建标签失败");
+                }
+                tagIdMap.put(tag.getName(), tag.getId());
+            }
+            tagDictionaryService.invalidate(userId);
+        }
+        return tagIdMap;
+    }
+
+    /**
+     * 规范化标签名称，去除空白并按原顺序去重
+     *
+     * @param tags 标签列表
+     * @return 标签名称集合
+     */
+    private Set<String> normalizeTagNames(List<String> tags) {
+        if (CollectionUtils.isEmpty(tags)) {
+            return Collections.emptySet();
+        }
+        return tags.stream()
+                .filter(StringUtils::hasText)
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * 校验创建参数并构建交易实体
+     *
+     * @param userId 用户ID
+     * @param request 创建参数
+     * @param accountLoader 账户加载方式
+     * @param categoryLoader 分类加载方式
+     * @return 待保存的交易实体
+     */
+    private BusTransaction buildTransaction(Long userId, TransactionCreateRequest request,
+                                            Function<Long, BusAccount> accountLoader,
+                                            Function<Long, BusCategory> categoryLoader) {
         validateType(request.getType());
         validateAmount(request.getAmount());
         validateDate(request.getDate());
-        BusAccount account = getAccount(userId, request.getAccountId());
+        if (request.getAccountId() == null) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "主账户ID不能为空");
+        }
+        BusAccount account = checkAccount(userId, accountLoader.apply(request.getAccountId()));
         Long targetAccountId = request.getTargetAccountId();
         String type = request.getType();
         if ("transfer".equals(type)) {
@@ -148,7 +559,7 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
             if (request.getAccountId().equals(targetAccountId)) {
                 throw new BusinessException(ErrorCode.INVALID_PARAM, "转入账户不能与转出账户相同");
             }
-            getAccount(userId, targetAccountId);
+            checkAccount(userId, accountLoader.apply(targetAccountId));
         } else {
             targetAccountId = null;
             if (request.getCategoryId() == null) {
@@ -157,7 +568,7 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
         }
         BusCategory category = null;
         if (!"transfer".equals(type)) {
-            category = getCategory(userId, request.getCategoryId(), type);
+            category = checkCategory(userId, categoryLoader.apply(request.getCategoryId()), type);
         }
         BusTransaction transaction = new BusTransaction();
         transaction.setUserId(userId);
@@ -170,15 +581,7 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
         transaction.setAccountId(account.getId());
         transaction.setTargetAccountId(targetAccountId);
         transaction.setNote(request.getNote());
-        boolean saved = save(transaction);
-        if (!saved || transaction.getId() == null) {
-            log.error("创建交易失败，用户ID: {}", userId);
-            throw new BusinessException(ErrorCode.INTERNAL_ERROR, "创建交易失败");
-        }
-        updateTags(userId, transaction.getId(), request.getTags());
-        TransactionVO vo = toTransactionVO(transaction);
-        vo.setTags(loadTagNamesByTransactionId(transaction.getId()));
-        return vo;
+        return transaction;
     }
 
     /**
@@ -193,6 +596,7 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
     public TransactionVO updateTransaction(Long transactionId, TransactionUpdateRequest request) {
         Long userId = SecurityUtils.getCurrentUserId();
         BusTransaction transaction = getTransaction(userId, transactionId);
+        BusTransaction before = snapshot(transaction);
         if (request.getType() == null && request.getAmount() == null && request.getDate() == null
                 && request.getCategoryId() == null && request.getAccountId() == null
                 && request.getTargetAccountId() == null && request.getNote() == null && request.getTags() == null) {
@@ -241,11 +645,12 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
             log.error("更新交易失败，用户ID: {}, 交易ID: {}", userId, transactionId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "更新交易失败");
         }
+        transactionLedgerService.recordUpdated(before, transaction);
         if (request.getTags() != null) {
             updateTags(userId, transactionId, request.getTags());
         }
         TransactionVO vo = toTransactionVO(transaction);
-        vo.setTags(loadTagNamesByTransactionId(transactionId));
+        vo.setTags(loadTagNamesByTransactionId(userId, transactionId));
         return vo;
     }
 
@@ -264,20 +669,22 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
             log.error("删除交易失败，用户ID: {}, 交易ID: {}", userId, transactionId);
             throw new BusinessException(ErrorCode.INTERNAL_ERROR, "删除交易失败");
         }
+        transactionLedgerService.recordDeleted(transaction);
         LambdaQueryWrapper<BusTransactionTag> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(BusTransactionTag::getTransactionId, transactionId);
         busTransactionTagMapper.delete(wrapper);
     }
 
     /**
-     * 获取交易并进行权限校验
+     * 锁定读取交易并进行权限校验，需在事务内调用
      *
      * @param userId 用户ID
      * @param transactionId 交易ID
      * @return 交易实体
      */
     private BusTransaction getTransaction(Long userId, Long transactionId) {
-        BusTransaction transaction = getById(transactionId);
+        // 加锁读取最新版本：快照读到的旧值会让并发修改按同一旧值重复扣减余额与日汇总
+        BusTransaction transaction = baseMapper.selectByIdForUpdate(transactionId);
         if (transaction == null || transaction.getDelFlag() != null && transaction.getDelFlag() == 1) {
             throw new BusinessException(ErrorCode.INVALID_PARAM, "交易不存在");
         }
@@ -287,6 +694,25 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
         return transaction;
     }
 
+    /**
+     * 复制交易中影响汇总数据的字段，用于计算修改前后的增量
+     *
+     * @param transaction 交易实体
+     * @return 交易快照
+     */
+    private BusTransaction snapshot(BusTransaction transaction) {
+        BusTransaction copy = new BusTransaction();
+        copy.setId(transaction.getId());
+        copy.setUserId(transaction.getUserId());
+        copy.setType(transaction.getType());
+        copy.setAmount(transaction.getAmount());
+        copy.setDate(transaction.getDate());
+        copy.setCategoryId(transaction.getCategoryId());
+        copy.setAccountId(transaction.getAccountId());
+        copy.setTargetAccountId(transaction.getTargetAccountId());
+        return copy;
+    }
+
     /**
      * 校验交易类型
      *
@@ -331,7 +757,17 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
      * @return 账户实体
      */
     private BusAccount getAccount(Long userId, Long accountId) {
-        BusAccount account = busAccountMapper.selectById(accountId);
+        return checkAccount(userId, busAccountMapper.selectById(accountId));
+    }
+
+    /**
+     * 校验账户存在且属于当前用户
+     *
+     * @param userId 用户ID
+     * @param account 账户实体
+     * @return 账户实体
+     */
+    private BusAccount checkAccount(Long userId, BusAccount account) {
         if (account == null || account.getDelFlag() != null && account.getDelFlag() == 1) {
             throw new BusinessException(ErrorCode.INVALID_PARAM, "账户不存在");
         }
@@ -350,7 +786,18 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
      * @return 分类实体
      */
     private BusCategory getCategory(Long userId, Long categoryId, String type) {
-        BusCategory category = busCategoryMapper.selectById(categoryId);
+        return checkCategory(userId, busCategoryMapper.selectById(categoryId), type);
+    }
+
+    /**
+     * 校验分类存在、可用且与交易类型匹配
+     *
+     * @param userId 用户ID
+     * @param category 分类实体
+     * @param type 交易类型
+     * @return 分类实体
+     */
+    private BusCategory checkCategory(Long userId, BusCategory category, String type) {
         if (category == null || category.getDelFlag() != null && category.getDelFlag() == 1) {
             throw new BusinessException(ErrorCode.INVALID_PARAM, "分类不存在");
         }
@@ -364,72 +811,56 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
     }
 
     /**
-     * 更新交易与标签关联关系
+     * 更新交易与标签关联关系，只写入新增与移除的关联
      *
      * @param userId 用户ID
      * @param transactionId 交易ID
      * @param tags 标签列表
      */
     private void updateTags(Long userId, Long transactionId, List<String> tags) {
-        LambdaQueryWrapper<BusTransactionTag> deleteWrapper = new LambdaQueryWrapper<>();
-        deleteWrapper.eq(BusTransactionTag::getTransactionId, transactionId);
-        busTransactionTagMapper.delete(deleteWrapper);
-        if (CollectionUtils.isEmpty(tags)) {
-            return;
-        }
-        Set<String> tagNames = tags.stream()
+        Set<String> tagNames = CollectionUtils.isEmpty(tags) ? Collections.emptySet() : tags.stream()
                 .filter(StringUtils::hasText)
                 .map(String::trim)
                 .filter(StringUtils::hasText)
                 .collect(Collectors.toSet());
-        if (tagNames.isEmpty()) {
-            return;
-        }
-        LambdaQueryWrapper<BusTag> tagWrapper = new LambdaQueryWrapper<>();
-        tagWrapper.eq(BusTag::getUserId, userId)
-                .in(BusTag::getName, tagNames);
-        List<BusTag> existingTags = busTagMapper.selectList(tagWrapper);
-        Map<String, BusTag> existingMap = new HashMap<>();
-        for (BusTag tag : existingTags) {
-            existingMap.put(tag.getName(), tag);
-        }
-        LocalDateTime now = LocalDateTime.now();
-        Set<Long> tagIds = new HashSet<>();
-        for (String name : tagNames) {
-            BusTag tag = existingMap.get(name);
-            if (tag == null) {
-                BusTag newTag = new BusTag();
-                newTag.setUserId(userId);
-                newTag.setName(name);
-                int inserted = busTagMapper.insert(newTag);
-                if (inserted != 1 || newTag.getId() == null) {
-                    log.error("创建标签失败，用户ID: {}, 标签名: {}", userId, name);
-                    throw new BusinessException(ErrorCode.INTERNAL_ERROR, "创建标签失败");
-                }
-                tagIds.add(newTag.getId());
-                continue;
-            }
-            if (tag.getDelFlag() != null && tag.getDelFlag() == 1) {
-                tag.setDelFlag(0);
-                busTagMapper.updateById(tag);
+        Set<Long> targetTagIds = new HashSet<>(resolveTagIds(userId, tagNames, LocalDateTime.now()).values());
+        LambdaQueryWrapper<BusTransactionTag> linkWrapper = new LambdaQueryWrapper<>();
+        linkWrapper.eq(BusTransactionTag::getTransactionId, transactionId);
+        Set<Long> currentTagIds = busTransactionTagMapper.selectList(linkWrapper).stream()
+                .map(BusTransactionTag::getTagId)
+                .collect(Collectors.toSet());
+        // 按标签ID升序写入，与其他编辑请求加行锁的顺序一致
+        Set<Long> removedTagIds = new TreeSet<>(currentTagIds);
+        removedTagIds.removeAll(targetTagIds);
+        Set<Long> addedTagIds = new TreeSet<>(targetTagIds);
+        addedTagIds.removeAll(currentTagIds);
+        if (!removedTagIds.isEmpty()) {
+            LambdaQueryWrapper<BusTransactionTag> deleteWrapper = new LambdaQueryWrapper<>();
+            deleteWrapper.eq(BusTransactionTag::getTransactionId, transactionId)
+                    .in(BusTransactionTag::getTagId, removedTagIds);
+            busTransactionTagMapper.delete(deleteWrapper);
+        }
+        if (!addedTagIds.isEmpty()) {
+            List<BusTransactionTag> links = new ArrayList<>(addedTagIds.size());
+            for (Long tagId : addedTagIds) {
+                BusTransactionTag link = new BusTransactionTag();
+                link.setTransactionId(transactionId);
+                link.setTagId(tagId);
+                link.setDelFlag(0);
+                links.add(link);
             }
-            tagIds.add(tag.getId());
-        }
-        for (Long tagId : tagIds) {
-            BusTransactionTag link = new BusTransactionTag();
-            link.setTransactionId(transactionId);
-            link.setTagId(tagId);
-            busTransactionTagMapper.insert(link);
+            busTransactionTagMapper.insertOrRestoreBatch(links);
         }
     }
 
     /**
      * 构建交易ID到标签名称列表的映射
      *
+     * @param userId 用户ID
      * @param transactions 交易列表
      * @return 标签映射
      */
-    private Map<Long, List<String>> buildTagMap(List<BusTransaction> transactions) {
+    private Map<Long, List<String>> buildTagMap(Long userId, List<? extends BusTransaction> transactions) {
         if (CollectionUtils.isEmpty(transactions)) {
             return Collections.emptyMap();
         }
@@ -441,8 +872,7 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
             return Collections.emptyMap();
         }
         Set<Long> tagIds = links.stream().map(BusTransactionTag::getTagId).collect(Collectors.toSet());
-        List<BusTag> tags = busTagMapper.selectBatchIds(tagIds);
-        Map<Long, String> tagNameMap = tags.stream().collect(Collectors.toMap(BusTag::getId, BusTag::getName));
+        Map<Long, String> tagNameMap = tagDictionaryService.resolveNames(userId, tagIds);
         Map<Long, List<String>> result = new LinkedHashMap<>();
         for (BusTransactionTag link : links) {
             String name = tagNameMap.get(link.getTagId());
@@ -457,10 +887,11 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
     /**
      * 根据交易ID加载标签名称列表
      *
+     * @param userId 用户ID
      * @param transactionId 交易ID
      * @return 标签名称列表
      */
-    private List<String> loadTagNamesByTransactionId(Long transactionId) {
+    private List<String> loadTagNamesByTransactionId(Long userId, Long transactionId) {
         LambdaQueryWrapper<BusTransactionTag> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(BusTransactionTag::getTransactionId, transactionId);
         List<BusTransactionTag> links = busTransactionTagMapper.selectList(wrapper);
@@ -468,8 +899,11 @@ public class BusTransactionServiceImpl extends ServiceImpl<BusTransactionMapper,
             return Collections.emptyList();
         }
         Set<Long> tagIds = links.stream().map(BusTransactionTag::getTagId).collect(Collectors.toSet());
-        List<BusTag> tags = busTagMapper.selectBatchIds(tagIds);
-        return tags.stream().map(BusTag::getName).filter(StringUtils::hasText).collect(Collectors.toList());
+        Map<Long, String> tagNameMap = tagDictionaryService.resolveNames(userId, tagIds);
+        return links.stream()
+                .map(link -> tagNameMap.get(link.getTagId()))
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -0,0 +1,153 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import com.ghost.moneyflowbackend.entity.SysSyncChange;
+import com.ghost.moneyflowbackend.mapper.SysSyncChangeMapper;
+import com.ghost.moneyflowbackend.mapper.SysSyncSequenceMapper;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 用户数据变更记录服务实现
+ *
+ * 每个用户维护一个单调递增的变更序号，写入数据时在同一事务内递增序号并记录数据的最新序号。
+ * 序号行的行锁持有到事务提交，同一用户的写入按序号顺序提交，读取方看到的已提交序号不会出现空洞，
+ * 按序号翻页不会漏掉变更。用户第一次写入或同步时为现有数据补录初始变更
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChangeLogServiceImpl implements ChangeLogService {
+
+    /**
+     * 单条写入语句的最大变更行数
+     */
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    private final SysSyncSequenceMapper sysSyncSequenceMapper;
+    private final SysSyncChangeMapper sysSyncChangeMapper;
+
+    /**
+     * 记录单条数据变更
+     *
+     * @param userId 用户ID
+     * @param entityType 数据类型
+     * @param entityId 数据ID
+     * @param deleted 是否已删除
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void recordChange(Long userId, String entityType, Long entityId, boolean deleted) {
+        recordChanges(userId, entityType, Collections.singletonList(entityId), deleted);
+    }
+
+    /**
+     * 批量记录同一类型的数据变更，需与数据写入处于同一事务
+     *
+     * @param userId 用户ID
+     * @param entityType 数据类型
+     * @param entityIds 数据ID集合
+     * @param deleted 是否已删除
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void recordChanges(Long userId, String entityType, Collection<Long> entityIds, boolean deleted) {
+        Set<Long> ids = new TreeSet<>();
+        for (Long entityId : entityIds) {
+            if (entityId != null) {
+                ids.add(entityId);
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        if (sysSyncSequenceMapper.increment(userId, ids.size()) == 0) {
+            initialize(userId);
+            sysSyncSequenceMapper.increment(userId, ids.size());
+        }
+        // 本事务已更新序号行，读到的是本次递增后的值
+        long seq = Objects.requireNonNull(sysSyncSequenceMapper.selectSeq(userId)) - ids.size();
+        LocalDateTime now = LocalDateTime.now();
+        List<SysSyncChange> changes = new ArrayList<>(ids.size());
+        for (Long entityId : ids) {
+            SysSyncChange change = new SysSyncChange();
+            change.setUserId(userId);
+            change.setEntityType(entityType);
+            change.setEntityId(entityId);
+            change.setSeq(++seq);
+            change.setDeleted(deleted ? 1 : 0);
+            change.setUpdateTime(now);
+            changes.add(change);
+        }
+        for (int from = 0; from < changes.size(); from += UPSERT_BATCH_SIZE) {
+            sysSyncChangeMapper.upsertBatch(changes.subList(from, Math.min(from + UPSERT_BATCH_SIZE, changes.size())));
+        }
+    }
+
+    /**
+     * 确保用户的变更序号已初始化，在调用方事务内补录，插入序号行是幂等的，并发初始化时只有一个事务补录
+     *
+     * @param userId 用户ID
+     * @return 调用前是否已初始化；返回 false 时本事务的一致性读视图可能早于补录，调用方不应在本事务内读取变更
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public boolean ensureInitialized(Long userId) {
+        if (sysSyncSequenceMapper.selectSeq(userId) != null) {
+            return true;
+        }
+        initialize(userId);
+        return false;
+    }
+
+    /**
+     * 锁定用户的变更序号行直到事务提交，需在调用方事务内调用；同一用户的数据写入都会持有该行锁，可借此与写入串行执行
+     *
+     * @param userId 用户ID
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void lockSequence(Long userId) {
+        if (sysSyncSequenceMapper.selectSeqForUpdate(userId) == null) {
+            initialize(userId);
+            sysSyncSequenceMapper.selectSeqForUpdate(userId);
+        }
+    }
+
+    /**
+     * 获取用户当前的数据版本，即最新的变更序号；尚未初始化时为 0
+     *
+     * @param userId 用户ID
+     * @return 数据版本
+     */
+    @Override
+    public long getVersion(Long userId) {
+        Long seq = sysSyncSequenceMapper.selectSeq(userId);
+        return seq == null ? 0L : seq;
+    }
+
+    /**
+     * 创建序号行并补录现有数据的初始变更；并发初始化时只有插入序号行成功的事务执行补录
+     *
+     * @param userId 用户ID
+     */
+    private void initialize(Long userId) {
+        if (sysSyncSequenceMapper.insertIgnore(userId) == 0) {
+            return;
+        }
+        int rows = sysSyncChangeMapper.insertInitialChanges(userId, LocalDateTime.now());
+        sysSyncSequenceMapper.updateSeq(userId, rows);
+        log.info("数据变更序号初始化完成，用户ID: {}, 初始变更数: {}", userId, rows);
+    }
+}
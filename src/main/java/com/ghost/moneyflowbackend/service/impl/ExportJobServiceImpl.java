@@ -0,0 +1,389 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import com.ghost.moneyflowbackend.common.config.ExportProperties;
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
+import com.ghost.moneyflowbackend.model.dto.ExportJobCreateRequest;
+import com.ghost.moneyflowbackend.model.dto.TransactionQuery;
+import com.ghost.moneyflowbackend.model.vo.ExportJobVO;
+import com.ghost.moneyflowbackend.service.ExportJobService;
+import com.ghost.moneyflowbackend.service.TransactionExportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 异步导出任务服务实现
+ *
+ * 导出任务在独立的有界线程池中执行，任务状态保存在内存中，结果文件写入本地目录并在过期后清理。
+ * 服务重启后未完成的任务会丢失，残留文件由定时清理按修改时间删除
+ */
+@Slf4j
+@Service
+public class ExportJobServiceImpl implements ExportJobService {
+
+    private static final String STATUS_PENDING = "pending";
+    private static final String STATUS_RUNNING = "running";
+    private static final String STATUS_SUCCESS = "success";
+    private static final String STATUS_FAILED = "failed";
+
+    private static final String FORMAT_CSV = "csv";
+    private static final String FORMAT_XLSX = "xlsx";
+
+    /**
+     * 写入中的临时文件后缀
+     */
+    private static final String PART_SUFFIX = ".part";
+
+    private final TransactionExportService transactionExportService;
+    private final ThreadPoolTaskExecutor exportJobExecutor;
+    private final ExportProperties exportProperties;
+
+    /**
+     * 导出任务表，键为任务ID
+     */
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * 构造方法
+     *
+     * @param transactionExportService 交易导出服务
+     * @param exportJobExecutor 导出任务线程池
+     * @param exportProperties 导出配置
+     */
+    public ExportJobServiceImpl(TransactionExportService transactionExportService,
+                                @Qualifier("exportJobExecutor") ThreadPoolTaskExecutor exportJobExecutor,
+                                ExportProperties exportProperties) {
+        this.transactionExportService = transactionExportService;
+        this.exportJobExecutor = exportJobExecutor;
+        this.exportProperties = exportProperties;
+    }
+
+    /**
+     * 创建导出任务并提交到导出线程池
+     *
+     * @param request 导出请求
+     * @return 导出任务信息
+     */
+    @Override
+    public ExportJobVO createJob(ExportJobCreateRequest request) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        String format = normalizeFormat(request.getFormat());
+        TransactionQuery query = buildQuery(userId, request);
+        // 提前校验查询参数，避免非法参数进入线程池后才失败
+        query.normalize();
+        ExportJob job = new ExportJob(UUID.randomUUID().toString().replace("-", ""), userId, format, query);
+        // 同一用户的计数与登记需要原子完成，避免并发请求突破上限
+        synchronized (this) {
+            long activeCount = jobs.values().stream()
+                    .filter(item -> item.userId.equals(userId) && item.isActive())
+                    .count();
+            if (activeCount >= exportProperties.getMaxActivePerUser()) {
+                throw new BusinessException(ErrorCode.CONFLICT, "进行中的导出任务过多，请稍后再试");
+            }
+            jobs.put(job.jobId, job);
+        }
+        try {
+            exportJobExecutor.execute(() -> runJob(job));
+        } catch (TaskRejectedException ex) {
+            jobs.remove(job.jobId);
+            throw new BusinessException(ErrorCode.CONFLICT, "导出任务繁忙，请稍后再试");
+        }
+        return toExportJobVO(job);
+    }
+
+    /**
+     * 查询导出任务状态
+     *
+     * @param jobId 任务ID
+     * @return 导出任务信息
+     */
+    @Override
+    public ExportJobVO getJob(String jobId) {
+        return toExportJobVO(getOwnedJob(jobId));
+    }
+
+    /**
+     * 获取已完成任务的结果文件
+     *
+     * @param jobId 任务ID
+     * @return 结果文件路径
+     */
+    @Override
+    public Path getResultFile(String jobId) {
+        ExportJob job = getOwnedJob(jobId);
+        if (!STATUS_SUCCESS.equals(job.status)) {
+            throw new BusinessException(ErrorCode.CONFLICT, "导出任务尚未完成");
+        }
+        if (job.resultFile == null || !Files.isRegularFile(job.resultFile)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "导出文件已过期");
+        }
+        return job.resultFile;
+    }
+
+    /**
+     * 清理过期的导出任务与结果文件
+     *
+     * @return 清理的任务数量
+     */
+    @Override
+    public int cleanupExpiredJobs() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = 0;
+        Iterator<ExportJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            ExportJob job = iterator.next();
+            if (job.isActive() || job.expireTime == null || job.expireTime.isAfter(now)) {
+                continue;
+            }
+            iterator.remove();
+            deleteQuietly(job.resultFile);
+            removed++;
+        }
+        removed += cleanupOrphanFiles();
+        return removed;
+    }
+
+    /**
+     * 执行导出任务
+     *
+     * @param job 导出任务
+     */
+    private void runJob(ExportJob job) {
+        job.status = STATUS_RUNNING;
+        Path partFile = null;
+        try {
+            Path directory = resolveDirectory();
+            job.totalRows = transactionExportService.countRows(job.query);
+            partFile = directory.resolve(job.jobId + PART_SUFFIX);
+            try (OutputStream outputStream = Files.newOutputStream(partFile)) {
+                if (FORMAT_XLSX.equals(job.format)) {
+                    transactionExportService.exportXlsx(job.query, outputStream, job.processedRows::set);
+                } else {
+                    transactionExportService.exportCsv(job.query, outputStream, job.processedRows::set);
+                }
+            }
+            Path resultFile = directory.resolve(job.jobId + "." + job.format);
+            Files.move(partFile, resultFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.resultFile = resultFile;
+            job.status = STATUS_SUCCESS;
+        } catch (Exception ex) {
+            log.error("导出任务执行失败，任务ID: {}, 用户ID: {}", job.jobId, job.userId, ex);
+            deleteQuietly(partFile);
+            job.errorMessage = ex instanceof BusinessException ? ex.getMessage() : "导出失败，请稍后重试";
+            job.status = STATUS_FAILED;
+        } finally {
+            job.finishTime = LocalDateTime.now();
+            job.expireTime = job.finishTime.plusMinutes(exportProperties.getResultTtlMinutes());
+        }
+    }
+
+    /**
+     * 获取当前用户的导出任务
+     *
+     * @param jobId 任务ID
+     * @return 导出任务
+     */
+    private ExportJob getOwnedJob(String jobId) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        ExportJob job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "导出任务不存在");
+        }
+        return job;
+    }
+
+    /**
+     * 规范化导出格式
+     *
+     * @param format 导出格式
+     * @return 规范化后的导出格式
+     */
+    private String normalizeFormat(String format) {
+        String value = format == null ? "" : format.trim().toLowerCase(Locale.ROOT);
+        if (!FORMAT_CSV.equals(value) && !FORMAT_XLSX.equals(value)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "导出格式仅支持 csv 或 xlsx");
+        }
+        return value;
+    }
+
+    /**
+     * 构建导出查询条件，用户ID在请求线程内确定
+     *
+     * @param userId 用户ID
+     * @param request 导出请求
+     * @return 查询条件
+     */
+    private TransactionQuery buildQuery(Long userId, ExportJobCreateRequest request) {
+        TransactionQuery query = new TransactionQuery();
+        query.setUserId(userId);
+        query.setStartDate(request.getStartDate());
+        query.setEndDate(request.getEndDate());
+        query.setType(request.getType());
+        query.setCategoryId(request.getCategoryId());
+        query.setAccountId(request.getAccountId());
+        query.setTags(request.getTags());
+        query.setTagMatch(request.getTagMatch());
+        return query;
+    }
+
+    /**
+     * 获取并创建导出目录
+     *
+     * @return 导出目录
+     * @throws IOException 创建失败时抛出
+     */
+    private Path resolveDirectory() throws IOException {
+        Path directory = Paths.get(exportProperties.getDirectory());
+        Files.createDirectories(directory);
+        return directory;
+    }
+
+    /**
+     * 清理不属于任何任务且已过期的文件，例如服务重启前遗留的结果文件
+     *
+     * @return 清理的文件数量
+     */
+    private int cleanupOrphanFiles() {
+        Path directory = Paths.get(exportProperties.getDirectory());
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+        Instant threshold = LocalDateTime.now()
+                .minusMinutes(exportProperties.getResultTtlMinutes())
+                .atZone(ZoneId.systemDefault())
+                .toInstant();
+        int removed = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                int dotIndex = fileName.indexOf('.');
+                String jobId = dotIndex < 0 ? fileName : fileName.substring(0, dotIndex);
+                if (jobs.containsKey(jobId)) {
+                    continue;
+                }
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(threshold)) {
+                    deleteQuietly(file);
+                    removed++;
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("导出目录清理失败: {}", ex.getMessage());
+        }
+        return removed;
+    }
+
+    /**
+     * 删除文件，失败时仅记录日志
+     *
+     * @param file 文件路径
+     */
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("导出文件删除失败: {}, 原因: {}", file, ex.getMessage());
+        }
+    }
+
+    /**
+     * 转换导出任务视图对象
+     *
+     * @param job 导出任务
+     * @return 导出任务视图对象
+     */
+    private ExportJobVO toExportJobVO(ExportJob job) {
+        ExportJobVO vo = new ExportJobVO();
+        vo.setJobId(job.jobId);
+        vo.setFormat(job.format);
+        vo.setStatus(job.status);
+        long processed = job.processedRows.get();
+        vo.setProcessedRows(processed);
+        vo.setTotalRows(job.totalRows);
+        vo.setProgress(calculateProgress(job, processed));
+        if (STATUS_SUCCESS.equals(job.status)) {
+            vo.setFileName("transactions-" + job.jobId + "." + job.format);
+        }
+        vo.setErrorMessage(job.errorMessage);
+        vo.setCreateTime(job.createTime);
+        vo.setFinishTime(job.finishTime);
+        vo.setExpireTime(job.expireTime);
+        return vo;
+    }
+
+    /**
+     * 计算导出进度百分比
+     *
+     * @param job 导出任务
+     * @param processed 已处理行数
+     * @return 进度百分比
+     */
+    private int calculateProgress(ExportJob job, long processed) {
+        if (STATUS_SUCCESS.equals(job.status)) {
+            return 100;
+        }
+        Long total = job.totalRows;
+        if (total == null || total <= 0) {
+            return 0;
+        }
+        // 统计与导出之间可能有新数据写入，运行中最多显示 99%
+        return (int) Math.min(99, processed * 100 / total);
+    }
+
+    /**
+     * 导出任务运行状态
+     */
+    private static final class ExportJob {
+        private final String jobId;
+        private final Long userId;
+        private final String format;
+        private final TransactionQuery query;
+        private final LocalDateTime createTime = LocalDateTime.now();
+        private final AtomicLong processedRows = new AtomicLong();
+        private volatile String status = STATUS_PENDING;
+        private volatile Long totalRows;
+        private volatile Path resultFile;
+        private volatile String errorMessage;
+        private volatile LocalDateTime finishTime;
+        private volatile LocalDateTime expireTime;
+
+        private ExportJob(String jobId, Long userId, String format, TransactionQuery query) {
+            this.jobId = jobId;
+            this.userId = userId;
+            this.format = format;
+            this.query = query;
+        }
+
+        /**
+         * 是否为进行中的任务
+         *
+         * @return 是否进行中
+         */
+        private boolean isActive() {
+            return STATUS_PENDING.equals(status) || STATUS_RUNNING.equals(status);
+        }
+    }
+}
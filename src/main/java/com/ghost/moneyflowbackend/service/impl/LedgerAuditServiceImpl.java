@@ -0,0 +1,516 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ghost.moneyflowbackend.common.config.LedgerAuditProperties;
+import com.ghost.moneyflowbackend.entity.SysLedgerAuditCheckpoint;
+import com.ghost.moneyflowbackend.entity.SysLedgerAuditFinding;
+import com.ghost.moneyflowbackend.entity.SysLedgerAuditRun;
+import com.ghost.moneyflowbackend.mapper.SysLedgerAuditCheckpointMapper;
+import com.ghost.moneyflowbackend.mapper.SysLedgerAuditFindingMapper;
+import com.ghost.moneyflowbackend.mapper.SysLedgerAuditRunMapper;
+import com.ghost.moneyflowbackend.model.vo.LedgerAuditRunVO;
+import com.ghost.moneyflowbackend.service.LedgerAuditService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 账本一致性巡检服务实现
+ *
+ * 按用户ID区间把全部用户切分为分区，固定数量的工作线程依次领取分区，每个分区执行几条按用户范围扫描的分组查询。
+ * 分区的问题与检查点在同一事务内写入，进程中断后重新触发时跳过已有检查点的分区继续扫描；
+ * 每个分区扫描后按耗时比例休眠，限制巡检对在线请求的数据库压力。同一进程内同时只执行一个批次；
+ * 多实例部署时由数据库租约保证同一时刻只有一个实例执行，租约在每个分区开始前续约，失去租约的实例停止扫描且不改写批次状态，
+ * 由接管的实例从检查点继续
+ */
+@Slf4j
+@Service
+public class LedgerAuditServiceImpl implements LedgerAuditService {
+
+    private static final String STATUS_RUNNING = "running";
+    private static final String STATUS_COMPLETED = "completed";
+    private static final String STATUS_FAILED = "failed";
+
+    private static final String CHECK_TRANSACTION_ACCOUNT = "transaction_account";
+    private static final String CHECK_TRANSACTION_CATEGORY = "transaction_category";
+    private static final String CHECK_TRANSFER_TARGET = "transfer_target";
+    private static final String CHECK_TAG_LINK = "tag_link";
+    private static final String CHECK_ACCOUNT_BALANCE = "account_balance";
+
+    /**
+     * 单条插入语句的最大问题行数
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    /**
+     * 失败原因最大长度，与表字段一致
+     */
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final SysLedgerAuditRunMapper sysLedgerAuditRunMapper;
+    private final SysLedgerAuditCheckpointMapper sysLedgerAuditCheckpointMapper;
+    private final SysLedgerAuditFindingMapper sysLedgerAuditFindingMapper;
+    private final ThreadPoolTaskExecutor ledgerAuditExecutor;
+    private final LedgerAuditProperties ledgerAuditProperties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 单个分区扫描耗时
+     */
+    private final Timer partitionTimer;
+
+    /**
+     * 最近一个结束批次的问题数
+     */
+    private final AtomicInteger lastFindingCount = new AtomicInteger();
+
+    /**
+     * 当前进程是否有批次在执行
+     */
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    /**
+     * 当前执行中的批次ID
+     */
+    private volatile Long activeRunId;
+
+    /**
+     * 本实例的租约持有者标识
+     */
+    private final String leaseOwner = UUID.randomUUID().toString();
+
+    /**
+     * 构造方法
+     *
+     * @param sysLedgerAuditRunMapper 巡检批次数据访问层
+     * @param sysLedgerAuditCheckpointMapper 巡检检查点数据访问层
+     * @param sysLedgerAuditFindingMapper 巡检问题数据访问层
+     * @param ledgerAuditExecutor 巡检线程池
+     * @param ledgerAuditProperties 巡检配置
+     * @param transactionTemplate 事务模板
+     * @param meterRegistry 指标注册表
+     */
+    public LedgerAuditServiceImpl(SysLedgerAuditRunMapper sysLedgerAuditRunMapper,
+                                  SysLedgerAuditCheckpointMapper sysLedgerAuditCheckpointMapper,
+                                  SysLedgerAuditFindingMapper sysLedgerAuditFindingMapper,
+                                  @Qualifier("ledgerAuditExecutor") ThreadPoolTaskExecutor ledgerAuditExecutor,
+                                  LedgerAuditProperties ledgerAuditProperties,
+                                  TransactionTemplate transactionTemplate,
+                                  MeterRegistry meterRegistry) {
+        this.sysLedgerAuditRunMapper = sysLedgerAuditRunMapper;
+        this.sysLedgerAuditCheckpointMapper = sysLedgerAuditCheckpointMapper;
+        this.sysLedgerAuditFindingMapper = sysLedgerAuditFindingMapper;
+        this.ledgerAuditExecutor = ledgerAuditExecutor;
+        this.ledgerAuditProperties = ledgerAuditProperties;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.partitionTimer = Timer.builder("ledger.audit.partition")
+                .description("账本巡检单个分区扫描耗时")
+                .register(meterRegistry);
+        Gauge.builder("ledger.audit.last.findings", lastFindingCount, AtomicInteger::get)
+                .description("最近一个结束批次的问题数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 启动巡检，存在中断的批次时从检查点继续，已有批次在执行时直接返回该批次
+     *
+     * @param triggerType 触发方式
+     * @return 批次信息
+     */
+    @Override
+    public LedgerAuditRunVO startAudit(String triggerType) {
+        if (!running.compareAndSet(false, true)) {
+            Long runId = activeRunId;
+            log.info("账本巡检正在执行，忽略本次触发，批次ID: {}", runId);
+            return runId == null ? getLatestRun() : toVO(sysLedgerAuditRunMapper.selectById(runId));
+        }
+        if (!acquireLease()) {
+            running.set(false);
+            log.info("其他实例正在执行账本巡检，忽略本次触发");
+            return getLatestRun();
+        }
+        try {
+            SysLedgerAuditRun run = findInterruptedRun();
+            if (run == null) {
+                run = createRun(triggerType);
+                log.info("开始账本巡检，批次ID: {}, 最大用户ID: {}, 分区数: {}", run.getId(), run.getMaxUserId(),
+                        run.getTotalPartitions());
+            } else {
+                log.info("继续中断的账本巡检，批次ID: {}, 已完成分区: {}/{}", run.getId(), run.getFinishedPartitions(),
+                        run.getTotalPartitions());
+            }
+            launch(run);
+            return toVO(run);
+        } catch (RuntimeException exception) {
+            activeRunId = null;
+            releaseLeaseQuietly();
+            running.set(false);
+            throw exception;
+        }
+    }
+
+    /**
+     * 继续上次进程中断时未完成的批次
+     *
+     * @return 批次信息，没有中断的批次时返回 null
+     */
+    @Override
+    public LedgerAuditRunVO resumeInterruptedAudit() {
+        SysLedgerAuditRun run = findInterruptedRun();
+        if (run == null) {
+            return null;
+        }
+        return startAudit(run.getTriggerType());
+    }
+
+    /**
+     * 查询最近一个批次
+     *
+     * @return 批次信息，从未执行过时返回 null
+     */
+    @Override
+    public LedgerAuditRunVO getLatestRun() {
+        LambdaQueryWrapper<SysLedgerAuditRun> wrapper = new LambdaQueryWrapper<>();
+        wrapper.orderByDesc(SysLedgerAuditRun::getId)
+                .last("LIMIT 1");
+        SysLedgerAuditRun run = sysLedgerAuditRunMapper.selectOne(wrapper);
+        return run == null ? null : toVO(run);
+    }
+
+    /**
+     * 获取巡检租约，租约空闲、已过期或本实例已持有时成功
+     *
+     * @return 是否获取成功
+     */
+    private boolean acquireLease() {
+        sysLedgerAuditRunMapper.insertLeaseIfAbsent();
+        return sysLedgerAuditRunMapper.acquireLease(leaseOwner, ledgerAuditProperties.getLeaseSeconds()) == 1;
+    }
+
+    /**
+     * 查询状态仍为执行中的最近批次
+     *
+     * @return 批次实体
+     */
+    private SysLedgerAuditRun findInterruptedRun() {
+        LambdaQueryWrapper<SysLedgerAuditRun> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(SysLedgerAuditRun::getStatus, STATUS_RUNNING)
+                .orderByDesc(SysLedgerAuditRun::getId)
+                .last("LIMIT 1");
+        return sysLedgerAuditRunMapper.selectOne(wrapper);
+    }
+
+    /**
+     * 创建新批次，以当前最大用户ID为上界切分分区，并清理过期批次
+     *
+     * @param triggerType 触发方式
+     * @return 批次实体
+     */
+    private SysLedgerAuditRun createRun(String triggerType) {
+        LocalDateTime now = LocalDateTime.now();
+        purgeExpiredRuns(now.minusDays(ledgerAuditProperties.getRetentionDays()));
+        long maxUserId = sysLedgerAuditRunMapper.selectMaxUserId();
+        int partitionSize = ledgerAuditProperties.getPartitionSize();
+        SysLedgerAuditRun run = new SysLedgerAuditRun();
+        run.setTriggerType(triggerType);
+        run.setStatus(STATUS_RUNNING);
+        run.setMaxUserId(maxUserId);
+        run.setPartitionSize(partitionSize);
+        run.setTotalPartitions(Math.toIntExact(maxUserId / partitionSize + 1));
+        run.setFinishedPartitions(0);
+        run.setFindingCount(0);
+        run.setStartTime(now);
+        sysLedgerAuditRunMapper.insert(run);
+        return run;
+    }
+
+    /**
+     * 清理早于保留期开始的批次及其问题与检查点；问题与检查点按批次开始时间关联删除，需先于批次删除
+     *
+     * @param before 时间界限
+     */
+    private void purgeExpiredRuns(LocalDateTime before) {
+        int findings = sysLedgerAuditFindingMapper.deleteByRunStartedBefore(before);
+        int checkpoints = sysLedgerAuditCheckpointMapper.deleteByRunStartedBefore(before);
+        int runs = sysLedgerAuditRunMapper.deleteStartedBefore(before);
+        if (runs > 0 || findings > 0 || checkpoints > 0) {
+            log.info("清理过期账本巡检批次{}个，问题{}条，检查点{}条", runs, findings, checkpoints);
+        }
+    }
+
+    /**
+     * 向巡检线程池提交工作线程，每个工作线程循环领取下一个未完成的分区
+     *
+     * @param run 批次实体
+     */
+    private void launch(SysLedgerAuditRun run) {
+        activeRunId = run.getId();
+        Set<Long> finishedStarts = new HashSet<>(sysLedgerAuditCheckpointMapper.selectFinishedStarts(run.getId()));
+        int workers = ledgerAuditProperties.getParallelism();
+        AuditExecution execution = new AuditExecution(run, finishedStarts, workers);
+        for (int i = 0; i < workers; i++) {
+            try {
+                ledgerAuditExecutor.execute(() -> runWorker(execution));
+            } catch (RejectedExecutionException exception) {
+                // 未启动的工作线程不会自行退出，需从计数中扣除，否则批次永远无法结束
+                log.error("账本巡检工作线程提交失败，批次ID: {}, 已提交: {}/{}", run.getId(), i, workers, exception);
+                execution.failure.compareAndSet(null, exception);
+                if (execution.activeWorkers.addAndGet(i - workers) == 0) {
+                    finishRun(execution);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 工作线程主循环，任一分区失败后其余线程在当前分区结束后停止
+     *
+     * @param execution 批次执行状态
+     */
+    private void runWorker(AuditExecution execution) {
+        SysLedgerAuditRun run = execution.run;
+        try {
+            int index;
+            while (execution.failure.get() == null && !execution.leaseLost
+                    && (index = execution.nextPartition.getAndIncrement()) < run.getTotalPartitions()) {
+                long startUserId = (long) index * run.getPartitionSize();
+                if (execution.finishedStarts.contains(startUserId)) {
+                    continue;
+                }
+                if (sysLedgerAuditRunMapper.renewLease(leaseOwner, ledgerAuditProperties.getLeaseSeconds()) != 1) {
+                    execution.leaseLost = true;
+                    break;
+                }
+                long elapsedMillis = auditPartition(run.getId(), startUserId, startUserId + run.getPartitionSize());
+                pause(elapsedMillis);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            execution.failure.compareAndSet(null, exception);
+        } catch (Exception exception) {
+            log.error("账本巡检分区执行失败，批次ID: {}", run.getId(), exception);
+            execution.failure.compareAndSet(null, exception);
+        } finally {
+            if (execution.activeWorkers.decrementAndGet() == 0) {
+                finishRun(execution);
+            }
+        }
+    }
+
+    /**
+     * 扫描单个分区，问题、检查点与批次进度在同一事务内写入；检查点已存在时说明分区已由其他实例完成，不再重复写入
+     *
+     * @param runId 批次ID
+     * @param startUserId 起始用户ID(含)
+     * @param endUserId 结束用户ID(不含)
+     * @return 扫描耗时（毫秒）
+     */
+    private long auditPartition(Long runId, long startUserId, long endUserId) {
+        long begin = System.nanoTime();
+        int limit = ledgerAuditProperties.getMaxFindingsPerCheck();
+        List<SysLedgerAuditFinding> findings = new ArrayList<>();
+        collect(findings, CHECK_TRANSACTION_ACCOUNT,
+                sysLedgerAuditFindingMapper.selectInvalidAccountTransactions(startUserId, endUserId, limit));
+        collect(findings, CHECK_TRANSACTION_CATEGORY,
+                sysLedgerAuditFindingMapper.selectInvalidCategoryTransactions(startUserId, endUserId, limit));
+        collect(findings, CHECK_TRANSFER_TARGET,
+                sysLedgerAuditFindingMapper.selectInvalidTransferTargets(startUserId, endUserId, limit));
+        collect(findings, CHECK_TAG_LINK,
+                sysLedgerAuditFindingMapper.selectInvalidTagLinks(startUserId, endUserId, limit));
+        collect(findings, CHECK_ACCOUNT_BALANCE,
+                sysLedgerAuditFindingMapper.selectBalanceDrifts(startUserId, endUserId, limit));
+        long elapsedNanos = System.nanoTime() - begin;
+        partitionTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (SysLedgerAuditFinding finding : findings) {
+            finding.setRunId(runId);
+            finding.setCreateTime(now);
+        }
+        SysLedgerAuditCheckpoint checkpoint = new SysLedgerAuditCheckpoint();
+        checkpoint.setRunId(runId);
+        checkpoint.setStartUserId(startUserId);
+        checkpoint.setEndUserId(endUserId);
+        checkpoint.setFindingCount(findings.size());
+        checkpoint.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        checkpoint.setFinishTime(now);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (sysLedgerAuditCheckpointMapper.insertIgnore(checkpoint) == 0) {
+                log.warn("账本巡检分区已由其他实例完成，批次ID: {}, 起始用户ID: {}", runId, startUserId);
+                return;
+            }
+            for (int from = 0; from < findings.size(); from += INSERT_BATCH_SIZE) {
+                sysLedgerAuditFindingMapper.insertBatch(
+                        findings.subList(from, Math.min(from + INSERT_BATCH_SIZE, findings.size())));
+            }
+            sysLedgerAuditRunMapper.incrementProgress(runId, findings.size());
+        });
+        return checkpoint.getDurationMs();
+    }
+
+    /**
+     * 记录单个检查项的结果
+     *
+     * @param findings 分区问题列表
+     * @param checkType 检查项
+     * @param rows 检查查询结果
+     */
+    private void collect(List<SysLedgerAuditFinding> findings, String checkType, List<SysLedgerAuditFinding> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        for (SysLedgerAuditFinding row : rows) {
+            row.setCheckType(checkType);
+        }
+        findings.addAll(rows);
+        meterRegistry.counter("ledger.audit.findings", "check", checkType).increment(rows.size());
+    }
+
+    /**
+     * 按扫描耗时休眠，让出数据库资源
+     *
+     * @param elapsedMillis 分区扫描耗时（毫秒）
+     * @throws InterruptedException 线程被中断
+     */
+    private void pause(long elapsedMillis) throws InterruptedException {
+        long pauseMillis = Math.max(ledgerAuditProperties.getMinPauseMillis(),
+                Math.round(elapsedMillis * ledgerAuditProperties.getPauseRatio()));
+        if (pauseMillis > 0) {
+            Thread.sleep(pauseMillis);
+        }
+    }
+
+    /**
+     * 最后一个工作线程退出时结束批次；因停机中断或失去租约的批次保持执行中状态，由下次触发或接管的实例继续
+     *
+     * @param execution 批次执行状态
+     */
+    private void finishRun(AuditExecution execution) {
+        Long runId = execution.run.getId();
+        try {
+            if (execution.leaseLost) {
+                log.warn("账本巡检租约已被其他实例接管，批次ID: {}，本实例停止扫描", runId);
+                return;
+            }
+            Throwable failure = execution.failure.get();
+            if (failure instanceof InterruptedException) {
+                log.warn("账本巡检被中断，批次ID: {}，将在下次触发时从检查点继续", runId);
+                return;
+            }
+            String status = failure == null ? STATUS_COMPLETED : STATUS_FAILED;
+            SysLedgerAuditRun update = new SysLedgerAuditRun();
+            update.setId(runId);
+            update.setStatus(status);
+            update.setFinishTime(LocalDateTime.now());
+            if (failure != null) {
+                update.setErrorMessage(abbreviate(String.valueOf(failure.getMessage())));
+            }
+            sysLedgerAuditRunMapper.updateById(update);
+            Timer.builder("ledger.audit.run")
+                    .description("账本巡检批次在本进程内的执行耗时")
+                    .tag("status", status)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - execution.startNanos, TimeUnit.NANOSECONDS);
+            SysLedgerAuditRun finished = sysLedgerAuditRunMapper.selectById(runId);
+            lastFindingCount.set(finished.getFindingCount());
+            log.info("账本巡检结束，批次ID: {}, 状态: {}, 分区: {}/{}, 问题数: {}", runId, status,
+                    finished.getFinishedPartitions(), finished.getTotalPartitions(), finished.getFindingCount());
+        } catch (Exception exception) {
+            log.error("更新账本巡检批次状态失败，批次ID: {}", runId, exception);
+        } finally {
+            activeRunId = null;
+            releaseLeaseQuietly();
+            running.set(false);
+        }
+    }
+
+    /**
+     * 释放本实例持有的租约，释放失败时等待租约自然过期
+     */
+    private void releaseLeaseQuietly() {
+        try {
+            sysLedgerAuditRunMapper.releaseLease(leaseOwner);
+        } catch (Exception exception) {
+            log.warn("释放账本巡检租约失败，租约将在到期后失效", exception);
+        }
+    }
+
+    /**
+     * 截断失败原因
+     *
+     * @param message 失败原因
+     * @return 截断后的失败原因
+     */
+    private String abbreviate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    /**
+     * 转换批次实体为视图对象
+     *
+     * @param run 批次实体
+     * @return 批次视图对象
+     */
+    private LedgerAuditRunVO toVO(SysLedgerAuditRun run) {
+        LedgerAuditRunVO vo = new LedgerAuditRunVO();
+        vo.setRunId(run.getId());
+        vo.setTriggerType(run.getTriggerType());
+        vo.setStatus(run.getStatus());
+        vo.setMaxUserId(run.getMaxUserId());
+        vo.setTotalPartitions(run.getTotalPartitions());
+        vo.setFinishedPartitions(run.getFinishedPartitions());
+        vo.setProgress(run.getTotalPartitions() == 0 ? 100
+                : (int) (run.getFinishedPartitions() * 100L / run.getTotalPartitions()));
+        vo.setFindingCount(run.getFindingCount());
+        vo.setErrorMessage(run.getErrorMessage());
+        vo.setStartTime(run.getStartTime());
+        vo.setFinishTime(run.getFinishTime());
+        return vo;
+    }
+
+    /**
+     * 单个批次在本进程内的执行状态
+     */
+    private static final class AuditExecution {
+        private final SysLedgerAuditRun run;
+        private final Set<Long> finishedStarts;
+        private final AtomicInteger nextPartition = new AtomicInteger();
+        private final AtomicInteger activeWorkers;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final long startNanos = System.nanoTime();
+        private volatile boolean leaseLost;
+
+        /**
+         * 构造方法
+         *
+         * @param run 批次实体
+         * @param finishedStarts 已完成分区的起始用户ID
+         * @param workers 工作线程数
+         */
+        private AuditExecution(SysLedgerAuditRun run, Set<Long> finishedStarts, int workers) {
+            this.run = run;
+            this.finishedStarts = finishedStarts;
+            this.activeWorkers = new AtomicInteger(workers);
+        }
+    }
+}
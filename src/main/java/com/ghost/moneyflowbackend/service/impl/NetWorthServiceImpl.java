@@ -0,0 +1,367 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
+import com.ghost.moneyflowbackend.entity.BusAccount;
+import com.ghost.moneyflowbackend.entity.BusNetWorthSnapshot;
+import com.ghost.moneyflowbackend.mapper.BusAccountMapper;
+import com.ghost.moneyflowbackend.mapper.BusDailySummaryMapper;
+import com.ghost.moneyflowbackend.mapper.BusNetWorthSnapshotMapper;
+import com.ghost.moneyflowbackend.model.dto.AccountMonthlyFlowRow;
+import com.ghost.moneyflowbackend.model.vo.NetWorthPointVO;
+import com.ghost.moneyflowbackend.model.vo.NetWorthTimelineVO;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
+import com.ghost.moneyflowbackend.service.NetWorthService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 净资产快照与走势服务实现
+ *
+ * 每个已结束的月份写入各账户及合计的月末余额快照，快照写入后不再修改；交易日期落在已结束月份的写入会删除该月及之后的快照，
+ * 由定时任务按最新数据重新生成。走势中有快照的月份直接读取，缺失的月份（通常只有本月）从最近一个快照出发，
+ * 只叠加之后各月的净流入计算，不扫描更早的历史。生成与失效都先锁定用户的变更序号行，
+ * 避免生成过程中并发提交的历史写入在失效之后又被旧数据生成的快照覆盖
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NetWorthServiceImpl implements NetWorthService {
+
+    /**
+     * 合计行的账户ID
+     */
+    private static final long TOTAL_ACCOUNT_ID = 0L;
+
+    /**
+     * 走势最多返回的月份数
+     */
+    private static final int MAX_TIMELINE_MONTHS = 600;
+
+    /**
+     * 单条插入语句的最大快照行数
+     */
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final BusNetWorthSnapshotMapper busNetWorthSnapshotMapper;
+    private final BusDailySummaryMapper busDailySummaryMapper;
+    private final BusAccountMapper busAccountMapper;
+    private final ChangeLogService changeLogService;
+
+    /**
+     * 获取净资产走势
+     *
+     * @param startMonth 开始月份（可选，默认结束月份往前 11 个月）
+     * @param endMonth 结束月份（可选，默认本月）
+     * @return 净资产走势
+     */
+    @Override
+    public NetWorthTimelineVO getTimeline(YearMonth startMonth, YearMonth endMonth) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth end = endMonth != null ? endMonth : currentMonth;
+        YearMonth start = startMonth != null ? startMonth : end.minusMonths(11);
+        if (start.isAfter(end)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "开始月份不能晚于结束月份");
+        }
+        if (end.isAfter(currentMonth)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "结束月份不能晚于本月");
+        }
+        if (ChronoUnit.MONTHS.between(start, end) + 1 > MAX_TIMELINE_MONTHS) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "时间范围不能超过" + MAX_TIMELINE_MONTHS + "个月");
+        }
+
+        Map<YearMonth, Long> totals = new HashMap<>();
+        for (BusNetWorthSnapshot snapshot : busNetWorthSnapshotMapper.selectTotals(userId, start.atDay(1), end.atDay(1))) {
+            totals.put(YearMonth.from(snapshot.getSnapshotMonth()), toCents(snapshot.getBalance()));
+        }
+        Set<YearMonth> snapshotMonths = new HashSet<>(totals.keySet());
+        YearMonth firstMissing = null;
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+            if (!snapshotMonths.contains(month)) {
+                firstMissing = month;
+                break;
+            }
+        }
+        if (firstMissing != null) {
+            // 失效总是删除某月及之后的快照，首个缺失月份之前的快照都仍然有效，可作为计算起点
+            LocalDate baseMonth = busNetWorthSnapshotMapper.selectLatestMonthBefore(userId, firstMissing.atDay(1));
+            List<MonthBalance> computed = computeMonthBalances(userId,
+                    baseMonth == null ? null : YearMonth.from(baseMonth), end);
+            for (MonthBalance monthBalance : computed) {
+                if (!monthBalance.month.isBefore(start) && !snapshotMonths.contains(monthBalance.month)) {
+                    totals.put(monthBalance.month, monthBalance.total);
+                }
+            }
+        }
+
+        List<NetWorthPointVO> points = new ArrayList<>();
+        for (YearMonth month = start; !month.isAfter(end); month = month.plusMonths(1)) {
+            NetWorthPointVO point = new NetWorthPointVO();
+            point.setMonth(month);
+            point.setTotalBalance(fromCents(totals.getOrDefault(month, 0L)));
+            point.setSnapshot(snapshotMonths.contains(month));
+            points.add(point);
+        }
+        NetWorthTimelineVO vo = new NetWorthTimelineVO();
+        vo.setStartMonth(start);
+        vo.setEndMonth(end);
+        vo.setPoints(points);
+        return vo;
+    }
+
+    /**
+     * 查询缺少上月快照的用户
+     *
+     * @return 用户ID列表
+     */
+    @Override
+    public List<Long> listUsersMissingSnapshot() {
+        return busNetWorthSnapshotMapper.selectUserIdsMissingMonth(YearMonth.now().minusMonths(1).atDay(1));
+    }
+
+    /**
+     * 为用户补齐截至上月的月末快照
+     *
+     * @param userId 用户ID
+     * @return 写入的月份数
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int snapshotClosedMonths(Long userId) {
+        // 先加锁再读取：并发的历史写入要么已提交并被本次读到，要么等本次提交后再删除本次生成的快照
+        changeLogService.lockSequence(userId);
+        YearMonth lastClosed = YearMonth.now().minusMonths(1);
+        LocalDate latest = busNetWorthSnapshotMapper.selectLatestMonthBefore(userId, lastClosed.plusMonths(1).atDay(1));
+        YearMonth baseMonth = latest == null ? null : YearMonth.from(latest);
+        if (baseMonth != null && !baseMonth.isBefore(lastClosed)) {
+            return 0;
+        }
+        List<MonthBalance> months = computeMonthBalances(userId, baseMonth, lastClosed);
+        if (months.isEmpty()) {
+            // 没有任何账户与流水时也写入合计行，避免每天被重复选中
+            months = Collections.singletonList(new MonthBalance(lastClosed, Collections.emptyMap(), 0L));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<BusNetWorthSnapshot> rows = new ArrayList<>();
+        for (MonthBalance monthBalance : months) {
+            for (Map.Entry<Long, Long> entry : monthBalance.balances.entrySet()) {
+                rows.add(newSnapshot(userId, monthBalance.month, entry.getKey(), entry.getValue(), now));
+            }
+            rows.add(newSnapshot(userId, monthBalance.month, TOTAL_ACCOUNT_ID, monthBalance.total, now));
+        }
+        for (int from = 0; from < rows.size(); from += INSERT_BATCH_SIZE) {
+            busNetWorthSnapshotMapper.insertBatch(rows.subList(from, Math.min(from + INSERT_BATCH_SIZE, rows.size())));
+        }
+        return months.size();
+    }
+
+    /**
+     * 删除受历史数据变化影响的快照，需在修改数据的事务内调用
+     *
+     * @param userId 用户ID
+     * @param fromDate 发生变化的最早日期，为空时删除全部快照
+     */
+    @Override
+    public void invalidateSnapshots(Long userId, LocalDate fromDate) {
+        changeLogService.lockSequence(userId);
+        if (fromDate == null) {
+            busNetWorthSnapshotMapper.deleteByUserId(userId);
+            return;
+        }
+        YearMonth month = YearMonth.from(fromDate);
+        if (!month.isBefore(YearMonth.now())) {
+            // 本月及之后的月份没有快照
+            return;
+        }
+        int deleted = busNetWorthSnapshotMapper.deleteFromMonth(userId, month.atDay(1));
+        if (deleted > 0) {
+            log.info("净资产快照已失效，用户ID: {}, 起始月份: {}, 删除行数: {}", userId, month, deleted);
+        }
+    }
+
+    /**
+     * 从基准快照出发逐月累加，计算截至结束月份每个月末的各账户余额
+     *
+     * 没有基准快照时从最早有账户或流水的月份开始；账户初始余额计入账户创建当月与首笔流水所在月中较早的一个，
+     * 与账户当前余额、余额历史一致，补录早于创建时间的流水不会让之前的月份出现负余额；已删除账户不再计入
+     *
+     * @param userId 用户ID
+     * @param baseMonth 基准快照月份，可为空
+     * @param to 结束月份
+     * @return 各月余额，按月份升序
+     */
+    private List<MonthBalance> computeMonthBalances(Long userId, YearMonth baseMonth, YearMonth to) {
+        LambdaQueryWrapper<BusAccount> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BusAccount::getUserId, userId);
+        List<BusAccount> accounts = busAccountMapper.selectList(wrapper);
+        Set<Long> activeAccountIds = new HashSet<>();
+        for (BusAccount account : accounts) {
+            activeAccountIds.add(account.getId());
+        }
+        Map<Long, Long> balances = new TreeMap<>();
+        if (baseMonth != null) {
+            for (BusNetWorthSnapshot snapshot : busNetWorthSnapshotMapper.selectAccountBalances(userId, baseMonth.atDay(1))) {
+                if (activeAccountIds.contains(snapshot.getAccountId())) {
+                    balances.put(snapshot.getAccountId(), toCents(snapshot.getBalance()));
+                }
+            }
+        }
+        YearMonth from = baseMonth == null ? null : baseMonth.plusMonths(1);
+        List<AccountMonthlyFlowRow> flows = new ArrayList<>();
+        for (AccountMonthlyFlowRow flow : busDailySummaryMapper.selectAccountMonthlyFlows(userId,
+                from == null ? null : from.atDay(1), to.atEndOfMonth())) {
+            if (activeAccountIds.contains(flow.getAccountId())) {
+                flows.add(flow);
+            }
+        }
+        if (from == null) {
+            from = earliestMonth(accounts, flows);
+            if (from == null) {
+                return Collections.emptyList();
+            }
+        }
+
+        Map<Long, YearMonth> firstFlowMonths = new HashMap<>();
+        for (AccountMonthlyFlowRow flow : flows) {
+            firstFlowMonths.putIfAbsent(flow.getAccountId(), YearMonth.from(flow.getMonth()));
+        }
+        Map<YearMonth, List<BusAccount>> openings = new HashMap<>();
+        for (BusAccount account : accounts) {
+            if (balances.containsKey(account.getId())) {
+                continue;
+            }
+            YearMonth openMonth = account.getCreateTime() == null ? from : YearMonth.from(account.getCreateTime());
+            YearMonth firstFlowMonth = firstFlowMonths.get(account.getId());
+            if (firstFlowMonth != null && firstFlowMonth.isBefore(openMonth)) {
+                openMonth = firstFlowMonth;
+            }
+            if (openMonth.isBefore(from)) {
+                openMonth = from;
+            }
+            openings.computeIfAbsent(openMonth, key -> new ArrayList<>()).add(account);
+        }
+
+        List<MonthBalance> result = new ArrayList<>();
+        int flowIndex = 0;
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            for (BusAccount account : openings.getOrDefault(month, Collections.emptyList())) {
+                balances.merge(account.getId(), toCents(account.getInitialBalance()), Long::sum);
+            }
+            while (flowIndex < flows.size() && !YearMonth.from(flows.get(flowIndex).getMonth()).isAfter(month)) {
+                AccountMonthlyFlowRow flow = flows.get(flowIndex);
+                balances.merge(flow.getAccountId(), toCents(flow.getNetAmount()), Long::sum);
+                flowIndex++;
+            }
+            long total = 0L;
+            for (long balance : balances.values()) {
+                total += balance;
+            }
+            result.add(new MonthBalance(month, new TreeMap<>(balances), total));
+        }
+        return result;
+    }
+
+    /**
+     * 计算最早有账户或流水的月份
+     *
+     * @param accounts 账户列表
+     * @param flows 月度净流入，按月份升序
+     * @return 最早月份，没有任何数据时返回 null
+     */
+    private YearMonth earliestMonth(List<BusAccount> accounts, List<AccountMonthlyFlowRow> flows) {
+        YearMonth earliest = flows.isEmpty() ? null : YearMonth.from(flows.get(0).getMonth());
+        for (BusAccount account : accounts) {
+            YearMonth created = account.getCreateTime() == null ? YearMonth.now() : YearMonth.from(account.getCreateTime());
+            if (earliest == null || created.isBefore(earliest)) {
+                earliest = created;
+            }
+        }
+        return earliest;
+    }
+
+    /**
+     * 创建快照行
+     *
+     * @param userId 用户ID
+     * @param month 月份
+     * @param accountId 账户ID
+     * @param cents 余额（分）
+     * @param createTime 生成时间
+     * @return 快照行
+     */
+    private BusNetWorthSnapshot newSnapshot(Long userId, YearMonth month, Long accountId, long cents,
+                                            LocalDateTime createTime) {
+        BusNetWorthSnapshot snapshot = new BusNetWorthSnapshot();
+        snapshot.setUserId(userId);
+        snapshot.setSnapshotMonth(month.atDay(1));
+        snapshot.setAccountId(accountId);
+        snapshot.setBalance(fromCents(cents));
+        snapshot.setCreateTime(createTime);
+        return snapshot;
+    }
+
+    /**
+     * 金额转换为分
+     *
+     * @param amount 金额
+     * @return 以分为单位的整数
+     */
+    private long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * 分转换为金额
+     *
+     * @param cents 以分为单位的整数
+     * @return 金额
+     */
+    private BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /**
+     * 单月末余额
+     */
+    private static final class MonthBalance {
+        private final YearMonth month;
+        private final Map<Long, Long> balances;
+        private final long total;
+
+        /**
+         * 构造方法
+         *
+         * @param month 月份
+         * @param balances 各账户余额（分）
+         * @param total 合计余额（分）
+         */
+        private MonthBalance(YearMonth month, Map<Long, Long> balances, long total) {
+            this.month = month;
+            this.balances = balances;
+            this.total = total;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.security.AuthProperties;
+import com.ghost.moneyflowbackend.entity.SysRefreshToken;
+import com.ghost.moneyflowbackend.mapper.SysRefreshTokenMapper;
+import com.ghost.moneyflowbackend.model.dto.RefreshTokenRotation;
+import com.ghost.moneyflowbackend.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * 刷新令牌服务实现
+ *
+ * 刷新令牌是随机串，库中只保存其 SHA-256 摘要，换取 Token 时按摘要唯一索引查询一次即可，无需校验密码。
+ * 每个令牌只能使用一次，使用后签发同一令牌族的新令牌；已使用或已吊销的令牌再次出现说明令牌可能泄露，
+ * 此时吊销整个令牌族，持有者需重新登录
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenServiceImpl implements RefreshTokenService {
+
+    /**
+     * 刷新令牌随机字节数
+     */
+    private static final int TOKEN_BYTES = 32;
+
+    /**
+     * 单次清理的最大行数
+     */
+    private static final int CLEANUP_BATCH_SIZE = 1000;
+
+    /**
+     * 随机数生成器
+     */
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
+    /**
+     * 刷新令牌数据访问层
+     */
+    private final SysRefreshTokenMapper sysRefreshTokenMapper;
+
+    /**
+     * 认证配置
+     */
+    private final AuthProperties authProperties;
+
+    /**
+     * 为一次新登录签发刷新令牌，开启新的令牌族
+     *
+     * @param userId 用户ID
+     * @return 刷新令牌
+     */
+    @Override
+    public String issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 使用刷新令牌并轮换出新令牌
+     *
+     * @param refreshToken 刷新令牌
+     * @return 轮换结果
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class, noRollbackFor = BusinessException.class)
+    public RefreshTokenRotation rotate(String refreshToken) {
+        SysRefreshToken token = findByToken(refreshToken);
+        if (token == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "刷新令牌无效，请重新登录");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (token.getRevokedTime() != null || !token.getExpireTime().isAfter(now)) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "刷新令牌已失效，请重新登录");
+        }
+        // 条件更新保证同一令牌并发使用时只有一次成功，其余按重复使用处理
+        if (token.getUsedTime() != null || sysRefreshTokenMapper.markUsed(token.getId(), now) != 1) {
+            sysRefreshTokenMapper.revokeFamily(token.getFamilyId(), now);
+            log.warn("刷新令牌被重复使用，已吊销令牌族，用户ID: {}, 令牌族: {}", token.getUserId(), token.getFamilyId());
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "刷新令牌已失效，请重新登录");
+        }
+        RefreshTokenRotation rotation = new RefreshTokenRotation();
+        rotation.setUserId(token.getUserId());
+        rotation.setRefreshToken(issue(token.getUserId(), token.getFamilyId()));
+        return rotation;
+    }
+
+    /**
+     * 吊销用户自己的刷新令牌所在的令牌族，令牌不存在或属于其他用户时忽略
+     *
+     * @param userId 当前用户ID
+     * @param refreshToken 刷新令牌
+     */
+    @Override
+    public void revoke(Long userId, String refreshToken) {
+        SysRefreshToken token = findByToken(refreshToken);
+        // 只能吊销自己的令牌，避免持有他人刷新令牌的用户借退出登录使其失效
+        if (token != null && token.getUserId().equals(userId)) {
+            sysRefreshTokenMapper.revokeFamily(token.getFamilyId(), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * 分批删除已过期的刷新令牌
+     *
+     * @return 删除的行数
+     */
+    @Override
+    public int cleanupExpiredTokens() {
+        LocalDateTime now = LocalDateTime.now();
+        int removed = 0;
+        int deleted;
+        do {
+            deleted = sysRefreshTokenMapper.deleteExpired(now, CLEANUP_BATCH_SIZE);
+            removed += deleted;
+        } while (deleted == CLEANUP_BATCH_SIZE);
+        return removed;
+    }
+
+    /**
+     * 签发令牌族中的新刷新令牌
+     *
+     * @param userId 用户ID
+     * @param familyId 令牌族ID
+     * @return 刷新令牌
+     */
+    private String issue(Long userId, String familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        SECURE_RANDOM.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        SysRefreshToken token = new SysRefreshToken();
+        token.setUserId(userId);
+        token.setFamilyId(familyId);
+        token.setTokenHash(digest(refreshToken));
+        token.setExpireTime(LocalDateTime.now().plus(authProperties.getRefreshTokenTtl()));
+        sysRefreshTokenMapper.insert(token);
+        return refreshToken;
+    }
+
+    /**
+     * 按摘要查询刷新令牌
+     *
+     * @param refreshToken 刷新令牌
+     * @return 刷新令牌记录，不存在时返回 null
+     */
+    private SysRefreshToken findByToken(String refreshToken) {
+        if (!StringUtils.hasText(refreshToken)) {
+            return null;
+        }
+        LambdaQueryWrapper<SysRefreshToken> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(SysRefreshToken::getTokenHash, digest(refreshToken));
+        return sysRefreshTokenMapper.selectOne(wrapper);
+    }
+
+    /**
+     * 计算刷新令牌摘要
+     *
+     * @param refreshToken 刷新令牌
+     * @return 十六进制 SHA-256 摘要
+     */
+    private String digest(String refreshToken) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(messageDigest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 不可用", ex);
+        }
+    }
+}
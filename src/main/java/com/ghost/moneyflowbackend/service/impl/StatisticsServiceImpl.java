@@ -0,0 +1,258 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
+import com.ghost.moneyflowbackend.entity.BusCategory;
+import com.ghost.moneyflowbackend.mapper.BusCategoryMapper;
+import com.ghost.moneyflowbackend.mapper.BusDailySummaryMapper;
+import com.ghost.moneyflowbackend.model.dto.CategoryAmountRow;
+import com.ghost.moneyflowbackend.model.dto.TransactionSummaryRow;
+import com.ghost.moneyflowbackend.model.vo.CategoryRankItemVO;
+import com.ghost.moneyflowbackend.model.vo.CategoryRankingVO;
+import com.ghost.moneyflowbackend.model.vo.StatisticsOverviewVO;
+import com.ghost.moneyflowbackend.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 收支统计服务实现
+ *
+ * 统计数据读取交易日汇总表 bus_daily_summary 并在数据库内聚合，不再扫描交易明细；
+ * 日汇总由 {@link com.ghost.moneyflowbackend.service.TransactionLedgerService} 在交易写入时同步维护
+ */
+@Service
+@RequiredArgsConstructor
+public class StatisticsServiceImpl implements StatisticsService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * 排行顺序：金额倒序，金额相同时按笔数倒序
+     */
+    private static final Comparator<CategoryRankItemVO> RANK_ORDER = Comparator
+            .comparing(CategoryRankItemVO::getAmount, Comparator.reverseOrder())
+            .thenComparing(CategoryRankItemVO::getTransactionCount, Comparator.reverseOrder());
+
+    private final BusDailySummaryMapper busDailySummaryMapper;
+    private final BusCategoryMapper busCategoryMapper;
+
+    /**
+     * 获取指定期间的收支概览
+     *
+     * @param startDate 开始日期（可选，默认本月第一天）
+     * @param endDate 结束日期（可选，默认本月最后一天）
+     * @return 收支概览
+     */
+    @Override
+    public StatisticsOverviewVO getOverview(LocalDate startDate, LocalDate endDate) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        LocalDate start = resolveStartDate(startDate);
+        LocalDate end = resolveEndDate(endDate);
+        validateRange(start, end);
+        TransactionSummaryRow summary = busDailySummaryMapper.selectSummary(userId, start, end);
+        BigDecimal income = summary == null ? BigDecimal.ZERO : summary.getTotalIncome();
+        BigDecimal expense = summary == null ? BigDecimal.ZERO : summary.getTotalExpense();
+        BigDecimal balance = income.subtract(expense);
+        StatisticsOverviewVO vo = new StatisticsOverviewVO();
+        vo.setStartDate(start);
+        vo.setEndDate(end);
+        vo.setTotalIncome(income);
+        vo.setTotalExpense(expense);
+        vo.setBalance(balance);
+        // 无收入时储蓄率无意义，返回空
+        vo.setSavingsRate(income.signum() > 0 ? percentage(balance, income) : null);
+        vo.setIncomeCount(summary == null ? 0L : summary.getIncomeCount());
+        vo.setExpenseCount(summary == null ? 0L : summary.getExpenseCount());
+        return vo;
+    }
+
+    /**
+     * 获取分类排行，子分类金额合并到父分类，并计算占比
+     *
+     * @param startDate 开始日期（可选，默认本月第一天）
+     * @param endDate 结束日期（可选，默认本月最后一天）
+     * @param type 交易类型 expense/income（可选，默认 expense）
+     * @return 分类排行
+     */
+    @Override
+    public CategoryRankingVO getCategoryRanking(LocalDate startDate, LocalDate endDate, String type) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        LocalDate start = resolveStartDate(startDate);
+        LocalDate end = resolveEndDate(endDate);
+        validateRange(start, end);
+        String rankType = StringUtils.hasText(type) ? type : "expense";
+        if (!"expense".equals(rankType) && !"income".equals(rankType)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "统计类型仅支持 expense 或 income");
+        }
+        List<CategoryAmountRow> rows = busDailySummaryMapper.selectCategoryAmounts(userId, rankType, start, end);
+        Map<Long, BusCategory> categoryMap = loadCategories(userId, rows);
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        long totalCount = 0L;
+        Map<Long, CategoryRankItemVO> rootMap = new LinkedHashMap<>();
+        CategoryRankItemVO uncategorized = null;
+        for (CategoryAmountRow row : rows) {
+            totalAmount = totalAmount.add(row.getTotalAmount());
+            totalCount += row.getTransactionCount();
+            BusCategory category = row.getCategoryId() == null ? null : categoryMap.get(row.getCategoryId());
+            if (category == null) {
+                // 分类为空或已删除的交易合并为“未分类”
+                if (uncategorized == null) {
+                    uncategorized = newRankItem(null, "未分类", null);
+                }
+                addAmount(uncategorized, row);
+                continue;
+            }
+            BusCategory parent = category.getParentId() == null ? null : categoryMap.get(category.getParentId());
+            BusCategory root = parent != null ? parent : category;
+            CategoryRankItemVO rootItem = rootMap.computeIfAbsent(root.getId(),
+                    key -> newRankItem(root.getId(), root.getName(), root.getIcon()));
+            addAmount(rootItem, row);
+            if (parent != null) {
+                CategoryRankItemVO child = newRankItem(category.getId(), category.getName(), category.getIcon());
+                addAmount(child, row);
+                rootItem.getChildren().add(child);
+            }
+        }
+        List<CategoryRankItemVO> items = new ArrayList<>(rootMap.values());
+        if (uncategorized != null) {
+            items.add(uncategorized);
+        }
+        for (CategoryRankItemVO item : items) {
+            item.setPercentage(ratio(item.getAmount(), totalAmount));
+            item.getChildren().sort(RANK_ORDER);
+            for (CategoryRankItemVO child : item.getChildren()) {
+                child.setPercentage(ratio(child.getAmount(), totalAmount));
+            }
+        }
+        items.sort(RANK_ORDER);
+        CategoryRankingVO vo = new CategoryRankingVO();
+        vo.setStartDate(start);
+        vo.setEndDate(end);
+        vo.setType(rankType);
+        vo.setTotalAmount(totalAmount);
+        vo.setTotalCount(totalCount);
+        vo.setItems(items);
+        return vo;
+    }
+
+    /**
+     * 加载用户可用的分类（含系统分类），分类数量很小，一次查询即可覆盖子分类及其父分类
+     *
+     * @param userId 用户ID
+     * @param rows 分类汇总列表
+     * @return 分类ID到分类实体的映射
+     */
+    private Map<Long, BusCategory> loadCategories(Long userId, List<CategoryAmountRow> rows) {
+        if (rows.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        LambdaQueryWrapper<BusCategory> wrapper = new LambdaQueryWrapper<>();
+        wrapper.and(query -> query.eq(BusCategory::getUserId, userId).or().isNull(BusCategory::getUserId));
+        Map<Long, BusCategory> categoryMap = new HashMap<>();
+        for (BusCategory category : busCategoryMapper.selectList(wrapper)) {
+            categoryMap.put(category.getId(), category);
+        }
+        return categoryMap;
+    }
+
+    /**
+     * 创建排行项
+     *
+     * @param categoryId 分类ID
+     * @param name 分类名称
+     * @param icon 分类图标
+     * @return 排行项
+     */
+    private CategoryRankItemVO newRankItem(Long categoryId, String name, String icon) {
+        CategoryRankItemVO item = new CategoryRankItemVO();
+        item.setCategoryId(categoryId);
+        item.setName(name);
+        item.setIcon(icon);
+        item.setAmount(BigDecimal.ZERO);
+        item.setTransactionCount(0L);
+        return item;
+    }
+
+    /**
+     * 累加分类汇总
+     *
+     * @param item 排行项
+     * @param row 分类汇总行
+     */
+    private void addAmount(CategoryRankItemVO item, CategoryAmountRow row) {
+        item.setAmount(item.getAmount().add(row.getTotalAmount()));
+        item.setTransactionCount(item.getTransactionCount() + row.getTransactionCount());
+    }
+
+    /**
+     * 计算占比，总额为零时返回零
+     *
+     * @param value 分子
+     * @param total 分母
+     * @return 百分比
+     */
+    private BigDecimal ratio(BigDecimal value, BigDecimal total) {
+        return total.signum() == 0 ? BigDecimal.ZERO : percentage(value, total);
+    }
+
+    /**
+     * 解析开始日期
+     *
+     * @param startDate 开始日期
+     * @return 开始日期，为空时取本月第一天
+     */
+    private LocalDate resolveStartDate(LocalDate startDate) {
+        return startDate != null ? startDate : LocalDate.now().withDayOfMonth(1);
+    }
+
+    /**
+     * 解析结束日期
+     *
+     * @param endDate 结束日期
+     * @return 结束日期，为空时取本月最后一天
+     */
+    private LocalDate resolveEndDate(LocalDate endDate) {
+        if (endDate != null) {
+            return endDate;
+        }
+        LocalDate today = LocalDate.now();
+        return today.withDayOfMonth(today.lengthOfMonth());
+    }
+
+    /**
+     * 校验日期范围
+     *
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     */
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "开始日期不能晚于结束日期");
+        }
+    }
+
+    /**
+     * 计算百分比，保留两位小数
+     *
+     * @param value 分子
+     * @param total 分母
+     * @return 百分比
+     */
+    private BigDecimal percentage(BigDecimal value, BigDecimal total) {
+        return value.multiply(HUNDRED).divide(total, 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,180 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.model.SyncEntityType;
+import com.ghost.moneyflowbackend.common.utils.CursorUtils;
+import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
+import com.ghost.moneyflowbackend.entity.SysSyncChange;
+import com.ghost.moneyflowbackend.mapper.SysSyncChangeMapper;
+import com.ghost.moneyflowbackend.model.vo.AccountVO;
+import com.ghost.moneyflowbackend.model.vo.BudgetVO;
+import com.ghost.moneyflowbackend.model.vo.CategoryVO;
+import com.ghost.moneyflowbackend.model.vo.GoalVO;
+import com.ghost.moneyflowbackend.model.vo.RecurringRuleVO;
+import com.ghost.moneyflowbackend.model.vo.SyncTombstoneVO;
+import com.ghost.moneyflowbackend.model.vo.SyncVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionVO;
+import com.ghost.moneyflowbackend.service.BusAccountService;
+import com.ghost.moneyflowbackend.service.BusBudgetService;
+import com.ghost.moneyflowbackend.service.BusCategoryService;
+import com.ghost.moneyflowbackend.service.BusGoalService;
+import com.ghost.moneyflowbackend.service.BusRecurringRuleService;
+import com.ghost.moneyflowbackend.service.BusTransactionService;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
+import com.ghost.moneyflowbackend.service.SyncService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 增量同步服务实现
+ *
+ * 按变更序号返回游标之后的变更，每条数据只返回当前状态；已删除或已不可见的数据以删除标记返回。
+ * 游标为空时从头返回，首次同步即为全量快照，客户端翻页直到 hasMore 为 false 后保存游标。
+ * 用户第一次同步时在本事务内补录初始变更，本次返回空页并要求继续翻页，下一页在新事务中读取补录结果
+ */
+@Service
+@RequiredArgsConstructor
+public class SyncServiceImpl implements SyncService {
+
+    /**
+     * 默认每页变更条数
+     */
+    private static final int DEFAULT_LIMIT = 500;
+
+    /**
+     * 每页最大变更条数
+     */
+    private static final int MAX_LIMIT = 1000;
+
+    private final SysSyncChangeMapper sysSyncChangeMapper;
+    private final ChangeLogService changeLogService;
+    private final BusAccountService busAccountService;
+    private final BusCategoryService busCategoryService;
+    private final BusBudgetService busBudgetService;
+    private final BusGoalService busGoalService;
+    private final BusRecurringRuleService busRecurringRuleService;
+    private final BusTransactionService busTransactionService;
+
+    /**
+     * 获取游标之后的数据变更
+     *
+     * 变更与数据在同一事务中读取，返回的数据与游标对应同一时刻的状态
+     *
+     * @param since 上次同步返回的游标，为空时从头同步
+     * @param limit 每页变更条数（可选，默认 500，最大 1000）
+     * @return 变更数据与新游标
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public SyncVO sync(String since, Integer limit) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        long afterSeq = 0L;
+        if (StringUtils.hasText(since)) {
+            try {
+                afterSeq = Long.parseLong(CursorUtils.decode(since, 1)[0]);
+            } catch (NumberFormatException ex) {
+                throw new BusinessException(ErrorCode.INVALID_PARAM, "同步游标不合法");
+            }
+        }
+        int pageSize = limit == null ? DEFAULT_LIMIT : Math.min(Math.max(limit, 1), MAX_LIMIT);
+        if (!changeLogService.ensureInitialized(userId)) {
+            // 本事务的一致性读视图建立在补录之前，补录期间并发提交的数据在本事务内不可见，不在此读取变更
+            SyncVO vo = new SyncVO();
+            vo.setHasMore(true);
+            vo.setCursor(CursorUtils.encode(String.valueOf(afterSeq)));
+            return vo;
+        }
+        List<SysSyncChange> changes = sysSyncChangeMapper.selectAfter(userId, afterSeq, pageSize + 1);
+        SyncVO vo = new SyncVO();
+        vo.setHasMore(changes.size() > pageSize);
+        if (changes.size() > pageSize) {
+            changes = changes.subList(0, pageSize);
+        }
+        long cursorSeq = changes.isEmpty() ? afterSeq : changes.get(changes.size() - 1).getSeq();
+        vo.setCursor(CursorUtils.encode(String.valueOf(cursorSeq)));
+
+        Map<String, Set<Long>> changedIds = new HashMap<>();
+        for (SysSyncChange change : changes) {
+            if (change.getDeleted() != null && change.getDeleted() == 1) {
+                vo.getDeleted().add(tombstone(change.getEntityType(), change.getEntityId()));
+            } else {
+                changedIds.computeIfAbsent(change.getEntityType(), key -> new LinkedHashSet<>()).add(change.getEntityId());
+            }
+        }
+        Set<Long> accountIds = changedIds.getOrDefault(SyncEntityType.ACCOUNT, Set.of());
+        vo.setAccounts(busAccountService.listAccountsByIds(userId, accountIds));
+        addMissing(vo, SyncEntityType.ACCOUNT, accountIds, ids(vo.getAccounts(), AccountVO::getId));
+        Set<Long> categoryIds = changedIds.getOrDefault(SyncEntityType.CATEGORY, Set.of());
+        vo.setCategories(busCategoryService.listCategoriesByIds(userId, categoryIds));
+        addMissing(vo, SyncEntityType.CATEGORY, categoryIds, ids(vo.getCategories(), CategoryVO::getId));
+        Set<Long> budgetIds = changedIds.getOrDefault(SyncEntityType.BUDGET, Set.of());
+        vo.setBudgets(busBudgetService.listBudgetsByIds(userId, budgetIds));
+        addMissing(vo, SyncEntityType.BUDGET, budgetIds, ids(vo.getBudgets(), BudgetVO::getId));
+        Set<Long> goalIds = changedIds.getOrDefault(SyncEntityType.GOAL, Set.of());
+        vo.setGoals(busGoalService.listGoalsByIds(userId, goalIds));
+        addMissing(vo, SyncEntityType.GOAL, goalIds, ids(vo.getGoals(), GoalVO::getId));
+        Set<Long> ruleIds = changedIds.getOrDefault(SyncEntityType.RULE, Set.of());
+        vo.setRules(busRecurringRuleService.listRulesByIds(userId, ruleIds));
+        addMissing(vo, SyncEntityType.RULE, ruleIds, ids(vo.getRules(), RecurringRuleVO::getId));
+        Set<Long> transactionIds = changedIds.getOrDefault(SyncEntityType.TRANSACTION, Set.of());
+        vo.setTransactions(busTransactionService.listTransactionsByIds(userId, transactionIds));
+        addMissing(vo, SyncEntityType.TRANSACTION, transactionIds, ids(vo.getTransactions(), TransactionVO::getId));
+        return vo;
+    }
+
+    /**
+     * 变更记录存在但查不到数据时补充删除标记
+     *
+     * @param vo 同步结果
+     * @param type 数据类型
+     * @param changedIds 变更的数据ID
+     * @param foundIds 查询到的数据ID
+     */
+    private void addMissing(SyncVO vo, String type, Set<Long> changedIds, Set<Long> foundIds) {
+        for (Long id : changedIds) {
+            if (!foundIds.contains(id)) {
+                vo.getDeleted().add(tombstone(type, id));
+            }
+        }
+    }
+
+    /**
+     * 提取视图对象ID
+     *
+     * @param records 视图对象列表
+     * @param idGetter ID读取方法
+     * @param <T> 视图对象类型
+     * @return ID集合
+     */
+    private <T> Set<Long> ids(List<T> records, Function<T, Long> idGetter) {
+        Set<Long> result = new LinkedHashSet<>();
+        for (T record : records) {
+            result.add(idGetter.apply(record));
+        }
+        return result;
+    }
+
+    /**
+     * 创建删除标记
+     *
+     * @param type 数据类型
+     * @param id 数据ID
+     * @return 删除标记
+     */
+    private SyncTombstoneVO tombstone(String type, Long id) {
+        SyncTombstoneVO tombstone = new SyncTombstoneVO();
+        tombstone.setType(type);
+        tombstone.setId(id);
+        return tombstone;
+    }
+}
@@ -0,0 +1,204 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ghost.moneyflowbackend.common.config.TagCacheProperties;
+import com.ghost.moneyflowbackend.entity.BusTag;
+import com.ghost.moneyflowbackend.mapper.BusTagMapper;
+import com.ghost.moneyflowbackend.service.TagDictionaryService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 用户标签字典服务实现
+ *
+ * 每个用户的标签数量少且很少变化，按用户整体缓存名称与ID的双向映射。缓存未命中的名称或ID会回查标签表，
+ * 回查命中说明缓存已过期，随即淘汰该用户的字典。标签新增后立即淘汰，并在事务结束后再淘汰一次，
+ * 避免事务提交前被其他请求加载的旧字典、或回滚事务中加载的字典留在缓存中
+ */
+@Slf4j
+@Service
+public class TagDictionaryServiceImpl implements TagDictionaryService {
+
+    private final BusTagMapper busTagMapper;
+
+    /**
+     * 用户ID到标签字典的缓存
+     */
+    private final LoadingCache<Long, TagDictionary> dictionaries;
+
+    /**
+     * 构造方法
+     *
+     * @param busTagMapper 标签数据访问层
+     * @param tagCacheProperties 标签缓存配置
+     */
+    public TagDictionaryServiceImpl(BusTagMapper busTagMapper, TagCacheProperties tagCacheProperties) {
+        this.busTagMapper = busTagMapper;
+        this.dictionaries = Caffeine.newBuilder()
+                .maximumSize(tagCacheProperties.getMaximumSize())
+                .expireAfterWrite(tagCacheProperties.getExpireAfterWrite())
+                .build(this::loadDictionary);
+    }
+
+    /**
+     * 按名称解析标签ID，不存在的名称不出现在结果中
+     *
+     * @param userId 用户ID
+     * @param names 标签名称集合
+     * @return 标签名称到标签ID的映射
+     */
+    @Override
+    public Map<String, Long> resolveIds(Long userId, Collection<String> names) {
+        if (names.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        TagDictionary dictionary = dictionaries.get(userId);
+        Map<String, Long> result = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String name : names) {
+            Long tagId = dictionary.idsByName.get(name);
+            if (tagId != null) {
+                result.put(name, tagId);
+            } else {
+                missing.add(name);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        LambdaQueryWrapper<BusTag> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BusTag::getUserId, userId)
+                .in(BusTag::getName, missing);
+        List<BusTag> tags = busTagMapper.selectList(wrapper);
+        for (BusTag tag : tags) {
+            result.putIfAbsent(tag.getName(), tag.getId());
+        }
+        if (!tags.isEmpty()) {
+            dictionaries.invalidate(userId);
+        }
+        return result;
+    }
+
+    /**
+     * 按ID解析标签名称，不存在或已删除的标签不出现在结果中
+     *
+     * @param userId 用户ID
+     * @param tagIds 标签ID集合
+     * @return 标签ID到标签名称的映射
+     */
+    @Override
+    public Map<Long, String> resolveNames(Long userId, Collection<Long> tagIds) {
+        if (tagIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        TagDictionary dictionary = dictionaries.get(userId);
+        Map<Long, String> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long tagId : tagIds) {
+            String name = dictionary.namesById.get(tagId);
+            if (name != null) {
+                result.put(tagId, name);
+            } else {
+                missing.add(tagId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return result;
+        }
+        LambdaQueryWrapper<BusTag> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BusTag::getUserId, userId)
+                .in(BusTag::getId, missing);
+        List<BusTag> tags = busTagMapper.selectList(wrapper);
+        for (BusTag tag : tags) {
+            if (StringUtils.hasText(tag.getName())) {
+                result.put(tag.getId(), tag.getName());
+            }
+        }
+        if (!tags.isEmpty()) {
+            dictionaries.invalidate(userId);
+        }
+        return result;
+    }
+
+    /**
+     * 获取用户全部标签名称
+     *
+     * @param userId 用户ID
+     * @return 标签ID到标签名称的映射，只读
+     */
+    @Override
+    public Map<Long, String> getNames(Long userId) {
+        return dictionaries.get(userId).namesById;
+    }
+
+    /**
+     * 淘汰用户的标签字典，在事务内调用时事务结束后再淘汰一次
+     *
+     * @param userId 用户ID
+     */
+    @Override
+    public void invalidate(Long userId) {
+        dictionaries.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    dictionaries.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 从标签表加载用户的标签字典
+     *
+     * @param userId 用户ID
+     * @return 标签字典
+     */
+    private TagDictionary loadDictionary(Long userId) {
+        LambdaQueryWrapper<BusTag> wrapper = new LambdaQueryWrapper<>();
+        wrapper.eq(BusTag::getUserId, userId);
+        Map<String, Long> idsByName = new HashMap<>();
+        Map<Long, String> namesById = new HashMap<>();
+        for (BusTag tag : busTagMapper.selectList(wrapper)) {
+            if (!StringUtils.hasText(tag.getName())) {
+                continue;
+            }
+            // 同名标签保留ID最小的一个，与按名称查询时的取值保持一致
+            idsByName.merge(tag.getName(), tag.getId(), Math::min);
+            namesById.put(tag.getId(), tag.getName());
+        }
+        return new TagDictionary(Collections.unmodifiableMap(idsByName), Collections.unmodifiableMap(namesById));
+    }
+
+    /**
+     * 单个用户的标签字典
+     */
+    private static final class TagDictionary {
+        private final Map<String, Long> idsByName;
+        private final Map<Long, String> namesById;
+
+        /**
+         * 构造方法
+         *
+         * @param idsByName 标签名称到标签ID的映射
+         * @param namesById 标签ID到标签名称的映射
+         */
+        private TagDictionary(Map<String, Long> idsByName, Map<Long, String> namesById) {
+            this.idsByName = idsByName;
+            this.namesById = namesById;
+        }
+    }
+}
@@ -0,0 +1,440 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.entity.BusAccount;
+import com.ghost.moneyflowbackend.entity.BusCategory;
+import com.ghost.moneyflowbackend.mapper.BusAccountMapper;
+import com.ghost.moneyflowbackend.mapper.BusCategoryMapper;
+import com.ghost.moneyflowbackend.mapper.BusTransactionMapper;
+import com.ghost.moneyflowbackend.model.dto.TransactionExportRow;
+import com.ghost.moneyflowbackend.model.dto.TransactionQuery;
+import com.ghost.moneyflowbackend.service.TagDictionaryService;
+import com.ghost.moneyflowbackend.service.TransactionExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.LongConsumer;
+
+/**
+ * 交易明细导出服务实现
+ *
+ * 导出数据通过数据库游标逐行读取并直接写入输出流，分类、账户、标签名称由每次导出预先构建的小型映射表解析，
+ * 因此内存占用与导出行数无关
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionExportServiceImpl implements TransactionExportService {
+
+    /**
+     * CSV 表头
+     */
+    private static final String[] HEADERS = {"日期", "类型", "分类", "账户", "转入账户", "金额", "币种", "备注", "标签"};
+
+    /**
+     * 输出缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Excel 流式写入时堆内保留的行数，超出部分刷写到临时文件
+     */
+    private static final int XLSX_ROW_WINDOW = 200;
+
+    /**
+     * 单个工作表最大数据行数（Excel 上限 1048576 行，扣除表头）
+     */
+    private static final int XLSX_MAX_ROWS_PER_SHEET = 1_048_575;
+
+    /**
+     * 金额列索引
+     */
+    private static final int AMOUNT_COLUMN = 5;
+
+    private final BusTransactionMapper busTransactionMapper;
+    private final BusAccountMapper busAccountMapper;
+    private final BusCategoryMapper busCategoryMapper;
+    private final TagDictionaryService tagDictionaryService;
+
+    /**
+     * 以 CSV 格式流式导出交易明细
+     *
+     * @param query 查询条件，必须已填充用户ID
+     * @param outputStream 输出流
+     * @throws IOException 写入失败时抛出
+     */
+    @Override
+    public void exportCsv(TransactionQuery query, OutputStream outputStream) throws IOException {
+        exportCsv(query, outputStream, null);
+    }
+
+    /**
+     * 以 CSV 格式流式导出交易明细，并回调已写出行数
+     *
+     * @param query 查询条件，必须已填充用户ID
+     * @param outputStream 输出流
+     * @param progressListener 进度回调，参数为已写出行数（可为空）
+     * @throws IOException 写入失败时抛出
+     */
+    @Override
+    public void exportCsv(TransactionQuery query, OutputStream outputStream, LongConsumer progressListener)
+            throws IOException {
+        Long userId = requireUserId(query);
+        ExportLookup lookup = buildLookup(userId);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        // 写入 UTF-8 BOM，保证 Excel 直接打开时中文不乱码
+        writer.write('\uFEFF');
+        writeCsvLine(writer, HEADERS);
+        if (query.normalize()) {
+            try {
+                busTransactionMapper.streamByQuery(query, context -> {
+                    try {
+                        writeCsvLine(writer, toColumns(context.getResultObject(), lookup));
+                        notifyProgress(progressListener, context.getResultCount());
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                // 客户端中断下载时会走到这里，无需按系统异常处理
+                log.warn("交易CSV导出中断，用户ID: {}, 原因: {}", userId, ex.getCause().getMessage());
+                throw ex.getCause();
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * 以 xlsx 格式导出交易明细，使用滑动窗口写入，堆内最多保留固定行数
+     *
+     * @param query 查询条件，必须已填充用户ID
+     * @param outputStream 输出流
+     * @throws IOException 写入失败时抛出
+     */
+    @Override
+    public void exportXlsx(TransactionQuery query, OutputStream outputStream) throws IOException {
+        exportXlsx(query, outputStream, null);
+    }
+
+    /**
+     * 以 xlsx 格式导出交易明细，并回调已写出行数
+     *
+     * @param query 查询条件，必须已填充用户ID
+     * @param outputStream 输出流
+     * @param progressListener 进度回调，参数为已写出行数（可为空）
+     * @throws IOException 写入失败时抛出
+     */
+    @Override
+    public void exportXlsx(TransactionQuery query, OutputStream outputStream, LongConsumer progressListener)
+            throws IOException {
+        Long userId = requireUserId(query);
+        ExportLookup lookup = buildLookup(userId);
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        // 压缩临时文件，降低大数据量导出时的磁盘占用
+        workbook.setCompressTempFiles(true);
+        try {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            CellStyle amountStyle = workbook.createCellStyle();
+            amountStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("#,##0.00"));
+            XlsxSheetCursor cursor = new XlsxSheetCursor(workbook);
+            if (query.normalize()) {
+                busTransactionMapper.streamByQuery(query, context -> {
+                    TransactionExportRow transaction = context.getResultObject();
+                    Row row = cursor.nextRow();
+                    String[] columns = toColumns(transaction, lookup);
+                    for (int i = 0; i < columns.length; i++) {
+                        Cell cell = row.createCell(i);
+                        if (i == 0 && transaction.getDate() != null) {
+                            cell.setCellValue(transaction.getDate());
+                            cell.setCellStyle(dateStyle);
+                        } else if (i == AMOUNT_COLUMN && transaction.getAmount() != null) {
+                            cell.setCellValue(transaction.getAmount().doubleValue());
+                            cell.setCellStyle(amountStyle);
+                        } else {
+                            cell.setCellValue(columns[i]);
+                        }
+                    }
+                    notifyProgress(progressListener, context.getResultCount());
+                });
+            }
+            workbook.write(outputStream);
+            outputStream.flush();
+        } finally {
+            // 删除滑动窗口产生的临时文件
+            if (!workbook.dispose()) {
+                log.warn("交易Excel导出临时文件清理失败，用户ID: {}", userId);
+            }
+            workbook.close();
+        }
+    }
+
+    /**
+     * 统计符合导出条件的交易数量
+     *
+     * @param query 查询条件，必须已填充用户ID
+     * @return 交易数量
+     */
+    @Override
+    public long countRows(TransactionQuery query) {
+        requireUserId(query);
+        if (!query.normalize()) {
+            return 0L;
+        }
+        return busTransactionMapper.countByQuery(query);
+    }
+
+    /**
+     * 通知导出进度
+     *
+     * @param progressListener 进度回调
+     * @param rowCount 已写出行数
+     */
+    private void notifyProgress(LongConsumer progressListener, long rowCount) {
+        if (progressListener != null) {
+            progressListener.accept(rowCount);
+        }
+    }
+
+    /**
+     * 校验查询条件中的用户ID
+     *
+     * @param query 查询条件
+     * @return 用户ID
+     */
+    private Long requireUserId(TransactionQuery query) {
+        if (query.getUserId() == null) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED, "导出用户不能为空");
+        }
+        return query.getUserId();
+    }
+
+    /**
+     * 构建名称映射表，每次导出只查询一次；已删除的账户与分类同样保留名称，历史交易仍能导出原名称
+     *
+     * @param userId 用户ID
+     * @return 名称映射表
+     */
+    private ExportLookup buildLookup(Long userId) {
+        ExportLookup lookup = new ExportLookup();
+        for (BusAccount account : busAccountMapper.selectNamesIncludingDeleted(userId)) {
+            lookup.accountNames.put(account.getId(), account.getName());
+        }
+        for (BusCategory category : busCategoryMapper.selectNamesIncludingDeleted(userId)) {
+            lookup.categoryNames.put(category.getId(), category.getName());
+        }
+        lookup.tagNames.putAll(tagDictionaryService.getNames(userId));
+        return lookup;
+    }
+
+    /**
+     * 将导出行转换为列值
+     *
+     * @param row 导出行
+     * @param lookup 名称映射表
+     * @return 列值数组
+     */
+    private String[] toColumns(TransactionExportRow row, ExportLookup lookup) {
+        return new String[]{
+                row.getDate() == null ? "" : row.getDate().toString(),
+                typeLabel(row.getType()),
+                nameOf(lookup.categoryNames, row.getCategoryId()),
+                nameOf(lookup.accountNames, row.getAccountId()),
+                nameOf(lookup.accountNames, row.getTargetAccountId()),
+                row.getAmount() == null ? "" : row.getAmount().toPlainString(),
+                row.getCurrency() == null ? "" : row.getCurrency(),
+                row.getNote() == null ? "" : row.getNote(),
+                tagNamesOf(lookup.tagNames, row.getTagIds())
+        };
+    }
+
+    /**
+     * 获取交易类型的中文名称
+     *
+     * @param type 交易类型
+     * @return 中文名称
+     */
+    private String typeLabel(String type) {
+        if ("expense".equals(type)) {
+            return "支出";
+        }
+        if ("income".equals(type)) {
+            return "收入";
+        }
+        if ("transfer".equals(type)) {
+            return "转账";
+        }
+        return type == null ? "" : type;
+    }
+
+    /**
+     * 从映射表中获取名称
+     *
+     * @param names 名称映射表
+     * @param id 主键
+     * @return 名称，不存在时返回空字符串
+     */
+    private String nameOf(Map<Long, String> names, Long id) {
+        if (id == null) {
+            return "";
+        }
+        return names.getOrDefault(id, "");
+    }
+
+    /**
+     * 将逗号分隔的标签ID转换为标签名称
+     *
+     * @param tagNames 标签名称映射表
+     * @param tagIds 逗号分隔的标签ID
+     * @return 逗号分隔的标签名称
+     */
+    private String tagNamesOf(Map<Long, String> tagNames, String tagIds) {
+        if (!StringUtils.hasText(tagIds)) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(",");
+        for (String tagId : tagIds.split(",")) {
+            String name = tagNames.get(Long.valueOf(tagId));
+            if (StringUtils.hasText(name)) {
+                joiner.add(name);
+            }
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 写入一行 CSV
+     *
+     * @param writer 输出
+     * @param columns 列值
+     * @throws IOException 写入失败时抛出
+     */
+    private void writeCsvLine(Writer writer, String[] columns) throws IOException {
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(columns[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * 转义 CSV 字段
+     *
+     * @param value 原始值
+     * @return 转义后的值
+     */
+    private String escapeCsv(String value) {
+        if (value.isEmpty()) {
+            return value;
+        }
+        String safeValue = value;
+        // 以公式字符开头的文本加单引号前缀，防止在表格软件中被当作公式执行
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            safeValue = "'" + value;
+        }
+        if (safeValue.indexOf(',') >= 0 || safeValue.indexOf('"') >= 0
+                || safeValue.indexOf('\n') >= 0 || safeValue.indexOf('\r') >= 0) {
+            return "\"" + safeValue.replace("\"", "\"\"") + "\"";
+        }
+        return safeValue;
+    }
+
+    /**
+     * 工作表行游标，超过单表行数上限时自动新建工作表
+     */
+    private static final class XlsxSheetCursor {
+
+        /**
+         * 工作簿
+         */
+        private final SXSSFWorkbook workbook;
+
+        /**
+         * 当前工作表
+         */
+        private Sheet sheet;
+
+        /**
+         * 当前工作表已写入的数据行数
+         */
+        private int rowCount;
+
+        /**
+         * 创建行游标
+         *
+         * @param workbook 工作簿
+         */
+        private XlsxSheetCursor(SXSSFWorkbook workbook) {
+            this.workbook = workbook;
+            newSheet();
+        }
+
+        /**
+         * 获取下一行
+         *
+         * @return 数据行
+         */
+        private Row nextRow() {
+            if (rowCount >= XLSX_MAX_ROWS_PER_SHEET) {
+                newSheet();
+            }
+            rowCount++;
+            return sheet.createRow(rowCount);
+        }
+
+        /**
+         * 新建工作表并写入表头
+         */
+        private void newSheet() {
+            int index = workbook.getNumberOfSheets();
+            sheet = workbook.createSheet(index == 0 ? "交易明细" : "交易明细" + (index + 1));
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+            }
+            rowCount = 0;
+        }
+    }
+
+    /**
+     * 导出名称映射表
+     */
+    private static final class ExportLookup {
+
+        /**
+         * 账户ID到名称
+         */
+        private final Map<Long, String> accountNames = new HashMap<>();
+
+        /**
+         * 分类ID到名称
+         */
+        private final Map<Long, String> categoryNames = new HashMap<>();
+
+        /**
+         * 标签ID到名称
+         */
+        private final Map<Long, String> tagNames = new HashMap<>();
+    }
+}
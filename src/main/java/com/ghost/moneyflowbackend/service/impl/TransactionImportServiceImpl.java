@@ -0,0 +1,701 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import cn.hutool.core.io.IORuntimeException;
+import cn.hutool.core.text.csv.CsvParser;
+import cn.hutool.core.text.csv.CsvReadConfig;
+import cn.hutool.core.text.csv.CsvRow;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ghost.moneyflowbackend.common.config.TransactionImportProperties;
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.utils.SecurityUtils;
+import com.ghost.moneyflowbackend.entity.BusAccount;
+import com.ghost.moneyflowbackend.entity.BusCategory;
+import com.ghost.moneyflowbackend.mapper.BusAccountMapper;
+import com.ghost.moneyflowbackend.mapper.BusCategoryMapper;
+import com.ghost.moneyflowbackend.model.dto.TransactionCreateRequest;
+import com.ghost.moneyflowbackend.model.vo.TransactionBatchItemVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionBatchResultVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionImportErrorVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionImportResultVO;
+import com.ghost.moneyflowbackend.service.BusTransactionService;
+import com.ghost.moneyflowbackend.service.TransactionImportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+
+/**
+ * 交易文件导入服务实现
+ *
+ * 上传文件按行流式解析，不整体读入内存；账户与分类在导入开始时一次性加载为映射表，
+ * 解析后的交易按批次交给 {@link BusTransactionService#createTransactions} 以多行插入写入，每批独立提交。
+ * 单行解析或校验失败只记录行级错误，不影响其余行
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionImportServiceImpl implements TransactionImportService {
+
+    /**
+     * 读取缓冲区大小
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 备注字段最大长度，与 bus_transaction.note 列一致
+     */
+    private static final int NOTE_MAX_LENGTH = 500;
+
+    /**
+     * 不计收支的记录标记，例如支付宝账单中的余额宝收益划转
+     */
+    private static final String TYPE_SKIP = "skip";
+
+    /**
+     * 日期格式，兼容不补零的月份与日期
+     */
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("y-M-d");
+
+    /**
+     * 表头别名，键为规范化后的表头名称
+     */
+    private static final Map<String, ImportColumn> HEADER_ALIASES = new HashMap<>();
+
+    static {
+        registerAliases(ImportColumn.DATE, "日期", "交易日期", "交易时间", "交易创建时间", "记账日期", "入账日期", "date");
+        registerAliases(ImportColumn.TYPE, "类型", "type");
+        registerAliases(ImportColumn.DIRECTION, "收/支", "收支", "收支类型", "资金方向", "借贷标志");
+        registerAliases(ImportColumn.AMOUNT, "金额", "金额(元)", "交易金额", "交易金额(元)", "amount");
+        registerAliases(ImportColumn.INCOME_AMOUNT, "收入", "收入金额", "贷方金额", "存入金额");
+        registerAliases(ImportColumn.EXPENSE_AMOUNT, "支出", "支出金额", "借方金额", "支取金额");
+        registerAliases(ImportColumn.CATEGORY, "分类", "类别", "交易分类", "category");
+        registerAliases(ImportColumn.ACCOUNT, "账户", "交易账户", "支付方式", "收/付款方式", "account");
+        registerAliases(ImportColumn.TARGET_ACCOUNT, "转入账户", "目标账户", "targetaccount");
+        registerAliases(ImportColumn.NOTE, "备注", "商品", "商品名称", "商品说明", "摘要", "交易摘要", "note");
+        registerAliases(ImportColumn.COUNTERPARTY, "交易对方", "对方户名", "对方名称");
+        registerAliases(ImportColumn.TAGS, "标签", "tags");
+        registerAliases(ImportColumn.CURRENCY, "币种", "货币", "currency");
+        registerAliases(ImportColumn.STATUS, "交易状态", "当前状态");
+    }
+
+    private final BusTransactionService busTransactionService;
+    private final BusAccountMapper busAccountMapper;
+    private final BusCategoryMapper busCategoryMapper;
+    private final TransactionImportProperties importProperties;
+
+    /**
+     * 导入 CSV 格式的交易流水，支持本系统导出文件及支付宝、微信、银行账单
+     *
+     * @param file 上传文件
+     * @param defaultAccountId 默认账户ID，文件中缺少或无法匹配账户时使用（可选）
+     * @param charset 文件编码，默认 UTF-8，支付宝账单通常为 GBK
+     * @return 导入结果
+     */
+    @Override
+    public TransactionImportResultVO importCsv(MultipartFile file, Long defaultAccountId, String charset) {
+        if (file == null || file.isEmpty()) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "导入文件不能为空");
+        }
+        Long userId = SecurityUtils.getCurrentUserId();
+        ImportContext context = buildContext(userId, defaultAccountId);
+        TransactionImportResultVO result = new TransactionImportResultVO();
+        CsvReadConfig readConfig = CsvReadConfig.defaultConfig();
+        readConfig.setSkipEmptyRows(true);
+        readConfig.setTrimField(true);
+        try (Reader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), resolveCharset(charset)),
+                BUFFER_SIZE);
+             CsvParser parser = new CsvParser(reader, readConfig)) {
+            Map<ImportColumn, List<Integer>> columns = findHeader(parser);
+            ImportChunk chunk = new ImportChunk();
+            CsvRow row;
+            while ((row = parser.nextRow()) != null) {
+                if (isBlankRow(row, columns)) {
+                    continue;
+                }
+                long rowNumber = row.getOriginalLineNumber() + 1;
+                result.setTotalRows(result.getTotalRows() + 1);
+                TransactionCreateRequest request;
+                try {
+                    request = toRequest(row, columns, context);
+                } catch (BusinessException ex) {
+                    addError(result, rowNumber, ex.getMessage());
+                    continue;
+                }
+                if (request == null) {
+                    result.setSkippedCount(result.getSkippedCount() + 1);
+                    continue;
+                }
+                chunk.add(rowNumber, request);
+                if (chunk.size() >= importProperties.getChunkSize()) {
+                    flushChunk(userId, chunk, context, result);
+                }
+            }
+            flushChunk(userId, chunk, context, result);
+        } catch (IOException | IORuntimeException ex) {
+            log.warn("交易导入文件读取失败，用户ID: {}, 原因: {}", userId, ex.getMessage());
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "导入文件读取失败");
+        }
+        log.info("交易导入完成，用户ID: {}, 总行数: {}, 成功: {}, 失败: {}, 跳过: {}", userId, result.getTotalRows(),
+                result.getSuccessCount(), result.getFailureCount(), result.getSkippedCount());
+        return result;
+    }
+
+    /**
+     * 加载当前用户的账户与可用分类
+     *
+     * @param userId 用户ID
+     * @param defaultAccountId 默认账户ID
+     * @return 导入上下文
+     */
+    private ImportContext buildContext(Long userId, Long defaultAccountId) {
+        ImportContext context = new ImportContext();
+        LambdaQueryWrapper<BusAccount> accountWrapper = new LambdaQueryWrapper<>();
+        accountWrapper.eq(BusAccount::getUserId, userId);
+        for (BusAccount account : busAccountMapper.selectList(accountWrapper)) {
+            context.accountMap.put(account.getId(), account);
+            context.accountNameMap.putIfAbsent(account.getName(), account.getId());
+        }
+        if (defaultAccountId != null && !context.accountMap.containsKey(defaultAccountId)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "默认账户不存在");
+        }
+        context.defaultAccountId = defaultAccountId;
+        LambdaQueryWrapper<BusCategory> categoryWrapper = new LambdaQueryWrapper<>();
+        categoryWrapper.and(query -> query.eq(BusCategory::getUserId, userId).or().isNull(BusCategory::getUserId));
+        List<BusCategory> categories = busCategoryMapper.selectList(categoryWrapper);
+        for (BusCategory category : categories) {
+            context.categoryMap.put(category.getId(), category);
+            // 同名分类优先匹配用户自定义分类
+            String key = categoryKey(category.getType(), category.getName());
+            if (category.getUserId() != null || !context.categoryNameMap.containsKey(key)) {
+                context.categoryNameMap.put(key, category.getId());
+            }
+        }
+        return context;
+    }
+
+    /**
+     * 解析文件编码
+     *
+     * @param charset 编码名称
+     * @return 编码
+     */
+    private Charset resolveCharset(String charset) {
+        if (!StringUtils.hasText(charset)) {
+            return StandardCharsets.UTF_8;
+        }
+        try {
+            return Charset.forName(charset.trim());
+        } catch (IllegalCharsetNameException | UnsupportedCharsetException ex) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "文件编码不支持");
+        }
+    }
+
+    /**
+     * 查找表头行，跳过账单开头的说明文字
+     *
+     * @param parser CSV 解析器
+     * @return 字段到列索引的映射
+     */
+    private Map<ImportColumn, List<Integer>> findHeader(CsvParser parser) {
+        int maxRows = importProperties.getMaxPreambleRows() + 1;
+        for (int i = 0; i < maxRows; i++) {
+            CsvRow row = parser.nextRow();
+            if (row == null) {
+                break;
+            }
+            Map<ImportColumn, List<Integer>> columns = new EnumMap<>(ImportColumn.class);
+            for (int index = 0; index < row.size(); index++) {
+                ImportColumn column = HEADER_ALIASES.get(normalizeHeader(row.get(index)));
+                if (column != null) {
+                    columns.computeIfAbsent(column, key -> new ArrayList<>()).add(index);
+                }
+            }
+            boolean hasAmount = columns.containsKey(ImportColumn.AMOUNT)
+                    || columns.containsKey(ImportColumn.INCOME_AMOUNT)
+                    || columns.containsKey(ImportColumn.EXPENSE_AMOUNT);
+            if (columns.containsKey(ImportColumn.DATE) && hasAmount) {
+                return columns;
+            }
+        }
+        throw new BusinessException(ErrorCode.INVALID_PARAM, "未识别到表头，文件需包含日期与金额列");
+    }
+
+    /**
+     * 判断是否为空行或账单末尾的汇总说明行
+     *
+     * @param row 数据行
+     * @param columns 列映射
+     * @return 是否跳过
+     */
+    private boolean isBlankRow(CsvRow row, Map<ImportColumn, List<Integer>> columns) {
+        // 账单末尾的“共N笔记录”、分隔线等只有一个非空单元格
+        long filledCells = row.stream().filter(StringUtils::hasText).limit(2).count();
+        if (filledCells < 2) {
+            return true;
+        }
+        return !StringUtils.hasText(cell(row, columns, ImportColumn.DATE))
+                && !StringUtils.hasText(cell(row, columns, ImportColumn.AMOUNT))
+                && !StringUtils.hasText(cell(row, columns, ImportColumn.INCOME_AMOUNT))
+                && !StringUtils.hasText(cell(row, columns, ImportColumn.EXPENSE_AMOUNT));
+    }
+
+    /**
+     * 将数据行转换为交易创建请求
+     *
+     * @param row 数据行
+     * @param columns 列映射
+     * @param context 导入上下文
+     * @return 交易创建请求，不计收支或已关闭的记录返回 null
+     */
+    private TransactionCreateRequest toRequest(CsvRow row, Map<ImportColumn, List<Integer>> columns,
+                                               ImportContext context) {
+        String status = cell(row, columns, ImportColumn.STATUS);
+        if (status != null && (status.contains("关闭") || status.contains("失败"))) {
+            return null;
+        }
+        LocalDate date = parseDate(cell(row, columns, ImportColumn.DATE));
+        String type = resolveType(cell(row, columns, ImportColumn.TYPE));
+        if (type == null) {
+            type = resolveDirection(cell(row, columns, ImportColumn.DIRECTION));
+        }
+        if (TYPE_SKIP.equals(type)) {
+            return null;
+        }
+        BigDecimal amount;
+        String amountText = cell(row, columns, ImportColumn.AMOUNT);
+        if (StringUtils.hasText(amountText)) {
+            amount = parseAmount(amountText);
+        } else {
+            BigDecimal income = parseOptionalAmount(cell(row, columns, ImportColumn.INCOME_AMOUNT));
+            BigDecimal expense = parseOptionalAmount(cell(row, columns, ImportColumn.EXPENSE_AMOUNT));
+            if (income != null && income.signum() != 0) {
+                amount = income.abs();
+                type = type == null ? "income" : type;
+            } else if (expense != null && expense.signum() != 0) {
+                amount = expense.abs().negate();
+                type = type == null ? "expense" : type;
+            } else {
+                throw new BusinessException(ErrorCode.INVALID_PARAM, "金额不能为空");
+            }
+        }
+        if (type == null) {
+            // 未提供类型与收支方向时按金额正负判断
+            type = amount.signum() < 0 ? "expense" : "income";
+        }
+        TransactionCreateRequest request = new TransactionCreateRequest();
+        request.setType(type);
+        request.setAmount(amount.abs());
+        request.setDate(date);
+        request.setAccountId(resolveAccount(cell(row, columns, ImportColumn.ACCOUNT), context));
+        if ("transfer".equals(type)) {
+            String targetName = cell(row, columns, ImportColumn.TARGET_ACCOUNT);
+            if (StringUtils.hasText(targetName)) {
+                Long targetAccountId = findAccount(targetName, context);
+                if (targetAccountId == null) {
+                    throw new BusinessException(ErrorCode.INVALID_PARAM, "转入账户不存在: " + targetName);
+                }
+                request.setTargetAccountId(targetAccountId);
+            }
+        } else {
+            request.setCategoryId(resolveCategory(type, cell(row, columns, ImportColumn.CATEGORY), context));
+        }
+        String currency = cell(row, columns, ImportColumn.CURRENCY);
+        request.setCurrency(StringUtils.hasText(currency) ? currency.trim().toUpperCase(Locale.ROOT) : null);
+        request.setNote(buildNote(row, columns));
+        String tags = cell(row, columns, ImportColumn.TAGS);
+        if (StringUtils.hasText(tags)) {
+            request.setTags(Arrays.stream(tags.split("[,，|;；]"))
+                    .map(String::trim)
+                    .filter(StringUtils::hasText)
+                    .collect(Collectors.toList()));
+        }
+        return request;
+    }
+
+    /**
+     * 将一批交易写入数据库，并把失败条目映射回文件行号
+     *
+     * @param userId 用户ID
+     * @param chunk 待写入批次
+     * @param context 导入上下文
+     * @param result 导入结果
+     */
+    private void flushChunk(Long userId, ImportChunk chunk, ImportContext context, TransactionImportResultVO result) {
+        if (chunk.size() == 0) {
+            return;
+        }
+        try {
+            TransactionBatchResultVO batchResult = busTransactionService.createTransactions(userId, chunk.requests,
+                    context.accountMap, context.categoryMap);
+            result.setSuccessCount(result.getSuccessCount() + batchResult.getSuccessCount());
+            for (TransactionBatchItemVO item : batchResult.getItems()) {
+                if (!Boolean.TRUE.equals(item.getSuccess())) {
+                    addError(result, chunk.rowNumbers.get(item.getIndex()), item.getErrorMessage());
+                }
+            }
+        } catch (DataAccessException ex) {
+            // 整批回滚，记录为行级错误后继续处理后续批次
+            log.error("交易导入批次写入失败，用户ID: {}, 起始行: {}", userId, chunk.rowNumbers.get(0), ex);
+            for (Long rowNumber : chunk.rowNumbers) {
+                addError(result, rowNumber, "写入失败");
+            }
+        }
+        chunk.clear();
+    }
+
+    /**
+     * 记录行级错误，超过上限后只计数
+     *
+     * @param result 导入结果
+     * @param rowNumber 行号
+     * @param message 错误信息
+     */
+    private void addError(TransactionImportResultVO result, long rowNumber, String message) {
+        result.setFailureCount(result.getFailureCount() + 1);
+        if (result.getErrors().size() >= importProperties.getMaxErrors()) {
+            result.setErrorsTruncated(true);
+            return;
+        }
+        TransactionImportErrorVO error = new TransactionImportErrorVO();
+        error.setRowNumber(rowNumber);
+        error.setMessage(message);
+        result.getErrors().add(error);
+    }
+
+    /**
+     * 解析交易类型列，无法识别时返回 null，由收支方向或金额正负决定
+     *
+     * @param value 类型列内容
+     * @return 交易类型
+     */
+    private String resolveType(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        switch (text) {
+            case "expense":
+            case "支出":
+                return "expense";
+            case "income":
+            case "收入":
+                return "income";
+            case "transfer":
+            case "转账":
+                return "transfer";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 解析收支方向列
+     *
+     * @param value 收支方向列内容
+     * @return 交易类型，不计收支返回跳过标记
+     */
+    private String resolveDirection(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        String text = value.trim();
+        if (text.contains("不计") || "/".equals(text)) {
+            return TYPE_SKIP;
+        }
+        if (text.startsWith("支") || text.startsWith("借") || text.startsWith("出")) {
+            return "expense";
+        }
+        if (text.startsWith("收") || text.startsWith("贷") || text.startsWith("入")) {
+            return "income";
+        }
+        return null;
+    }
+
+    /**
+     * 解析日期，支持 yyyy-MM-dd、yyyy/M/d、yyyyMMdd、yyyy年M月d日，带时间部分时忽略时间
+     *
+     * @param value 日期列内容
+     * @return 日期
+     */
+    private LocalDate parseDate(String value) {
+        if (!StringUtils.hasText(value)) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "日期不能为空");
+        }
+        String text = value.trim();
+        int timeIndex = text.indexOf(' ');
+        if (timeIndex < 0) {
+            timeIndex = text.indexOf('T');
+        }
+        if (timeIndex > 0) {
+            text = text.substring(0, timeIndex);
+        }
+        text = text.replace('/', '-').replace('.', '-').replace('年', '-').replace('月', '-').replace("日", "");
+        if (text.length() == 8 && text.chars().allMatch(Character::isDigit)) {
+            text = text.substring(0, 4) + "-" + text.substring(4, 6) + "-" + text.substring(6);
+        }
+        try {
+            return LocalDate.parse(text, DATE_FORMATTER);
+        } catch (DateTimeParseException ex) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "日期格式不正确: " + value);
+        }
+    }
+
+    /**
+     * 解析金额，忽略货币符号与千分位
+     *
+     * @param value 金额列内容
+     * @return 金额，保留正负号
+     */
+    private BigDecimal parseAmount(String value) {
+        String text = value.replace("¥", "").replace("￥", "").replace(",", "").replace(" ", "").trim();
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException ex) {
+            throw new BusinessException(ErrorCode.INVALID_PARAM, "金额格式不正确: " + value);
+        }
+    }
+
+    /**
+     * 解析可为空的金额
+     *
+     * @param value 金额列内容
+     * @return 金额，为空时返回 null
+     */
+    private BigDecimal parseOptionalAmount(String value) {
+        return StringUtils.hasText(value) ? parseAmount(value) : null;
+    }
+
+    /**
+     * 解析主账户，未指定或无法匹配时使用默认账户
+     *
+     * @param value 账户列内容
+     * @param context 导入上下文
+     * @return 账户ID
+     */
+    private Long resolveAccount(String value, ImportContext context) {
+        Long accountId = StringUtils.hasText(value) ? findAccount(value, context) : null;
+        if (accountId != null) {
+            return accountId;
+        }
+        if (context.defaultAccountId != null) {
+            return context.defaultAccountId;
+        }
+        throw new BusinessException(ErrorCode.INVALID_PARAM,
+                StringUtils.hasText(value) ? "账户不存在: " + value : "账户不能为空");
+    }
+
+    /**
+     * 按名称或ID查找账户
+     *
+     * @param value 账户名称或ID
+     * @param context 导入上下文
+     * @return 账户ID，未找到返回 null
+     */
+    private Long findAccount(String value, ImportContext context) {
+        String text = value.trim();
+        Long accountId = context.accountNameMap.get(text);
+        if (accountId != null) {
+            return accountId;
+        }
+        Long id = parseId(text);
+        return id != null && context.accountMap.containsKey(id) ? id : null;
+    }
+
+    /**
+     * 解析分类，未指定时归入“其他支出”或“其他收入”
+     *
+     * @param type 交易类型
+     * @param value 分类列内容
+     * @param context 导入上下文
+     * @return 分类ID
+     */
+    private Long resolveCategory(String type, String value, ImportContext context) {
+        if (!StringUtils.hasText(value)) {
+            return context.categoryNameMap.get(categoryKey(type, "expense".equals(type) ? "其他支出" : "其他收入"));
+        }
+        String text = value.trim();
+        Long categoryId = context.categoryNameMap.get(categoryKey(type, text));
+        if (categoryId != null) {
+            return categoryId;
+        }
+        Long id = parseId(text);
+        if (id != null && context.categoryMap.containsKey(id)) {
+            return id;
+        }
+        throw new BusinessException(ErrorCode.INVALID_PARAM, "分类不存在: " + text);
+    }
+
+    /**
+     * 拼接交易对方与备注类列作为交易备注
+     *
+     * @param row 数据行
+     * @param columns 列映射
+     * @return 交易备注
+     */
+    private String buildNote(CsvRow row, Map<ImportColumn, List<Integer>> columns) {
+        StringJoiner joiner = new StringJoiner(" ");
+        List<Integer> indexes = new ArrayList<>(columns.getOrDefault(ImportColumn.COUNTERPARTY, Collections.emptyList()));
+        indexes.addAll(columns.getOrDefault(ImportColumn.NOTE, Collections.emptyList()));
+        for (Integer index : indexes) {
+            String value = index < row.size() ? row.get(index) : null;
+            if (StringUtils.hasText(value) && !"/".equals(value.trim())) {
+                joiner.add(stripFormulaGuard(value.trim()));
+            }
+        }
+        String note = joiner.toString();
+        if (note.isEmpty()) {
+            return null;
+        }
+        return note.length() > NOTE_MAX_LENGTH ? note.substring(0, NOTE_MAX_LENGTH) : note;
+    }
+
+    /**
+     * 去除导出时为防止公式注入添加的单引号前缀
+     *
+     * @param value 单元格内容
+     * @return 原始内容
+     */
+    private String stripFormulaGuard(String value) {
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            return value.substring(1);
+        }
+        return value;
+    }
+
+    /**
+     * 读取字段对应的第一列内容
+     *
+     * @param row 数据行
+     * @param columns 列映射
+     * @param column 字段
+     * @return 单元格内容，列不存在时返回 null
+     */
+    private String cell(CsvRow row, Map<ImportColumn, List<Integer>> columns, ImportColumn column) {
+        List<Integer> indexes = columns.get(column);
+        if (indexes == null) {
+            return null;
+        }
+        int index = indexes.get(0);
+        return index < row.size() ? row.get(index) : null;
+    }
+
+    /**
+     * 解析数字ID
+     *
+     * @param text 文本
+     * @return ID，非数字返回 null
+     */
+    private Long parseId(String text) {
+        if (!text.chars().allMatch(Character::isDigit) || text.length() > 18) {
+            return null;
+        }
+        return Long.parseLong(text);
+    }
+
+    /**
+     * 构建分类名称映射键
+     *
+     * @param type 分类类型
+     * @param name 分类名称
+     * @return 映射键
+     */
+    private static String categoryKey(String type, String name) {
+        return type + ":" + name;
+    }
+
+    /**
+     * 规范化表头：去除 BOM、空白与大小写差异，全角括号转为半角
+     *
+     * @param header 表头
+     * @return 规范化后的表头
+     */
+    private static String normalizeHeader(String header) {
+        if (header == null) {
+            return "";
+        }
+        return header.replace("\uFEFF", "")
+                .replace('（', '(')
+                .replace('）', ')')
+                .replaceAll("\\s+", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 注册表头别名
+     *
+     * @param column 字段
+     * @param aliases 别名列表
+     */
+    private static void registerAliases(ImportColumn column, String... aliases) {
+        for (String alias : aliases) {
+            HEADER_ALIASES.put(normalizeHeader(alias), column);
+        }
+    }
+
+    /**
+     * 可识别的导入字段
+     */
+    private enum ImportColumn {
+        DATE, TYPE, DIRECTION, AMOUNT, INCOME_AMOUNT, EXPENSE_AMOUNT, CATEGORY, ACCOUNT, TARGET_ACCOUNT,
+        NOTE, COUNTERPARTY, TAGS, CURRENCY, STATUS
+    }
+
+    /**
+     * 导入上下文，保存一次性加载的账户与分类映射
+     */
+    private static final class ImportContext {
+        private final Map<Long, BusAccount> accountMap = new HashMap<>();
+        private final Map<String, Long> accountNameMap = new HashMap<>();
+        private final Map<Long, BusCategory> categoryMap = new HashMap<>();
+        private final Map<String, Long> categoryNameMap = new HashMap<>();
+        private Long defaultAccountId;
+    }
+
+    /**
+     * 待写入的交易批次
+     */
+    private static final class ImportChunk {
+        private final List<TransactionCreateRequest> requests = new ArrayList<>();
+        private final List<Long> rowNumbers = new ArrayList<>();
+
+        private void add(long rowNumber, TransactionCreateRequest request) {
+            requests.add(request);
+            rowNumbers.add(rowNumber);
+        }
+
+        private int size() {
+            return requests.size();
+        }
+
+        private void clear() {
+            requests.clear();
+            rowNumbers.clear();
+        }
+    }
+}
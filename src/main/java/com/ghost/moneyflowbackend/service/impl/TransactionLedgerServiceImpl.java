@@ -0,0 +1,272 @@
+package com.ghost.moneyflowbackend.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.ghost.moneyflowbackend.common.model.SyncEntityType;
+import com.ghost.moneyflowbackend.entity.BusAccount;
+import com.ghost.moneyflowbackend.entity.BusDailySummary;
+import com.ghost.moneyflowbackend.entity.BusTransaction;
+import com.ghost.moneyflowbackend.mapper.BusAccountMapper;
+import com.ghost.moneyflowbackend.mapper.BusDailySummaryMapper;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
+import com.ghost.moneyflowbackend.service.NetWorthService;
+import com.ghost.moneyflowbackend.service.TransactionLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * 交易账本派生数据维护服务实现
+ *
+ * 每次交易写入把旧行记为负增量、新行记为正增量，合并同一汇总键后按键排序写入，
+ * 随后按账户ID顺序调整账户余额；并发事务因此以相同顺序锁定汇总行与账户行，避免死锁；
+ * 金额与笔数均未变化的键、余额未变化的账户不产生写入
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionLedgerServiceImpl implements TransactionLedgerService {
+
+    /**
+     * 单条增量语句的最大行数
+     */
+    private static final int UPSERT_BATCH_SIZE = 500;
+
+    private final BusDailySummaryMapper busDailySummaryMapper;
+    private final BusAccountMapper busAccountMapper;
+    private final NetWorthService netWorthService;
+    private final ChangeLogService changeLogService;
+
+    /**
+     * 记录新增交易
+     *
+     * @param transaction 新增的交易
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, rollbackFor = Exception.class)
+    public void recordCreated(BusTransaction transaction) {
+        recordCreated(Collections.singletonList(transaction));
+    }
+
+    /**
+     * 批量记录新增交易
+     *
+     * @param transactions 新增的交易列表
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, rollbackFor = Exception.class)
+    public void recordCreated(List<BusTransaction> transactions) {
+        Map<String, BusDailySummary> deltas = new TreeMap<>();
+        Map<Long, BigDecimal> balanceDeltas = new TreeMap<>();
+        for (BusTransaction transaction : transactions) {
+            addDeltas(deltas, balanceDeltas, transaction, 1);
+        }
+        applyDeltas(deltas, balanceDeltas);
+        recordChanges(transactions, balanceDeltas, false);
+    }
+
+    /**
+     * 记录交易修改，旧值记负增量、新值记正增量
+     *
+     * @param before 修改前的交易
+     * @param after 修改后的交易
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, rollbackFor = Exception.class)
+    public void recordUpdated(BusTransaction before, BusTransaction after) {
+        Map<String, BusDailySummary> deltas = new TreeMap<>();
+        Map<Long, BigDecimal> balanceDeltas = new TreeMap<>();
+        addDeltas(deltas, balanceDeltas, before, -1);
+        addDeltas(deltas, balanceDeltas, after, 1);
+        applyDeltas(deltas, balanceDeltas);
+        recordChanges(Arrays.asList(before, after), balanceDeltas, false);
+    }
+
+    /**
+     * 记录交易删除
+     *
+     * @param transaction 被删除的交易
+     */
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY, rollbackFor = Exception.class)
+    public void recordDeleted(BusTransaction transaction) {
+        Map<String, BusDailySummary> deltas = new TreeMap<>();
+        Map<Long, BigDecimal> balanceDeltas = new TreeMap<>();
+        addDeltas(deltas, balanceDeltas, transaction, -1);
+        applyDeltas(deltas, balanceDeltas);
+        recordChanges(Collections.singletonList(transaction), balanceDeltas, true);
+    }
+
+    /**
+     * 查询需要重建派生数据的用户
+     *
+     * @return 用户ID列表
+     */
+    @Override
+    public List<Long> listLedgerUserIds() {
+        return busDailySummaryMapper.selectLedgerUserIds();
+    }
+
+    /**
+     * 从交易明细重建用户的日汇总
+     *
+     * @param userId 用户ID
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void rebuildDailySummary(Long userId) {
+        busDailySummaryMapper.deleteByUserId(userId);
+        int rows = busDailySummaryMapper.rebuildFromTransactions(userId);
+        rows += busDailySummaryMapper.rebuildTransferInFromTransactions(userId);
+        // 快照由日汇总推导，重建后全部重新生成
+        netWorthService.invalidateSnapshots(userId, null);
+        log.info("交易日汇总重建完成，用户ID: {}, 汇总行数: {}", userId, rows);
+    }
+
+    /**
+     * 从交易明细重算用户全部账户的当前余额
+     *
+     * @param userId 用户ID
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void rebuildAccountBalances(Long userId) {
+        int rows = busAccountMapper.rebuildBalances(userId);
+        LambdaQueryWrapper<BusAccount> wrapper = new LambdaQueryWrapper<>();
+        wrapper.select(BusAccount::getId)
+                .eq(BusAccount::getUserId, userId);
+        List<Long> accountIds = new ArrayList<>();
+        for (BusAccount account : busAccountMapper.selectList(wrapper)) {
+            accountIds.add(account.getId());
+        }
+        changeLogService.recordChanges(userId, SyncEntityType.ACCOUNT, accountIds, false);
+        log.info("账户余额重算完成，用户ID: {}, 账户数量: {}", userId, rows);
+    }
+
+    /**
+     * 累加一笔交易对日汇总与账户余额的增量，转账分别计入转出账户与转入账户
+     *
+     * @param deltas 日汇总增量映射
+     * @param balanceDeltas 账户余额增量映射
+     * @param transaction 交易
+     * @param sign 方向，1 为新增，-1 为撤销
+     */
+    private void addDeltas(Map<String, BusDailySummary> deltas, Map<Long, BigDecimal> balanceDeltas,
+                           BusTransaction transaction, int sign) {
+        BigDecimal amount = sign > 0 ? transaction.getAmount() : transaction.getAmount().negate();
+        if ("transfer".equals(transaction.getType())) {
+            addDelta(deltas, transaction, "transfer", 0L, transaction.getAccountId(), sign);
+            balanceDeltas.merge(transaction.getAccountId(), amount.negate(), BigDecimal::add);
+            if (transaction.getTargetAccountId() != null) {
+                addDelta(deltas, transaction, "transfer_in", 0L, transaction.getTargetAccountId(), sign);
+                balanceDeltas.merge(transaction.getTargetAccountId(), amount, BigDecimal::add);
+            }
+            return;
+        }
+        Long categoryId = transaction.getCategoryId() == null ? 0L : transaction.getCategoryId();
+        addDelta(deltas, transaction, transaction.getType(), categoryId, transaction.getAccountId(), sign);
+        BigDecimal balanceDelta = "income".equals(transaction.getType()) ? amount : amount.negate();
+        balanceDeltas.merge(transaction.getAccountId(), balanceDelta, BigDecimal::add);
+    }
+
+    /**
+     * 累加单个汇总键的增量
+     *
+     * @param deltas 增量映射
+     * @param transaction 交易
+     * @param type 汇总类型
+     * @param categoryId 分类ID
+     * @param accountId 账户ID
+     * @param sign 方向
+     */
+    private void addDelta(Map<String, BusDailySummary> deltas, BusTransaction transaction, String type,
+                          Long categoryId, Long accountId, int sign) {
+        // 键按主键列顺序拼接，数字补零保证字符串顺序与数值顺序一致
+        String key = String.format("%020d|%s|%s|%020d|%020d", transaction.getUserId(), transaction.getDate(), type,
+                categoryId, accountId);
+        BusDailySummary delta = deltas.computeIfAbsent(key, k -> {
+            BusDailySummary summary = new BusDailySummary();
+            summary.setUserId(transaction.getUserId());
+            summary.setDate(transaction.getDate());
+            summary.setType(type);
+            summary.setCategoryId(categoryId);
+            summary.setAccountId(accountId);
+            summary.setAmountSum(BigDecimal.ZERO);
+            summary.setTxCount(0);
+            return summary;
+        });
+        BigDecimal amount = transaction.getAmount();
+        delta.setAmountSum(delta.getAmountSum().add(sign > 0 ? amount : amount.negate()));
+        delta.setTxCount(delta.getTxCount() + sign);
+    }
+
+    /**
+     * 写入非零增量，先日汇总后账户余额，并使涉及已结束月份的净资产快照失效
+     *
+     * @param deltas 按汇总键排序的日汇总增量
+     * @param balanceDeltas 按账户ID排序的余额增量
+     */
+    private void applyDeltas(Map<String, BusDailySummary> deltas, Map<Long, BigDecimal> balanceDeltas) {
+        List<BusDailySummary> changes = new ArrayList<>(deltas.size());
+        Map<Long, LocalDate> earliestDates = new HashMap<>();
+        for (BusDailySummary delta : deltas.values()) {
+            if (delta.getTxCount() != 0 || delta.getAmountSum().signum() != 0) {
+                changes.add(delta);
+                earliestDates.merge(delta.getUserId(), delta.getDate(),
+                        (current, candidate) -> candidate.isBefore(current) ? candidate : current);
+            }
+        }
+        for (int from = 0; from < changes.size(); from += UPSERT_BATCH_SIZE) {
+            busDailySummaryMapper.upsertDeltas(changes.subList(from, Math.min(from + UPSERT_BATCH_SIZE, changes.size())));
+        }
+        for (Map.Entry<Long, BigDecimal> entry : balanceDeltas.entrySet()) {
+            if (entry.getValue().signum() != 0) {
+                busAccountMapper.adjustBalance(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Map.Entry<Long, LocalDate> entry : earliestDates.entrySet()) {
+            netWorthService.invalidateSnapshots(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * 记录交易及余额发生变化的账户的同步变更
+     *
+     * @param transactions 涉及的交易
+     * @param balanceDeltas 账户余额增量
+     * @param deleted 交易是否已删除
+     */
+    private void recordChanges(List<BusTransaction> transactions, Map<Long, BigDecimal> balanceDeltas, boolean deleted) {
+        Map<Long, Set<Long>> transactionIds = new TreeMap<>();
+        Map<Long, Set<Long>> accountIds = new HashMap<>();
+        for (BusTransaction transaction : transactions) {
+            Long userId = transaction.getUserId();
+            transactionIds.computeIfAbsent(userId, key -> new TreeSet<>()).add(transaction.getId());
+            for (Long accountId : Arrays.asList(transaction.getAccountId(), transaction.getTargetAccountId())) {
+                BigDecimal delta = accountId == null ? null : balanceDeltas.get(accountId);
+                if (delta != null && delta.signum() != 0) {
+                    accountIds.computeIfAbsent(userId, key -> new TreeSet<>()).add(accountId);
+                }
+            }
+        }
+        for (Map.Entry<Long, Set<Long>> entry : transactionIds.entrySet()) {
+            Long userId = entry.getKey();
+            changeLogService.recordChanges(userId, SyncEntityType.TRANSACTION, entry.getValue(), deleted);
+            changeLogService.recordChanges(userId, SyncEntityType.ACCOUNT,
+                    accountIds.getOrDefault(userId, Collections.emptySet()), false);
+        }
+    }
+}
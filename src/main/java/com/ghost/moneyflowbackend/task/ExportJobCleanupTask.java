@@ -0,0 +1,27 @@
+package com.ghost.moneyflowbackend.task;
+
+import com.ghost.moneyflowbackend.service.ExportJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ExportJobCleanupTask {
+
+    private final ExportJobService exportJobService;
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000L, initialDelay = 60 * 1000L)
+    public void cleanupExpiredJobs() {
+        try {
+            int removed = exportJobService.cleanupExpiredJobs();
+            if (removed > 0) {
+                log.info("导出任务清理完成，共清理{}项", removed);
+            }
+        } catch (Exception exception) {
+            log.error("导出任务清理失败", exception);
+        }
+    }
+}
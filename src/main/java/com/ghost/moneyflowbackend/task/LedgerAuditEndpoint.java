@@ -0,0 +1,42 @@
+package com.ghost.moneyflowbackend.task;
+
+import com.ghost.moneyflowbackend.model.vo.LedgerAuditRunVO;
+import com.ghost.moneyflowbackend.service.LedgerAuditService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * 账本巡检运维端点，默认不通过 HTTP 暴露，需在管理端口上显式开放
+ */
+@Component
+@RequiredArgsConstructor
+@Endpoint(id = "ledgeraudit")
+public class LedgerAuditEndpoint {
+
+    private static final String TRIGGER_MANUAL = "manual";
+
+    private final LedgerAuditService ledgerAuditService;
+
+    /**
+     * 查询最近一个巡检批次
+     *
+     * @return 批次信息
+     */
+    @ReadOperation
+    public LedgerAuditRunVO latestRun() {
+        return ledgerAuditService.getLatestRun();
+    }
+
+    /**
+     * 手动触发巡检
+     *
+     * @return 批次信息
+     */
+    @WriteOperation
+    public LedgerAuditRunVO trigger() {
+        return ledgerAuditService.startAudit(TRIGGER_MANUAL);
+    }
+}
@@ -0,0 +1,50 @@
+package com.ghost.moneyflowbackend.task;
+
+import com.ghost.moneyflowbackend.common.config.LedgerAuditProperties;
+import com.ghost.moneyflowbackend.model.vo.LedgerAuditRunVO;
+import com.ghost.moneyflowbackend.service.LedgerAuditService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LedgerAuditTask {
+
+    private static final String TRIGGER_SCHEDULED = "scheduled";
+
+    private final LedgerAuditService ledgerAuditService;
+    private final LedgerAuditProperties ledgerAuditProperties;
+
+    @Scheduled(cron = "${ledger.audit.cron:0 30 3 * * ?}")
+    public void executeAudit() {
+        if (!Boolean.TRUE.equals(ledgerAuditProperties.getEnabled())) {
+            return;
+        }
+        try {
+            LedgerAuditRunVO run = ledgerAuditService.startAudit(TRIGGER_SCHEDULED);
+            log.info("账本巡检已启动，批次ID: {}", run.getRunId());
+        } catch (Exception exception) {
+            log.error("账本巡检启动失败", exception);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedAudit() {
+        if (!Boolean.TRUE.equals(ledgerAuditProperties.getEnabled())) {
+            return;
+        }
+        try {
+            LedgerAuditRunVO run = ledgerAuditService.resumeInterruptedAudit();
+            if (run != null) {
+                log.info("已继续中断的账本巡检，批次ID: {}", run.getRunId());
+            }
+        } catch (Exception exception) {
+            log.error("继续中断的账本巡检失败", exception);
+        }
+    }
+}
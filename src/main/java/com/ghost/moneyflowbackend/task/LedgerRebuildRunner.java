@@ -0,0 +1,76 @@
+package com.ghost.moneyflowbackend.task;
+
+import com.ghost.moneyflowbackend.service.TransactionLedgerService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 交易派生数据重建任务
+ *
+ * 启动参数带 --rebuild-daily-summary 时重建按日汇总，带 --rebuild-account-balance 时重算账户余额
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LedgerRebuildRunner implements ApplicationRunner {
+
+    /**
+     * 重建按日汇总的启动参数名
+     */
+    private static final String REBUILD_DAILY_SUMMARY = "rebuild-daily-summary";
+
+    /**
+     * 重算账户余额的启动参数名
+     */
+    private static final String REBUILD_ACCOUNT_BALANCE = "rebuild-account-balance";
+
+    private final TransactionLedgerService transactionLedgerService;
+
+    /**
+     * 按启动参数执行对应的重建
+     *
+     * @param args 启动参数
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean dailySummary = args.containsOption(REBUILD_DAILY_SUMMARY);
+        boolean accountBalance = args.containsOption(REBUILD_ACCOUNT_BALANCE);
+        if (!dailySummary && !accountBalance) {
+            return;
+        }
+        List<Long> userIds = transactionLedgerService.listLedgerUserIds();
+        if (dailySummary) {
+            rebuild("按日汇总", userIds, transactionLedgerService::rebuildDailySummary);
+        }
+        if (accountBalance) {
+            rebuild("账户余额", userIds, transactionLedgerService::rebuildAccountBalances);
+        }
+    }
+
+    /**
+     * 逐个用户执行重建，单个用户失败不影响其他用户
+     *
+     * @param name 重建内容名称
+     * @param userIds 用户ID列表
+     * @param action 单个用户的重建操作
+     */
+    private void rebuild(String name, List<Long> userIds, Consumer<Long> action) {
+        log.info("开始重建{}，共{}个用户", name, userIds.size());
+        int failed = 0;
+        for (Long userId : userIds) {
+            try {
+                action.accept(userId);
+            } catch (Exception exception) {
+                failed++;
+                log.error("重建{}失败，用户ID: {}", name, userId, exception);
+            }
+        }
+        log.info("{}重建完成，成功{}个用户，失败{}个用户", name, userIds.size() - failed, failed);
+    }
+}
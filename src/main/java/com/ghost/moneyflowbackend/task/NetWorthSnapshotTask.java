@@ -0,0 +1,40 @@
+package com.ghost.moneyflowbackend.task;
+
+import com.ghost.moneyflowbackend.service.NetWorthService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class NetWorthSnapshotTask {
+
+    private final NetWorthService netWorthService;
+
+    @Scheduled(cron = "0 10 2 * * ?")
+    public void snapshotClosedMonths() {
+        try {
+            List<Long> userIds = netWorthService.listUsersMissingSnapshot();
+            if (userIds.isEmpty()) {
+                return;
+            }
+            int months = 0;
+            int failed = 0;
+            for (Long userId : userIds) {
+                try {
+                    months += netWorthService.snapshotClosedMonths(userId);
+                } catch (Exception exception) {
+                    failed++;
+                    log.error("净资产快照生成失败，用户ID: {}", userId, exception);
+                }
+            }
+            log.info("净资产快照生成完成，共{}个用户，写入{}个月份，失败{}个用户", userIds.size(), months, failed);
+        } catch (Exception exception) {
+            log.error("净资产快照任务执行失败", exception);
+        }
+    }
+}
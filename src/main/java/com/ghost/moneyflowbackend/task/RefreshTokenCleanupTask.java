@@ -0,0 +1,27 @@
+package com.ghost.moneyflowbackend.task;
+
+import com.ghost.moneyflowbackend.service.RefreshTokenService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class RefreshTokenCleanupTask {
+
+    private final RefreshTokenService refreshTokenService;
+
+    @Scheduled(fixedDelay = 60 * 60 * 1000L, initialDelay = 15 * 60 * 1000L)
+    public void cleanupExpiredTokens() {
+        try {
+            int removed = refreshTokenService.cleanupExpiredTokens();
+            if (removed > 0) {
+                log.info("过期刷新令牌清理完成，共清理{}条", removed);
+            }
+        } catch (Exception exception) {
+            log.error("过期刷新令牌清理失败", exception);
+        }
+    }
+}
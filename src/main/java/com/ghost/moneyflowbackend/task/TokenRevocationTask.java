@@ -0,0 +1,48 @@
+package com.ghost.moneyflowbackend.task;
+
+import com.ghost.moneyflowbackend.common.security.TokenRevocationStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TokenRevocationTask {
+
+    private final TokenRevocationStore tokenRevocationStore;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        try {
+            tokenRevocationStore.load();
+        } catch (Exception exception) {
+            log.error("Token吊销记录加载失败，将在下一次刷新时重试", exception);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.revocation-refresh-interval:5s}",
+            initialDelayString = "${security.jwt.revocation-refresh-interval:5s}")
+    public void refreshRevocations() {
+        try {
+            tokenRevocationStore.refresh();
+        } catch (Exception exception) {
+            log.error("Token吊销记录刷新失败", exception);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60 * 60 * 1000L, initialDelay = 10 * 60 * 1000L)
+    public void compactRevocations() {
+        try {
+            int removed = tokenRevocationStore.compact();
+            if (removed > 0) {
+                log.info("过期Token吊销记录清理完成，共清理{}条", removed);
+            }
+        } catch (Exception exception) {
+            log.error("过期Token吊销记录清理失败", exception);
+        }
+    }
+}
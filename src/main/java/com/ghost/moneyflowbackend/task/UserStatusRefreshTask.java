@@ -0,0 +1,36 @@
+package com.ghost.moneyflowbackend.task;
+
+import com.ghost.moneyflowbackend.common.security.UserStatusRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class UserStatusRefreshTask {
+
+    private final UserStatusRegistry userStatusRegistry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadUserStatuses() {
+        try {
+            userStatusRegistry.load();
+        } catch (Exception exception) {
+            log.error("用户状态加载失败，将在下一次刷新时重试", exception);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.jwt.status-refresh-interval:10s}",
+            initialDelayString = "${security.jwt.status-refresh-interval:10s}")
+    public void refreshUserStatuses() {
+        try {
+            userStatusRegistry.refresh();
+        } catch (Exception exception) {
+            log.error("用户状态刷新失败", exception);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ghost.moneyflowbackend.common.security;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 字符串布隆过滤器测试
+ *
+ * 散列是确定性的，误判数在固定输入下不会波动
+ */
+class BloomFilterTest {
+
+    /**
+     * 测试加入的元素一定命中，空过滤器不命中
+     */
+    @Test
+    void mightContainShouldReturnTrueForInsertedValues() {
+        BloomFilter filter = new BloomFilter(1000, 0.01);
+        Assertions.assertFalse(filter.mightContain("jti-0"));
+
+        for (int i = 0; i < 1000; i++) {
+            filter.put("jti-" + i);
+        }
+
+        for (int i = 0; i < 1000; i++) {
+            Assertions.assertTrue(filter.mightContain("jti-" + i), "jti-" + i);
+        }
+    }
+
+    /**
+     * 测试误判率：按预期元素数装满后，未加入的元素误判比例接近配置值
+     */
+    @Test
+    void mightContainShouldKeepFalsePositiveRateNearConfigured() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("jti-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        Assertions.assertTrue(falsePositives < 300, "误判数: " + falsePositives);
+    }
+
+    /**
+     * 测试预期元素数为 0 时仍可使用，位数组至少一个字
+     */
+    @Test
+    void filterShouldWorkWithZeroExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        filter.put("");
+        filter.put("jti-1");
+
+        Assertions.assertTrue(filter.mightContain(""));
+        Assertions.assertTrue(filter.mightContain("jti-1"));
+    }
+}
@@ -0,0 +1,127 @@
+package com.ghost.moneyflowbackend.common.security;
+
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.entity.SysUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * JWT 处理服务测试
+ *
+ * 解析器每次解析都会生成新的载荷对象，返回同一实例即说明命中了验签缓存
+ */
+class JwtServiceTest {
+
+    /**
+     * 初始签名密钥
+     */
+    private static final String SECRET = "test-secret-key-for-jwt-service-0001";
+
+    /**
+     * 认证配置
+     */
+    private AuthProperties authProperties;
+
+    /**
+     * 服务实例
+     */
+    private JwtService jwtService;
+
+    /**
+     * 初始化配置与服务
+     */
+    @BeforeEach
+    void setUp() {
+        authProperties = new AuthProperties();
+        authProperties.setSecret(SECRET);
+        jwtService = new JwtService(authProperties);
+    }
+
+    /**
+     * 测试签发后解析：载荷包含用户ID与状态快照，同一 Token 再次解析命中缓存
+     */
+    @Test
+    void parseTokenShouldCacheVerifiedClaims() {
+        String token = jwtService.generateToken(user());
+
+        Claims first = jwtService.parseToken(token);
+        Claims second = jwtService.parseToken(token);
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1L, jwtService.getUserId(first));
+        Assertions.assertEquals(0, jwtService.getStatus(first));
+        Assertions.assertEquals("user@example.com", first.getSubject());
+        Assertions.assertNotSame(first, jwtService.parseToken(jwtService.generateToken(user())));
+    }
+
+    /**
+     * 测试密钥变更：签名上下文重建，旧密钥签发的 Token 不再从缓存通过校验，新签发的 Token 正常解析
+     */
+    @Test
+    void parseTokenShouldRebuildContextAfterSecretChange() {
+        String oldToken = jwtService.generateToken(user());
+        jwtService.parseToken(oldToken);
+
+        authProperties.setSecret("test-secret-key-for-jwt-service-0002");
+
+        Assertions.assertThrows(SignatureException.class, () -> jwtService.parseToken(oldToken));
+        String newToken = jwtService.generateToken(user());
+        Assertions.assertEquals(1L, jwtService.getUserId(newToken));
+    }
+
+    /**
+     * 测试不缓存的 Token：过期 Token 解析失败；没有过期时间的 Token 每次都重新验签
+     */
+    @Test
+    void parseTokenShouldNotCacheExpiredOrNonExpiringTokens() {
+        String expired = Jwts.builder()
+                .subject("user@example.com")
+                .expiration(Date.from(Instant.now().minusSeconds(60)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        Assertions.assertThrows(ExpiredJwtException.class, () -> jwtService.parseToken(expired));
+
+        String nonExpiring = Jwts.builder()
+                .subject("user@example.com")
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        Assertions.assertNotSame(jwtService.parseToken(nonExpiring), jwtService.parseToken(nonExpiring));
+    }
+
+    /**
+     * 测试密钥过短：启动时直接失败
+     */
+    @Test
+    void constructorShouldRejectShortSecret() {
+        AuthProperties properties = new AuthProperties();
+        properties.setSecret("short");
+
+        BusinessException exception = Assertions.assertThrows(BusinessException.class,
+                () -> new JwtService(properties));
+
+        Assertions.assertEquals(ErrorCode.INTERNAL_ERROR, exception.getCode());
+    }
+
+    /**
+     * 构造用户
+     *
+     * @return 用户
+     */
+    private SysUser user() {
+        SysUser user = new SysUser();
+        user.setId(1L);
+        user.setEmail("user@example.com");
+        return user;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ghost.moneyflowbackend.common.utils;
+
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 游标分页工具类测试
+ */
+class CursorUtilsTest {
+
+    /**
+     * 测试编码后可还原排序键
+     */
+    @Test
+    void decodeShouldReturnEncodedParts() {
+        String cursor = CursorUtils.encode("2026-02-04", "1001");
+
+        String[] parts = CursorUtils.decode(cursor, 2);
+
+        Assertions.assertArrayEquals(new String[]{"2026-02-04", "1001"}, parts);
+    }
+
+    /**
+     * 测试空排序键片段不会丢失
+     */
+    @Test
+    void decodeShouldKeepEmptyParts() {
+        String cursor = CursorUtils.encode("", "7");
+
+        String[] parts = CursorUtils.decode(cursor, 2);
+
+        Assertions.assertEquals("", parts[0]);
+        Assertions.assertEquals("7", parts[1]);
+    }
+
+    /**
+     * 测试最后一个片段中的分隔符被保留
+     */
+    @Test
+    void decodeShouldKeepSeparatorInLastPart() {
+        String cursor = CursorUtils.encode("7", "餐饮|外卖");
+
+        String[] parts = CursorUtils.decode(cursor, 2);
+
+        Assertions.assertArrayEquals(new String[]{"7", "餐饮|外卖"}, parts);
+    }
+
+    /**
+     * 测试非法游标抛出参数异常
+     */
+    @Test
+    void decodeShouldThrowWhenCursorInvalid() {
+        BusinessException exception = Assertions.assertThrows(BusinessException.class,
+                () -> CursorUtils.decode("%%%", 2));
+        Assertions.assertEquals(ErrorCode.INVALID_PARAM, exception.getCode());
+
+        String wrongParts = CursorUtils.encode("only-one");
+        Assertions.assertThrows(BusinessException.class, () -> CursorUtils.decode(wrongParts, 2));
+    }
+}
@@ -0,0 +1,203 @@
+package com.ghost.moneyflowbackend.common.web;
+
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.model.Result;
+import com.ghost.moneyflowbackend.common.security.SysUserDetails;
+import com.ghost.moneyflowbackend.entity.SysUser;
+import com.ghost.moneyflowbackend.service.ChangeLogService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.Collections;
+
+/**
+ * 数据版本拦截器与响应 ETag 测试
+ */
+@ExtendWith(MockitoExtension.class)
+class DataVersionInterceptorTest {
+
+    /**
+     * 用户1在数据版本 7 时的 ETag
+     */
+    private static final String ETAG = "W/\"1-7\"";
+
+    /**
+     * 变更日志服务
+     */
+    @Mock
+    private ChangeLogService changeLogService;
+
+    /**
+     * 拦截器实例
+     */
+    private DataVersionInterceptor interceptor;
+
+    /**
+     * 初始化登录用户与拦截器
+     */
+    @BeforeEach
+    void setUp() {
+        SysUser user = new SysUser();
+        user.setId(1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new SysUserDetails(user), null, Collections.emptyList()));
+        interceptor = new DataVersionInterceptor(changeLogService);
+    }
+
+    /**
+     * 清理登录用户
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * 测试条件请求命中：弱、强形式，列表中任一项以及 * 都返回 304 并带 ETag；HEAD 与 GET 相同
+     */
+    @Test
+    void preHandleShouldReturnNotModifiedWhenMatched() throws Exception {
+        Mockito.when(changeLogService.getVersion(1L)).thenReturn(7L);
+        for (String ifNoneMatch : new String[]{"W/\"1-7\"", "\"1-7\"", "\"1-6\", W/\"1-7\"", "*"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            boolean proceed = interceptor.preHandle(request, response, handler("versioned"));
+
+            Assertions.assertFalse(proceed, ifNoneMatch);
+            Assertions.assertEquals(304, response.getStatus(), ifNoneMatch);
+            Assertions.assertEquals(ETAG, response.getHeader(HttpHeaders.ETAG), ifNoneMatch);
+            Assertions.assertEquals(DataVersionInterceptor.CACHE_CONTROL, response.getHeader(HttpHeaders.CACHE_CONTROL));
+        }
+        MockHttpServletRequest head = new MockHttpServletRequest("HEAD", "/api/accounts");
+        head.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        Assertions.assertFalse(interceptor.preHandle(head, new MockHttpServletResponse(), handler("versioned")));
+    }
+
+    /**
+     * 测试条件请求未命中：继续执行查询，ETag 留给响应写出时设置
+     */
+    @Test
+    void preHandleShouldProceedWhenVersionChanged() throws Exception {
+        Mockito.when(changeLogService.getVersion(1L)).thenReturn(7L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "W/\"1-6\", W/\"2-7\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        boolean proceed = interceptor.preHandle(request, response, handler("versioned"));
+
+        Assertions.assertTrue(proceed);
+        Assertions.assertEquals(200, response.getStatus());
+        Assertions.assertNull(response.getHeader(HttpHeaders.ETAG));
+        Assertions.assertEquals(ETAG, request.getAttribute(DataVersionInterceptor.ETAG_ATTRIBUTE));
+    }
+
+    /**
+     * 测试非查询请求与未标记的处理方法：不读取版本，也不短路
+     */
+    @Test
+    void preHandleShouldIgnoreNonGetAndUnannotatedHandlers() throws Exception {
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/accounts");
+        post.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        Assertions.assertTrue(interceptor.preHandle(post, new MockHttpServletResponse(), handler("versioned")));
+
+        MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/accounts");
+        get.addHeader(HttpHeaders.IF_NONE_MATCH, "*");
+        Assertions.assertTrue(interceptor.preHandle(get, new MockHttpServletResponse(), handler("plain")));
+
+        Assertions.assertNull(post.getAttribute(DataVersionInterceptor.ETAG_ATTRIBUTE));
+        Assertions.assertNull(get.getAttribute(DataVersionInterceptor.ETAG_ATTRIBUTE));
+        Mockito.verifyNoInteractions(changeLogService);
+    }
+
+    /**
+     * 测试响应 ETag：业务码成功时设置，业务失败时不设置
+     */
+    @Test
+    void responseAdviceShouldSetEtagOnlyForSuccess() throws Exception {
+        DataVersionResponseAdvice advice = new DataVersionResponseAdvice();
+        MethodParameter returnType = new MethodParameter(SampleController.class.getMethod("versioned"), -1);
+        Assertions.assertTrue(advice.supports(returnType, MappingJackson2HttpMessageConverter.class));
+        Assertions.assertFalse(advice.supports(new MethodParameter(SampleController.class.getMethod("plain"), -1),
+                MappingJackson2HttpMessageConverter.class));
+
+        ServletServerHttpResponse success = writeBody(advice, returnType, Result.ok("data"));
+        Assertions.assertEquals(ETAG, success.getHeaders().getETag());
+        Assertions.assertEquals(DataVersionInterceptor.CACHE_CONTROL, success.getHeaders().getCacheControl());
+
+        ServletServerHttpResponse failure = writeBody(advice, returnType, Result.fail(ErrorCode.INVALID_PARAM, "参数错误"));
+        Assertions.assertNull(failure.getHeaders().getETag());
+        Assertions.assertNull(failure.getHeaders().getCacheControl());
+    }
+
+    /**
+     * 经响应增强写出响应体，请求上已保存拦截器读取到的 ETag
+     *
+     * @param advice 响应增强
+     * @param returnType 返回值类型
+     * @param body 响应体
+     * @return 响应
+     */
+    private ServletServerHttpResponse writeBody(DataVersionResponseAdvice advice, MethodParameter returnType,
+                                                Object body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        request.setAttribute(DataVersionInterceptor.ETAG_ATTRIBUTE, ETAG);
+        ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+        advice.beforeBodyWrite(body, returnType, MediaType.APPLICATION_JSON, MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request), response);
+        return response;
+    }
+
+    /**
+     * 构造处理方法
+     *
+     * @param methodName 方法名
+     * @return 处理方法
+     */
+    private HandlerMethod handler(String methodName) throws NoSuchMethodException {
+        return new HandlerMethod(new SampleController(), SampleController.class.getMethod(methodName));
+    }
+
+    /**
+     * 测试用控制器
+     */
+    static class SampleController {
+
+        /**
+         * 标记了数据版本的查询
+         *
+         * @return 响应
+         */
+        @DataVersioned
+        public Result<String> versioned() {
+            return Result.ok("data");
+        }
+
+        /**
+         * 未标记的查询
+         *
+         * @return 响应
+         */
+        public Result<String> plain() {
+            return Result.ok("data");
+        }
+    }
+}
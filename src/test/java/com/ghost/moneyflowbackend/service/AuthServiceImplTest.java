@@ -3,14 +3,20 @@ package com.ghost.moneyflowbackend.service;
 import com.ghost.moneyflowbackend.common.exception.BusinessException;
 import com.ghost.moneyflowbackend.common.exception.ErrorCode;
 import com.ghost.moneyflowbackend.common.security.JwtService;
+import com.ghost.moneyflowbackend.common.security.SysUserCache;
 import com.ghost.moneyflowbackend.common.security.SysUserDetails;
+import com.ghost.moneyflowbackend.common.security.TokenRevocationStore;
 import com.ghost.moneyflowbackend.entity.SysUser;
 import com.ghost.moneyflowbackend.mapper.SysUserMapper;
 import com.ghost.moneyflowbackend.model.dto.AuthLoginRequest;
+import com.ghost.moneyflowbackend.model.dto.AuthLogoutRequest;
 import com.ghost.moneyflowbackend.model.dto.AuthRegisterRequest;
 import com.ghost.moneyflowbackend.model.vo.AuthLoginResponse;
 import com.ghost.moneyflowbackend.model.vo.AuthMeResponse;
 import com.ghost.moneyflowbackend.service.impl.AuthServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -20,9 +26,13 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.util.Date;
+
 /**
  * 登录注册鉴权服务测试
  */
@@ -53,12 +63,44 @@ class AuthServiceImplTest {
     @Mock
     private JwtService jwtService;
 
+    /**
+     * 默认数据初始化服务
+     */
+    @Mock
+    private DefaultDataInitializer defaultDataInitializer;
+
+    /**
+     * 用户缓存
+     */
+    @Mock
+    private SysUserCache sysUserCache;
+
+    /**
+     * Token 吊销存储
+     */
+    @Mock
+    private TokenRevocationStore tokenRevocationStore;
+
+    /**
+     * 刷新令牌服务
+     */
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
     /**
      * 服务实例
      */
     @InjectMocks
     private AuthServiceImpl authService;
 
+    /**
+     * 清理安全上下文
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     /**
      * 测试注册成功流程
      */
@@ -72,6 +114,7 @@ class AuthServiceImplTest {
         Mockito.when(sysUserMapper.selectCount(Mockito.any())).thenReturn(0L);
         Mockito.when(passwordEncoder.encode("password123")).thenReturn("hashed");
         Mockito.when(jwtService.generateToken(Mockito.any())).thenReturn("jwt-token");
+        Mockito.when(refreshTokenService.issue(1L)).thenReturn("refresh-token");
         Mockito.when(sysUserMapper.insert(Mockito.any(SysUser.class))).thenAnswer(invocation -> {
             SysUser user = invocation.getArgument(0);
             user.setId(1L);
@@ -81,9 +124,11 @@ class AuthServiceImplTest {
         AuthLoginResponse response = authService.register(request);
 
         Assertions.assertEquals("jwt-token", response.getToken());
+        Assertions.assertEquals("refresh-token", response.getRefreshToken());
         Assertions.assertEquals(1L, response.getUser().getId());
         Assertions.assertEquals("user@example.com", response.getUser().getEmail());
         Assertions.assertEquals("测试用户", response.getUser().getUsername());
+        Mockito.verify(defaultDataInitializer).initializeDefaultData(1L);
     }
 
     /**
@@ -121,10 +166,12 @@ class AuthServiceImplTest {
         user.setDelFlag(0);
         Mockito.when(sysUserMapper.selectOne(Mockito.any())).thenReturn(user);
         Mockito.when(jwtService.generateToken(user)).thenReturn("jwt-token");
+        Mockito.when(refreshTokenService.issue(9L)).thenReturn("refresh-token");
 
         AuthLoginResponse response = authService.login(request);
 
         Assertions.assertEquals("jwt-token", response.getToken());
+        Assertions.assertEquals("refresh-token", response.getRefreshToken());
         Assertions.assertEquals(9L, response.getUser().getId());
         Assertions.assertEquals("user@example.com", response.getUser().getEmail());
     }
@@ -155,20 +202,68 @@ class AuthServiceImplTest {
         user.setUsername("测试用户");
         user.setEmail("user@example.com");
         user.setStatus(0);
-        SysUserDetails details = new SysUserDetails(user);
+        authenticate(7L, null);
+        Mockito.when(sysUserCache.getById(7L)).thenReturn(user);
 
-        AuthMeResponse response = authService.currentUser(details);
+        AuthMeResponse response = authService.currentUser();
 
         Assertions.assertEquals(7L, response.getUser().getId());
         Assertions.assertEquals("user@example.com", response.getUser().getEmail());
     }
 
     /**
-     * 测试获取当前用户信息时认证为空
+     * 测试获取当前用户信息时用户已不存在
      */
     @Test
-    void currentUserShouldThrowWhenNull() {
-        BusinessException exception = Assertions.assertThrows(BusinessException.class, () -> authService.currentUser(null));
+    void currentUserShouldThrowWhenUserMissing() {
+        authenticate(7L, null);
+        Mockito.when(sysUserCache.getById(7L)).thenReturn(null);
+
+        BusinessException exception = Assertions.assertThrows(BusinessException.class, () -> authService.currentUser());
         Assertions.assertEquals(ErrorCode.UNAUTHORIZED, exception.getCode());
     }
+
+    /**
+     * 测试退出登录：吊销当前 Token 与当前用户的刷新令牌
+     */
+    @Test
+    void logoutShouldRevokeTokenAndRefreshToken() {
+        Date expiration = new Date(System.currentTimeMillis() + 60000L);
+        authenticate(7L, Jwts.claims().id("jti-1").expiration(expiration).build());
+        AuthLogoutRequest request = new AuthLogoutRequest();
+        request.setRefreshToken("refresh-token");
+
+        authService.logout(request);
+
+        Mockito.verify(refreshTokenService).revoke(7L, "refresh-token");
+        Mockito.verify(tokenRevocationStore).revoke(Mockito.eq("jti-1"), Mockito.eq(7L), Mockito.any());
+    }
+
+    /**
+     * 测试退出登录：空请求体只吊销当前 Token
+     */
+    @Test
+    void logoutShouldSkipRefreshTokenWhenAbsent() {
+        Date expiration = new Date(System.currentTimeMillis() + 60000L);
+        authenticate(7L, Jwts.claims().id("jti-1").expiration(expiration).build());
+
+        authService.logout(new AuthLogoutRequest());
+
+        Mockito.verifyNoInteractions(refreshTokenService);
+        Mockito.verify(tokenRevocationStore).revoke(Mockito.eq("jti-1"), Mockito.eq(7L), Mockito.any());
+    }
+
+    /**
+     * 以指定用户登录安全上下文
+     *
+     * @param userId 用户ID
+     * @param claims Token 载荷
+     */
+    private void authenticate(Long userId, Claims claims) {
+        SysUser user = new SysUser();
+        user.setId(userId);
+        SysUserDetails details = new SysUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(details, claims, details.getAuthorities()));
+    }
 }
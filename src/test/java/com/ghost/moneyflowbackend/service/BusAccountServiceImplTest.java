@@ -0,0 +1,150 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.security.SysUserDetails;
+import com.ghost.moneyflowbackend.entity.BusAccount;
+import com.ghost.moneyflowbackend.entity.SysUser;
+import com.ghost.moneyflowbackend.mapper.BusAccountMapper;
+import com.ghost.moneyflowbackend.mapper.BusDailySummaryMapper;
+import com.ghost.moneyflowbackend.mapper.BusTransactionMapper;
+import com.ghost.moneyflowbackend.model.dto.AccountDailyFlowRow;
+import com.ghost.moneyflowbackend.model.vo.AccountBalanceHistoryVO;
+import com.ghost.moneyflowbackend.model.vo.AccountBalancePointVO;
+import com.ghost.moneyflowbackend.service.impl.BusAccountServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 资产账户服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+class BusAccountServiceImplTest {
+
+    /**
+     * 账户数据访问层
+     */
+    @Mock
+    private BusAccountMapper busAccountMapper;
+
+    /**
+     * 交易数据访问层
+     */
+    @Mock
+    private BusTransactionMapper busTransactionMapper;
+
+    /**
+     * 日汇总数据访问层
+     */
+    @Mock
+    private BusDailySummaryMapper busDailySummaryMapper;
+
+    /**
+     * 净资产服务
+     */
+    @Mock
+    private NetWorthService netWorthService;
+
+    /**
+     * 变更日志服务
+     */
+    @Mock
+    private ChangeLogService changeLogService;
+
+    /**
+     * 服务实例
+     */
+    private BusAccountServiceImpl accountService;
+
+    /**
+     * 初始化登录用户与账户
+     */
+    @BeforeEach
+    void setUp() {
+        SysUser user = new SysUser();
+        user.setId(1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new SysUserDetails(user), null, Collections.emptyList()));
+        accountService = new BusAccountServiceImpl(busTransactionMapper, busDailySummaryMapper, netWorthService, changeLogService);
+        ReflectionTestUtils.setField(accountService, "baseMapper", busAccountMapper);
+        BusAccount account = new BusAccount();
+        account.setId(10L);
+        account.setUserId(1L);
+        account.setInitialBalance(new BigDecimal("100.00"));
+        account.setDelFlag(0);
+        Mockito.lenient().when(busAccountMapper.selectById(10L)).thenReturn(account);
+    }
+
+    /**
+     * 清理登录用户
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * 测试按月汇总余额：开始日期之前的流水计入期初，最后一期截止到结束日期
+     */
+    @Test
+    void balanceHistoryShouldAccumulateFlowsByMonth() {
+        Mockito.when(busDailySummaryMapper.selectAccountDailyFlows(1L, 10L, LocalDate.of(2026, 3, 15)))
+                .thenReturn(List.of(
+                        flow(LocalDate.of(2026, 1, 15), "50.00"),
+                        flow(LocalDate.of(2026, 2, 3), "-20.50"),
+                        flow(LocalDate.of(2026, 2, 20), "10.00")));
+
+        AccountBalanceHistoryVO history = accountService.getBalanceHistory(10L, "month",
+                LocalDate.of(2026, 2, 10), LocalDate.of(2026, 3, 15));
+
+        Assertions.assertEquals(LocalDate.of(2026, 2, 1), history.getStartDate());
+        Assertions.assertEquals(new BigDecimal("150.00"), history.getOpeningBalance());
+        Assertions.assertEquals(new BigDecimal("139.50"), history.getClosingBalance());
+        List<AccountBalancePointVO> points = history.getPoints();
+        Assertions.assertEquals(2, points.size());
+        Assertions.assertEquals(LocalDate.of(2026, 2, 28), points.get(0).getPeriodEnd());
+        Assertions.assertEquals(new BigDecimal("139.50"), points.get(0).getBalance());
+        Assertions.assertEquals(new BigDecimal("-10.50"), points.get(0).getChange());
+        Assertions.assertEquals(LocalDate.of(2026, 3, 15), points.get(1).getPeriodEnd());
+        Assertions.assertEquals(new BigDecimal("139.50"), points.get(1).getBalance());
+        Assertions.assertEquals(new BigDecimal("0.00"), points.get(1).getChange());
+    }
+
+    /**
+     * 测试不支持的粒度
+     */
+    @Test
+    void balanceHistoryShouldRejectUnknownGranularity() {
+        BusinessException exception = Assertions.assertThrows(BusinessException.class,
+                () -> accountService.getBalanceHistory(10L, "year", null, null));
+        Assertions.assertEquals(ErrorCode.INVALID_PARAM, exception.getCode());
+    }
+
+    /**
+     * 构造每日净流入行
+     *
+     * @param date 日期
+     * @param amount 净流入
+     * @return 每日净流入行
+     */
+    private AccountDailyFlowRow flow(LocalDate date, String amount) {
+        AccountDailyFlowRow row = new AccountDailyFlowRow();
+        row.setDate(date);
+        row.setNetAmount(new BigDecimal(amount));
+        return row;
+    }
+}
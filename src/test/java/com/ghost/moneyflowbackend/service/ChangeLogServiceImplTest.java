@@ -0,0 +1,166 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.entity.SysSyncChange;
+import com.ghost.moneyflowbackend.mapper.SysSyncChangeMapper;
+import com.ghost.moneyflowbackend.mapper.SysSyncSequenceMapper;
+import com.ghost.moneyflowbackend.service.impl.ChangeLogServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 用户数据变更记录服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+class ChangeLogServiceImplTest {
+
+    /**
+     * 变更序号数据访问层
+     */
+    @Mock
+    private SysSyncSequenceMapper sysSyncSequenceMapper;
+
+    /**
+     * 变更记录数据访问层
+     */
+    @Mock
+    private SysSyncChangeMapper sysSyncChangeMapper;
+
+    /**
+     * 服务实例
+     */
+    private ChangeLogServiceImpl changeLogService;
+
+    /**
+     * 初始化服务
+     */
+    @BeforeEach
+    void setUp() {
+        changeLogService = new ChangeLogServiceImpl(sysSyncSequenceMapper, sysSyncChangeMapper);
+    }
+
+    /**
+     * 测试序号分配：去重去空后按ID升序，依次占用本次递增出的序号段
+     */
+    @Test
+    void recordChangesShouldAssignConsecutiveSeqs() {
+        Mockito.when(sysSyncSequenceMapper.increment(1L, 3)).thenReturn(1);
+        Mockito.when(sysSyncSequenceMapper.selectSeq(1L)).thenReturn(13L);
+
+        changeLogService.recordChanges(1L, "account", Arrays.asList(30L, null, 10L, 20L, 10L), true);
+
+        List<SysSyncChange> changes = captureChanges(1);
+        Assertions.assertEquals(3, changes.size());
+        assertChange(changes.get(0), 10L, 11L);
+        assertChange(changes.get(1), 20L, 12L);
+        assertChange(changes.get(2), 30L, 13L);
+        Assertions.assertEquals(1, changes.get(0).getDeleted());
+        Mockito.verify(sysSyncSequenceMapper, Mockito.never()).insertIgnore(Mockito.any());
+    }
+
+    /**
+     * 测试首次写入：序号行不存在时先补录初始变更，再接着补录后的序号分配
+     */
+    @Test
+    void recordChangesShouldInitializeBeforeFirstIncrement() {
+        Mockito.when(sysSyncSequenceMapper.increment(1L, 1)).thenReturn(0, 1);
+        Mockito.when(sysSyncSequenceMapper.insertIgnore(1L)).thenReturn(1);
+        Mockito.when(sysSyncChangeMapper.insertInitialChanges(Mockito.eq(1L), Mockito.any())).thenReturn(5);
+        Mockito.when(sysSyncSequenceMapper.selectSeq(1L)).thenReturn(6L);
+
+        changeLogService.recordChange(1L, "goal", 7L, false);
+
+        InOrder inOrder = Mockito.inOrder(sysSyncSequenceMapper, sysSyncChangeMapper);
+        inOrder.verify(sysSyncSequenceMapper).insertIgnore(1L);
+        inOrder.verify(sysSyncChangeMapper).insertInitialChanges(Mockito.eq(1L), Mockito.any());
+        inOrder.verify(sysSyncSequenceMapper).updateSeq(1L, 5L);
+        inOrder.verify(sysSyncSequenceMapper).increment(1L, 1);
+        List<SysSyncChange> changes = captureChanges(1);
+        assertChange(changes.get(0), 7L, 6L);
+        Assertions.assertEquals(0, changes.get(0).getDeleted());
+    }
+
+    /**
+     * 测试大批量写入：按单条语句的最大行数分批，序号跨批连续
+     */
+    @Test
+    void recordChangesShouldSplitLargeBatches() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 501; id++) {
+            ids.add(id);
+        }
+        Mockito.when(sysSyncSequenceMapper.increment(1L, 501)).thenReturn(1);
+        Mockito.when(sysSyncSequenceMapper.selectSeq(1L)).thenReturn(1501L);
+
+        changeLogService.recordChanges(1L, "transaction", ids, false);
+
+        List<SysSyncChange> changes = captureChanges(2);
+        Assertions.assertEquals(501, changes.size());
+        assertChange(changes.get(0), 1L, 1001L);
+        assertChange(changes.get(500), 501L, 1501L);
+    }
+
+    /**
+     * 测试空集合：不递增序号也不写入
+     */
+    @Test
+    void recordChangesShouldSkipEmptyIds() {
+        changeLogService.recordChanges(1L, "account", Arrays.asList(null, null), false);
+
+        Mockito.verifyNoInteractions(sysSyncSequenceMapper, sysSyncChangeMapper);
+    }
+
+    /**
+     * 测试初始化检查：已有序号行返回 true；没有时补录并返回 false；并发补录失败的一方不重复补录
+     */
+    @Test
+    void ensureInitializedShouldReportWhetherAlreadyInitialized() {
+        Mockito.when(sysSyncSequenceMapper.selectSeq(1L)).thenReturn(3L);
+        Assertions.assertTrue(changeLogService.ensureInitialized(1L));
+
+        Mockito.when(sysSyncSequenceMapper.selectSeq(2L)).thenReturn(null);
+        Mockito.when(sysSyncSequenceMapper.insertIgnore(2L)).thenReturn(0);
+        Assertions.assertFalse(changeLogService.ensureInitialized(2L));
+        Mockito.verifyNoInteractions(sysSyncChangeMapper);
+    }
+
+    /**
+     * 捕获写入的全部变更记录
+     *
+     * @param batches 预期的写入批次数
+     * @return 变更记录列表
+     */
+    @SuppressWarnings("unchecked")
+    private List<SysSyncChange> captureChanges(int batches) {
+        ArgumentCaptor<List<SysSyncChange>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(sysSyncChangeMapper, Mockito.times(batches)).upsertBatch(captor.capture());
+        List<SysSyncChange> changes = new ArrayList<>();
+        for (List<SysSyncChange> batch : captor.getAllValues()) {
+            changes.addAll(batch);
+        }
+        return changes;
+    }
+
+    /**
+     * 校验变更记录
+     *
+     * @param change 变更记录
+     * @param entityId 数据ID
+     * @param seq 变更序号
+     */
+    private void assertChange(SysSyncChange change, Long entityId, Long seq) {
+        Assertions.assertEquals(1L, change.getUserId());
+        Assertions.assertEquals(entityId, change.getEntityId());
+        Assertions.assertEquals(seq, change.getSeq());
+    }
+}
@@ -0,0 +1,281 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.common.config.LedgerAuditProperties;
+import com.ghost.moneyflowbackend.entity.SysLedgerAuditCheckpoint;
+import com.ghost.moneyflowbackend.entity.SysLedgerAuditFinding;
+import com.ghost.moneyflowbackend.entity.SysLedgerAuditRun;
+import com.ghost.moneyflowbackend.mapper.SysLedgerAuditCheckpointMapper;
+import com.ghost.moneyflowbackend.mapper.SysLedgerAuditFindingMapper;
+import com.ghost.moneyflowbackend.mapper.SysLedgerAuditRunMapper;
+import com.ghost.moneyflowbackend.service.impl.LedgerAuditServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 账本一致性巡检服务测试
+ *
+ * 工作线程在调用线程内同步执行，断言在 startAudit 返回后即可进行
+ */
+@ExtendWith(MockitoExtension.class)
+class LedgerAuditServiceImplTest {
+
+    /**
+     * 巡检批次数据访问层
+     */
+    @Mock
+    private SysLedgerAuditRunMapper sysLedgerAuditRunMapper;
+
+    /**
+     * 巡检检查点数据访问层
+     */
+    @Mock
+    private SysLedgerAuditCheckpointMapper sysLedgerAuditCheckpointMapper;
+
+    /**
+     * 巡检问题数据访问层
+     */
+    @Mock
+    private SysLedgerAuditFindingMapper sysLedgerAuditFindingMapper;
+
+    /**
+     * 事务模板
+     */
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 巡检配置
+     */
+    private LedgerAuditProperties properties;
+
+    /**
+     * 已提交的工作线程数
+     */
+    private final AtomicInteger submittedWorkers = new AtomicInteger();
+
+    /**
+     * 同时接受的工作线程上限，超出时拒绝
+     */
+    private int acceptedWorkers;
+
+    /**
+     * 初始化配置、同步线程池与默认的数据访问行为
+     */
+    @BeforeEach
+    void setUp() {
+        properties = new LedgerAuditProperties();
+        properties.setPartitionSize(100);
+        properties.setParallelism(2);
+        properties.setPauseRatio(0.0);
+        properties.setMinPauseMillis(0L);
+        acceptedWorkers = Integer.MAX_VALUE;
+        Mockito.lenient().when(sysLedgerAuditRunMapper.acquireLease(Mockito.anyString(), Mockito.anyInt())).thenReturn(1);
+        Mockito.lenient().when(sysLedgerAuditRunMapper.renewLease(Mockito.anyString(), Mockito.anyInt())).thenReturn(1);
+        Mockito.lenient().when(sysLedgerAuditCheckpointMapper.insertIgnore(Mockito.any())).thenReturn(1);
+        Mockito.lenient().doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(Mockito.any());
+    }
+
+    /**
+     * 测试新批次：清理过期批次，扫描全部分区后标记完成并释放租约
+     */
+    @Test
+    void startAuditShouldScanAllPartitionsAndComplete() {
+        Mockito.when(sysLedgerAuditRunMapper.selectMaxUserId()).thenReturn(250L);
+        Mockito.when(sysLedgerAuditRunMapper.insert(Mockito.any(SysLedgerAuditRun.class))).thenAnswer(invocation -> {
+            SysLedgerAuditRun run = invocation.getArgument(0);
+            run.setId(7L);
+            return 1;
+        });
+        Mockito.when(sysLedgerAuditRunMapper.selectById(7L)).thenReturn(run(7L));
+
+        newService().startAudit("manual");
+
+        Mockito.verify(sysLedgerAuditFindingMapper).deleteByRunStartedBefore(Mockito.any());
+        Mockito.verify(sysLedgerAuditCheckpointMapper).deleteByRunStartedBefore(Mockito.any());
+        Mockito.verify(sysLedgerAuditRunMapper).deleteStartedBefore(Mockito.any());
+        List<SysLedgerAuditCheckpoint> checkpoints = captureCheckpoints(3);
+        Assertions.assertEquals(0L, checkpoints.get(0).getStartUserId());
+        Assertions.assertEquals(100L, checkpoints.get(1).getStartUserId());
+        Assertions.assertEquals(200L, checkpoints.get(2).getStartUserId());
+        Assertions.assertEquals(300L, checkpoints.get(2).getEndUserId());
+        Mockito.verify(sysLedgerAuditRunMapper, Mockito.times(3)).incrementProgress(7L, 0);
+        Assertions.assertEquals("completed", captureRunUpdate().getStatus());
+        Mockito.verify(sysLedgerAuditRunMapper).releaseLease(Mockito.anyString());
+    }
+
+    /**
+     * 测试继续中断批次：已有检查点的分区不再扫描，也不创建新批次
+     */
+    @Test
+    void startAuditShouldSkipCheckpointedPartitionsOnResume() {
+        SysLedgerAuditRun interrupted = run(7L);
+        Mockito.when(sysLedgerAuditRunMapper.selectOne(Mockito.any())).thenReturn(interrupted);
+        Mockito.when(sysLedgerAuditCheckpointMapper.selectFinishedStarts(7L)).thenReturn(List.of(0L, 200L));
+        Mockito.when(sysLedgerAuditRunMapper.selectById(7L)).thenReturn(interrupted);
+
+        newService().startAudit("scheduled");
+
+        Mockito.verify(sysLedgerAuditRunMapper, Mockito.never()).insert(Mockito.any(SysLedgerAuditRun.class));
+        Mockito.verify(sysLedgerAuditFindingMapper).selectInvalidAccountTransactions(Mockito.eq(100L),
+                Mockito.eq(200L), Mockito.anyInt());
+        Mockito.verify(sysLedgerAuditFindingMapper, Mockito.times(1)).selectInvalidAccountTransactions(Mockito.any(),
+                Mockito.any(), Mockito.anyInt());
+        List<SysLedgerAuditCheckpoint> checkpoints = captureCheckpoints(1);
+        Assertions.assertEquals(100L, checkpoints.get(0).getStartUserId());
+        Assertions.assertEquals("completed", captureRunUpdate().getStatus());
+    }
+
+    /**
+     * 测试检查点已由其他实例写入：不重复写入问题与进度
+     */
+    @Test
+    void auditPartitionShouldSkipWritesWhenCheckpointExists() {
+        SysLedgerAuditRun interrupted = run(7L);
+        interrupted.setTotalPartitions(1);
+        Mockito.when(sysLedgerAuditRunMapper.selectOne(Mockito.any())).thenReturn(interrupted);
+        Mockito.when(sysLedgerAuditRunMapper.selectById(7L)).thenReturn(interrupted);
+        Mockito.when(sysLedgerAuditFindingMapper.selectInvalidAccountTransactions(Mockito.any(), Mockito.any(),
+                Mockito.anyInt())).thenReturn(List.of(new SysLedgerAuditFinding()));
+        Mockito.when(sysLedgerAuditCheckpointMapper.insertIgnore(Mockito.any())).thenReturn(0);
+
+        newService().startAudit("scheduled");
+
+        Mockito.verify(sysLedgerAuditFindingMapper, Mockito.never()).insertBatch(Mockito.any());
+        Mockito.verify(sysLedgerAuditRunMapper, Mockito.never()).incrementProgress(Mockito.any(), Mockito.anyInt());
+    }
+
+    /**
+     * 测试失去租约：停止领取分区，批次保持执行中，交由接管的实例继续
+     */
+    @Test
+    void startAuditShouldStopWithoutFinishingWhenLeaseLost() {
+        SysLedgerAuditRun interrupted = run(7L);
+        Mockito.when(sysLedgerAuditRunMapper.selectOne(Mockito.any())).thenReturn(interrupted);
+        Mockito.when(sysLedgerAuditRunMapper.renewLease(Mockito.anyString(), Mockito.anyInt())).thenReturn(1, 0);
+
+        newService().startAudit("scheduled");
+
+        captureCheckpoints(1);
+        Mockito.verify(sysLedgerAuditRunMapper, Mockito.never()).updateById(Mockito.any(SysLedgerAuditRun.class));
+    }
+
+    /**
+     * 测试分区失败：其余分区不再扫描，批次标记失败并记录原因
+     */
+    @Test
+    void startAuditShouldMarkRunFailedWhenPartitionFails() {
+        SysLedgerAuditRun interrupted = run(7L);
+        Mockito.when(sysLedgerAuditRunMapper.selectOne(Mockito.any())).thenReturn(interrupted);
+        Mockito.when(sysLedgerAuditRunMapper.selectById(7L)).thenReturn(interrupted);
+        Mockito.when(sysLedgerAuditFindingMapper.selectBalanceDrifts(Mockito.any(), Mockito.any(), Mockito.anyInt()))
+                .thenThrow(new IllegalStateException("boom"));
+
+        newService().startAudit("scheduled");
+
+        Mockito.verify(sysLedgerAuditCheckpointMapper, Mockito.never()).insertIgnore(Mockito.any());
+        SysLedgerAuditRun update = captureRunUpdate();
+        Assertions.assertEquals("failed", update.getStatus());
+        Assertions.assertEquals("boom", update.getErrorMessage());
+    }
+
+    /**
+     * 测试工作线程提交被拒绝：扣除未启动的线程后由最后退出的线程结束批次，之后可以再次触发
+     */
+    @Test
+    void startAuditShouldFinishRunWhenWorkerRejected() {
+        SysLedgerAuditRun interrupted = run(7L);
+        Mockito.when(sysLedgerAuditRunMapper.selectOne(Mockito.any())).thenReturn(interrupted);
+        Mockito.when(sysLedgerAuditRunMapper.selectById(7L)).thenReturn(interrupted);
+        acceptedWorkers = 1;
+        LedgerAuditService service = newService();
+
+        service.startAudit("scheduled");
+
+        captureCheckpoints(3);
+        Assertions.assertEquals("failed", captureRunUpdate().getStatus());
+        Mockito.verify(sysLedgerAuditRunMapper).releaseLease(Mockito.anyString());
+
+        service.startAudit("scheduled");
+        Mockito.verify(sysLedgerAuditRunMapper, Mockito.times(2)).acquireLease(Mockito.anyString(), Mockito.anyInt());
+    }
+
+    /**
+     * 创建服务实例，工作线程同步执行，超过接受上限的提交被拒绝
+     *
+     * @return 服务实例
+     */
+    private LedgerAuditService newService() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                if (submittedWorkers.incrementAndGet() > acceptedWorkers) {
+                    throw new RejectedExecutionException("queue full");
+                }
+                task.run();
+            }
+        };
+        return new LedgerAuditServiceImpl(sysLedgerAuditRunMapper, sysLedgerAuditCheckpointMapper,
+                sysLedgerAuditFindingMapper, executor, properties, transactionTemplate, new SimpleMeterRegistry());
+    }
+
+    /**
+     * 构造执行中的批次，共 3 个分区
+     *
+     * @param id 批次ID
+     * @return 批次实体
+     */
+    private SysLedgerAuditRun run(Long id) {
+        SysLedgerAuditRun run = new SysLedgerAuditRun();
+        run.setId(id);
+        run.setTriggerType("scheduled");
+        run.setStatus("running");
+        run.setMaxUserId(250L);
+        run.setPartitionSize(100);
+        run.setTotalPartitions(3);
+        run.setFinishedPartitions(0);
+        run.setFindingCount(0);
+        return run;
+    }
+
+    /**
+     * 捕获写入的检查点
+     *
+     * @param times 期望的写入次数
+     * @return 检查点列表
+     */
+    private List<SysLedgerAuditCheckpoint> captureCheckpoints(int times) {
+        ArgumentCaptor<SysLedgerAuditCheckpoint> captor = ArgumentCaptor.forClass(SysLedgerAuditCheckpoint.class);
+        Mockito.verify(sysLedgerAuditCheckpointMapper, Mockito.times(times)).insertIgnore(captor.capture());
+        return captor.getAllValues();
+    }
+
+    /**
+     * 捕获唯一一次批次状态更新
+     *
+     * @return 批次更新内容
+     */
+    private SysLedgerAuditRun captureRunUpdate() {
+        ArgumentCaptor<SysLedgerAuditRun> captor = ArgumentCaptor.forClass(SysLedgerAuditRun.class);
+        Mockito.verify(sysLedgerAuditRunMapper).updateById(captor.capture());
+        return captor.getValue();
+    }
+}
@@ -0,0 +1,250 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.common.security.SysUserDetails;
+import com.ghost.moneyflowbackend.entity.BusAccount;
+import com.ghost.moneyflowbackend.entity.BusNetWorthSnapshot;
+import com.ghost.moneyflowbackend.entity.SysUser;
+import com.ghost.moneyflowbackend.mapper.BusAccountMapper;
+import com.ghost.moneyflowbackend.mapper.BusDailySummaryMapper;
+import com.ghost.moneyflowbackend.mapper.BusNetWorthSnapshotMapper;
+import com.ghost.moneyflowbackend.model.dto.AccountMonthlyFlowRow;
+import com.ghost.moneyflowbackend.model.vo.NetWorthPointVO;
+import com.ghost.moneyflowbackend.model.vo.NetWorthTimelineVO;
+import com.ghost.moneyflowbackend.service.impl.NetWorthServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 净资产快照与走势服务测试
+ *
+ * 快照只针对已结束的月份，测试数据以本月为基准向前推算
+ */
+@ExtendWith(MockitoExtension.class)
+class NetWorthServiceImplTest {
+
+    /**
+     * 本月
+     */
+    private static final YearMonth NOW = YearMonth.now();
+
+    /**
+     * 净资产快照数据访问层
+     */
+    @Mock
+    private BusNetWorthSnapshotMapper busNetWorthSnapshotMapper;
+
+    /**
+     * 日汇总数据访问层
+     */
+    @Mock
+    private BusDailySummaryMapper busDailySummaryMapper;
+
+    /**
+     * 账户数据访问层
+     */
+    @Mock
+    private BusAccountMapper busAccountMapper;
+
+    /**
+     * 变更日志服务
+     */
+    @Mock
+    private ChangeLogService changeLogService;
+
+    /**
+     * 服务实例
+     */
+    private NetWorthServiceImpl netWorthService;
+
+    /**
+     * 初始化登录用户与服务
+     */
+    @BeforeEach
+    void setUp() {
+        SysUser user = new SysUser();
+        user.setId(1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new SysUserDetails(user), null, Collections.emptyList()));
+        netWorthService = new NetWorthServiceImpl(busNetWorthSnapshotMapper, busDailySummaryMapper, busAccountMapper,
+                changeLogService);
+    }
+
+    /**
+     * 清理登录用户
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * 测试没有快照：从最早有账户的月份开始逐月计算，初始余额计入创建当月
+     */
+    @Test
+    void timelineShouldComputeAllMonthsWithoutSnapshot() {
+        Mockito.when(busAccountMapper.selectList(Mockito.any())).thenReturn(List.of(account(10L, NOW.minusMonths(2), "100.00")));
+        Mockito.when(busDailySummaryMapper.selectAccountMonthlyFlows(1L, null, NOW.atEndOfMonth()))
+                .thenReturn(List.of(flow(10L, NOW.minusMonths(1), "50.00")));
+
+        NetWorthTimelineVO timeline = netWorthService.getTimeline(NOW.minusMonths(3), NOW);
+
+        assertPoints(timeline, new String[]{"0.00", "100.00", "150.00", "150.00"},
+                new boolean[]{false, false, false, false});
+    }
+
+    /**
+     * 测试混合快照与计算：有快照的月份直接读取，之后的月份从最近快照出发只叠加之后的流水；已删除账户的快照不计入
+     */
+    @Test
+    void timelineShouldContinueFromLatestSnapshot() {
+        YearMonth start = NOW.minusMonths(3);
+        Mockito.when(busNetWorthSnapshotMapper.selectTotals(1L, start.atDay(1), NOW.atDay(1))).thenReturn(List.of(
+                snapshot(NOW.minusMonths(3), 0L, "200.00"), snapshot(NOW.minusMonths(2), 0L, "250.00")));
+        Mockito.when(busNetWorthSnapshotMapper.selectLatestMonthBefore(1L, NOW.minusMonths(1).atDay(1)))
+                .thenReturn(NOW.minusMonths(2).atDay(1));
+        Mockito.when(busNetWorthSnapshotMapper.selectAccountBalances(1L, NOW.minusMonths(2).atDay(1))).thenReturn(List.of(
+                snapshot(NOW.minusMonths(2), 10L, "250.00"), snapshot(NOW.minusMonths(2), 11L, "999.00")));
+        Mockito.when(busAccountMapper.selectList(Mockito.any())).thenReturn(List.of(account(10L, NOW.minusYears(1), "100.00")));
+        Mockito.when(busDailySummaryMapper.selectAccountMonthlyFlows(1L, NOW.minusMonths(1).atDay(1), NOW.atEndOfMonth()))
+                .thenReturn(List.of(flow(10L, NOW, "-30.00")));
+
+        NetWorthTimelineVO timeline = netWorthService.getTimeline(start, NOW);
+
+        assertPoints(timeline, new String[]{"200.00", "250.00", "250.00", "220.00"},
+                new boolean[]{true, true, false, false});
+    }
+
+    /**
+     * 测试补录早于创建时间的流水：初始余额提前到首笔流水所在月，之前的月份不出现负余额
+     */
+    @Test
+    void timelineShouldOpenAccountAtFirstFlowBeforeCreation() {
+        Mockito.when(busAccountMapper.selectList(Mockito.any())).thenReturn(List.of(account(10L, NOW, "100.00")));
+        Mockito.when(busDailySummaryMapper.selectAccountMonthlyFlows(1L, null, NOW.atEndOfMonth()))
+                .thenReturn(List.of(flow(10L, NOW.minusMonths(2), "-40.00")));
+
+        NetWorthTimelineVO timeline = netWorthService.getTimeline(NOW.minusMonths(3), NOW);
+
+        assertPoints(timeline, new String[]{"0.00", "60.00", "60.00", "60.00"},
+                new boolean[]{false, false, false, false});
+    }
+
+    /**
+     * 测试生成快照：每个已结束月份写入各账户与合计行
+     */
+    @Test
+    void snapshotClosedMonthsShouldWriteAccountAndTotalRows() {
+        Mockito.when(busAccountMapper.selectList(Mockito.any())).thenReturn(List.of(account(10L, NOW.minusMonths(2), "100.00")));
+
+        int months = netWorthService.snapshotClosedMonths(1L);
+
+        Assertions.assertEquals(2, months);
+        Mockito.verify(changeLogService).lockSequence(1L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BusNetWorthSnapshot>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(busNetWorthSnapshotMapper).insertBatch(captor.capture());
+        List<BusNetWorthSnapshot> rows = captor.getValue();
+        Assertions.assertEquals(4, rows.size());
+        Assertions.assertEquals(NOW.minusMonths(2).atDay(1), rows.get(0).getSnapshotMonth());
+        Assertions.assertEquals(10L, rows.get(0).getAccountId());
+        Assertions.assertEquals(0L, rows.get(1).getAccountId());
+        Assertions.assertEquals(new BigDecimal("100.00"), rows.get(1).getBalance());
+        Assertions.assertEquals(NOW.minusMonths(1).atDay(1), rows.get(3).getSnapshotMonth());
+    }
+
+    /**
+     * 测试失效：过去月份删除该月及之后的快照，本月不删除，未指定日期时全部删除；都先锁定变更序号
+     */
+    @Test
+    void invalidateSnapshotsShouldDeleteFromAffectedMonth() {
+        netWorthService.invalidateSnapshots(1L, NOW.minusMonths(2).atDay(15));
+        Mockito.verify(busNetWorthSnapshotMapper).deleteFromMonth(1L, NOW.minusMonths(2).atDay(1));
+
+        netWorthService.invalidateSnapshots(1L, NOW.atDay(1));
+        Mockito.verify(busNetWorthSnapshotMapper, Mockito.times(1)).deleteFromMonth(Mockito.any(), Mockito.any());
+
+        netWorthService.invalidateSnapshots(1L, null);
+        Mockito.verify(busNetWorthSnapshotMapper).deleteByUserId(1L);
+        Mockito.verify(changeLogService, Mockito.times(3)).lockSequence(1L);
+    }
+
+    /**
+     * 校验走势各点
+     *
+     * @param timeline 净资产走势
+     * @param balances 各月合计余额
+     * @param snapshots 各月是否来自快照
+     */
+    private void assertPoints(NetWorthTimelineVO timeline, String[] balances, boolean[] snapshots) {
+        List<NetWorthPointVO> points = timeline.getPoints();
+        Assertions.assertEquals(balances.length, points.size());
+        for (int i = 0; i < balances.length; i++) {
+            Assertions.assertEquals(new BigDecimal(balances[i]), points.get(i).getTotalBalance(), "第" + i + "个月余额");
+            Assertions.assertEquals(snapshots[i], points.get(i).getSnapshot(), "第" + i + "个月快照标记");
+        }
+    }
+
+    /**
+     * 构造账户
+     *
+     * @param id 账户ID
+     * @param createMonth 创建月份
+     * @param initialBalance 初始余额
+     * @return 账户
+     */
+    private BusAccount account(Long id, YearMonth createMonth, String initialBalance) {
+        BusAccount account = new BusAccount();
+        account.setId(id);
+        account.setUserId(1L);
+        account.setInitialBalance(new BigDecimal(initialBalance));
+        account.setCreateTime(createMonth.atDay(10).atStartOfDay());
+        return account;
+    }
+
+    /**
+     * 构造月度净流入行
+     *
+     * @param accountId 账户ID
+     * @param month 月份
+     * @param amount 净流入
+     * @return 月度净流入行
+     */
+    private AccountMonthlyFlowRow flow(Long accountId, YearMonth month, String amount) {
+        AccountMonthlyFlowRow row = new AccountMonthlyFlowRow();
+        row.setAccountId(accountId);
+        row.setMonth(month.atDay(1));
+        row.setNetAmount(new BigDecimal(amount));
+        return row;
+    }
+
+    /**
+     * 构造快照行
+     *
+     * @param month 月份
+     * @param accountId 账户ID，合计行为 0
+     * @param balance 余额
+     * @return 快照行
+     */
+    private BusNetWorthSnapshot snapshot(YearMonth month, Long accountId, String balance) {
+        BusNetWorthSnapshot snapshot = new BusNetWorthSnapshot();
+        snapshot.setUserId(1L);
+        snapshot.setSnapshotMonth(month.atDay(1));
+        snapshot.setAccountId(accountId);
+        snapshot.setBalance(new BigDecimal(balance));
+        return snapshot;
+    }
+}
@@ -0,0 +1,113 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.security.AuthProperties;
+import com.ghost.moneyflowbackend.entity.SysRefreshToken;
+import com.ghost.moneyflowbackend.mapper.SysRefreshTokenMapper;
+import com.ghost.moneyflowbackend.model.dto.RefreshTokenRotation;
+import com.ghost.moneyflowbackend.service.impl.RefreshTokenServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+/**
+ * 刷新令牌服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceImplTest {
+
+    /**
+     * 刷新令牌数据访问层
+     */
+    @Mock
+    private SysRefreshTokenMapper sysRefreshTokenMapper;
+
+    /**
+     * 服务实例
+     */
+    private RefreshTokenServiceImpl refreshTokenService;
+
+    /**
+     * 初始化服务
+     */
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenServiceImpl(sysRefreshTokenMapper, new AuthProperties());
+    }
+
+    /**
+     * 测试轮换：旧令牌标记为已使用，新令牌沿用令牌族且只落库摘要
+     */
+    @Test
+    void rotateShouldIssueNewTokenInSameFamily() {
+        SysRefreshToken stored = storedToken(null);
+        Mockito.when(sysRefreshTokenMapper.selectOne(Mockito.any())).thenReturn(stored);
+        Mockito.when(sysRefreshTokenMapper.markUsed(Mockito.eq(5L), Mockito.any())).thenReturn(1);
+
+        RefreshTokenRotation rotation = refreshTokenService.rotate("old-token");
+
+        ArgumentCaptor<SysRefreshToken> captor = ArgumentCaptor.forClass(SysRefreshToken.class);
+        Mockito.verify(sysRefreshTokenMapper).insert(captor.capture());
+        SysRefreshToken issued = captor.getValue();
+        Assertions.assertEquals(1L, rotation.getUserId());
+        Assertions.assertNotEquals("old-token", rotation.getRefreshToken());
+        Assertions.assertEquals("family-1", issued.getFamilyId());
+        Assertions.assertEquals(64, issued.getTokenHash().length());
+        Assertions.assertNotEquals(rotation.getRefreshToken(), issued.getTokenHash());
+        Mockito.verify(sysRefreshTokenMapper, Mockito.never()).revokeFamily(Mockito.any(), Mockito.any());
+    }
+
+    /**
+     * 测试重复使用：已使用的令牌再次出现时吊销整个令牌族
+     */
+    @Test
+    void rotateShouldRevokeFamilyOnReuse() {
+        SysRefreshToken stored = storedToken(LocalDateTime.now().minusMinutes(1));
+        Mockito.when(sysRefreshTokenMapper.selectOne(Mockito.any())).thenReturn(stored);
+
+        BusinessException exception = Assertions.assertThrows(BusinessException.class,
+                () -> refreshTokenService.rotate("old-token"));
+
+        Assertions.assertEquals(ErrorCode.UNAUTHORIZED, exception.getCode());
+        Mockito.verify(sysRefreshTokenMapper).revokeFamily(Mockito.eq("family-1"), Mockito.any());
+        Mockito.verify(sysRefreshTokenMapper, Mockito.never()).insert(Mockito.any(SysRefreshToken.class));
+    }
+
+    /**
+     * 测试吊销：只吊销当前用户自己的令牌族，他人的令牌忽略
+     */
+    @Test
+    void revokeShouldIgnoreTokenOfOtherUser() {
+        Mockito.when(sysRefreshTokenMapper.selectOne(Mockito.any())).thenReturn(storedToken(null));
+
+        refreshTokenService.revoke(2L, "old-token");
+        Mockito.verify(sysRefreshTokenMapper, Mockito.never()).revokeFamily(Mockito.any(), Mockito.any());
+
+        refreshTokenService.revoke(1L, "old-token");
+        Mockito.verify(sysRefreshTokenMapper).revokeFamily(Mockito.eq("family-1"), Mockito.any());
+    }
+
+    /**
+     * 构造已落库的刷新令牌
+     *
+     * @param usedTime 轮换时间
+     * @return 刷新令牌记录
+     */
+    private SysRefreshToken storedToken(LocalDateTime usedTime) {
+        SysRefreshToken token = new SysRefreshToken();
+        token.setId(5L);
+        token.setUserId(1L);
+        token.setFamilyId("family-1");
+        token.setExpireTime(LocalDateTime.now().plusDays(1));
+        token.setUsedTime(usedTime);
+        return token;
+    }
+}
@@ -0,0 +1,210 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.common.exception.BusinessException;
+import com.ghost.moneyflowbackend.common.exception.ErrorCode;
+import com.ghost.moneyflowbackend.common.model.SyncEntityType;
+import com.ghost.moneyflowbackend.common.security.SysUserDetails;
+import com.ghost.moneyflowbackend.common.utils.CursorUtils;
+import com.ghost.moneyflowbackend.entity.SysSyncChange;
+import com.ghost.moneyflowbackend.entity.SysUser;
+import com.ghost.moneyflowbackend.mapper.SysSyncChangeMapper;
+import com.ghost.moneyflowbackend.model.vo.AccountVO;
+import com.ghost.moneyflowbackend.model.vo.SyncTombstoneVO;
+import com.ghost.moneyflowbackend.model.vo.SyncVO;
+import com.ghost.moneyflowbackend.service.impl.SyncServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 增量同步服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+class SyncServiceImplTest {
+
+    /**
+     * 变更记录数据访问层
+     */
+    @Mock
+    private SysSyncChangeMapper sysSyncChangeMapper;
+
+    /**
+     * 变更日志服务
+     */
+    @Mock
+    private ChangeLogService changeLogService;
+
+    /**
+     * 账户服务
+     */
+    @Mock
+    private BusAccountService busAccountService;
+
+    /**
+     * 分类服务
+     */
+    @Mock
+    private BusCategoryService busCategoryService;
+
+    /**
+     * 预算服务
+     */
+    @Mock
+    private BusBudgetService busBudgetService;
+
+    /**
+     * 目标服务
+     */
+    @Mock
+    private BusGoalService busGoalService;
+
+    /**
+     * 周期规则服务
+     */
+    @Mock
+    private BusRecurringRuleService busRecurringRuleService;
+
+    /**
+     * 交易服务
+     */
+    @Mock
+    private BusTransactionService busTransactionService;
+
+    /**
+     * 服务实例
+     */
+    private SyncServiceImpl syncService;
+
+    /**
+     * 初始化登录用户与服务
+     */
+    @BeforeEach
+    void setUp() {
+        SysUser user = new SysUser();
+        user.setId(1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(new SysUserDetails(user), null, Collections.emptyList()));
+        syncService = new SyncServiceImpl(sysSyncChangeMapper, changeLogService, busAccountService, busCategoryService,
+                busBudgetService, busGoalService, busRecurringRuleService, busTransactionService);
+    }
+
+    /**
+     * 清理登录用户
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * 测试游标解码：从游标中的序号之后读取，多取一条判断是否还有下一页
+     */
+    @Test
+    void syncShouldReadAfterDecodedCursor() {
+        Mockito.when(changeLogService.ensureInitialized(1L)).thenReturn(true);
+        Mockito.when(sysSyncChangeMapper.selectAfter(1L, 42L, 501)).thenReturn(Collections.emptyList());
+
+        SyncVO vo = syncService.sync(CursorUtils.encode("42"), null);
+
+        Assertions.assertFalse(vo.getHasMore());
+        Assertions.assertEquals("42", CursorUtils.decode(vo.getCursor(), 1)[0]);
+    }
+
+    /**
+     * 测试非法游标：序号不是数字时抛出参数异常
+     */
+    @Test
+    void syncShouldRejectNonNumericCursor() {
+        BusinessException exception = Assertions.assertThrows(BusinessException.class,
+                () -> syncService.sync(CursorUtils.encode("abc"), null));
+
+        Assertions.assertEquals(ErrorCode.INVALID_PARAM, exception.getCode());
+        Mockito.verifyNoInteractions(sysSyncChangeMapper);
+    }
+
+    /**
+     * 测试首次同步补录：本事务不读取变更，返回空页并要求从原游标继续翻页
+     */
+    @Test
+    void syncShouldReturnEmptyPageWhenJustInitialized() {
+        Mockito.when(changeLogService.ensureInitialized(1L)).thenReturn(false);
+
+        SyncVO vo = syncService.sync(null, null);
+
+        Assertions.assertTrue(vo.getHasMore());
+        Assertions.assertEquals("0", CursorUtils.decode(vo.getCursor(), 1)[0]);
+        Assertions.assertTrue(vo.getAccounts().isEmpty());
+        Assertions.assertTrue(vo.getDeleted().isEmpty());
+        Mockito.verifyNoInteractions(sysSyncChangeMapper, busAccountService, busTransactionService);
+    }
+
+    /**
+     * 测试删除标记：已删除的变更与查不到的数据都以删除标记返回；超出每页条数时截断并以最后一条的序号作为游标
+     */
+    @Test
+    void syncShouldReturnTombstonesForDeletedAndMissing() {
+        Mockito.when(changeLogService.ensureInitialized(1L)).thenReturn(true);
+        Mockito.when(sysSyncChangeMapper.selectAfter(1L, 0L, 4)).thenReturn(List.of(
+                change(SyncEntityType.ACCOUNT, 10L, 5L, false),
+                change(SyncEntityType.ACCOUNT, 11L, 6L, false),
+                change(SyncEntityType.TRANSACTION, 20L, 7L, true),
+                change(SyncEntityType.ACCOUNT, 12L, 8L, false)));
+        AccountVO account = new AccountVO();
+        account.setId(10L);
+        Mockito.when(busAccountService.listAccountsByIds(1L, Set.of(10L, 11L))).thenReturn(List.of(account));
+
+        SyncVO vo = syncService.sync(null, 3);
+
+        Assertions.assertTrue(vo.getHasMore());
+        Assertions.assertEquals("7", CursorUtils.decode(vo.getCursor(), 1)[0]);
+        Assertions.assertEquals(1, vo.getAccounts().size());
+        Assertions.assertEquals(10L, vo.getAccounts().get(0).getId());
+        List<SyncTombstoneVO> deleted = vo.getDeleted();
+        Assertions.assertEquals(2, deleted.size());
+        assertTombstone(deleted.get(0), SyncEntityType.TRANSACTION, 20L);
+        assertTombstone(deleted.get(1), SyncEntityType.ACCOUNT, 11L);
+        Mockito.verify(busTransactionService).listTransactionsByIds(1L, Set.of());
+    }
+
+    /**
+     * 校验删除标记
+     *
+     * @param tombstone 删除标记
+     * @param type 数据类型
+     * @param id 数据ID
+     */
+    private void assertTombstone(SyncTombstoneVO tombstone, String type, Long id) {
+        Assertions.assertEquals(type, tombstone.getType());
+        Assertions.assertEquals(id, tombstone.getId());
+    }
+
+    /**
+     * 构造变更记录
+     *
+     * @param type 数据类型
+     * @param id 数据ID
+     * @param seq 变更序号
+     * @param deleted 是否已删除
+     * @return 变更记录
+     */
+    private SysSyncChange change(String type, Long id, Long seq, boolean deleted) {
+        SysSyncChange change = new SysSyncChange();
+        change.setUserId(1L);
+        change.setEntityType(type);
+        change.setEntityId(id);
+        change.setSeq(seq);
+        change.setDeleted(deleted ? 1 : 0);
+        return change;
+    }
+}
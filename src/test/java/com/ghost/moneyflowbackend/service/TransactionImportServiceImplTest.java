@@ -0,0 +1,216 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.common.config.TransactionImportProperties;
+import com.ghost.moneyflowbackend.common.security.SysUserDetails;
+import com.ghost.moneyflowbackend.entity.BusAccount;
+import com.ghost.moneyflowbackend.entity.BusCategory;
+import com.ghost.moneyflowbackend.entity.SysUser;
+import com.ghost.moneyflowbackend.mapper.BusAccountMapper;
+import com.ghost.moneyflowbackend.mapper.BusCategoryMapper;
+import com.ghost.moneyflowbackend.model.dto.TransactionCreateRequest;
+import com.ghost.moneyflowbackend.model.vo.TransactionBatchItemVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionBatchResultVO;
+import com.ghost.moneyflowbackend.model.vo.TransactionImportResultVO;
+import com.ghost.moneyflowbackend.service.impl.TransactionImportServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 交易文件导入服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionImportServiceImplTest {
+
+    /**
+     * 交易明细业务服务
+     */
+    @Mock
+    private BusTransactionService busTransactionService;
+
+    /**
+     * 账户数据访问层
+     */
+    @Mock
+    private BusAccountMapper busAccountMapper;
+
+    /**
+     * 分类数据访问层
+     */
+    @Mock
+    private BusCategoryMapper busCategoryMapper;
+
+    /**
+     * 导入配置
+     */
+    private TransactionImportProperties importProperties;
+
+    /**
+     * 每批写入的交易
+     */
+    private final List<List<TransactionCreateRequest>> chunks = new ArrayList<>();
+
+    /**
+     * 初始化登录用户与基础数据
+     */
+    @BeforeEach
+    void setUp() {
+        SysUser user = new SysUser();
+        user.setId(1L);
+        SysUserDetails userDetails = new SysUserDetails(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userDetails, null, Collections.emptyList()));
+        importProperties = new TransactionImportProperties();
+        Mockito.when(busAccountMapper.selectList(Mockito.any())).thenReturn(List.of(account(10L, "现金")));
+        Mockito.when(busCategoryMapper.selectList(Mockito.any())).thenReturn(List.of(
+                category(20L, "餐饮", "expense"),
+                category(21L, "其他支出", "expense"),
+                category(22L, "其他收入", "income")));
+    }
+
+    /**
+     * 清理登录用户
+     */
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    /**
+     * 测试支付宝账单：跳过说明行与不计收支记录，按收/支列判断类型，未知分类记为行级错误
+     */
+    @Test
+    void importCsvShouldParseAlipayStatement() {
+        mockCreateTransactions();
+        String content = "支付宝交易记录明细查询\n"
+                + "账号:[user@example.com]\n"
+                + "交易创建时间,交易对方,商品名称,金额（元）,收/支,交易状态,分类\n"
+                + "2024/1/5 12:30:00,餐厅,午饭,\"1,234.50\",支出,交易成功,餐饮\n"
+                + "2024-01-06 09:00:00,公司,工资,8000.00,收入,交易成功,\n"
+                + "2024-01-07 10:00:00,余额宝,收益,0.52,不计收支,交易成功,\n"
+                + "2024-01-08 10:00:00,商店,文具,12.00,支出,交易成功,宠物\n"
+                + "共4笔记录\n";
+        MockMultipartFile file = new MockMultipartFile("file", "alipay.csv", "text/csv",
+                content.getBytes(Charset.forName("GBK")));
+
+        TransactionImportResultVO result = newService().importCsv(file, 10L, "GBK");
+
+        Assertions.assertEquals(4L, result.getTotalRows());
+        Assertions.assertEquals(2L, result.getSuccessCount());
+        Assertions.assertEquals(1L, result.getFailureCount());
+        Assertions.assertEquals(1L, result.getSkippedCount());
+        Assertions.assertEquals(7L, result.getErrors().get(0).getRowNumber());
+        Assertions.assertEquals("分类不存在: 宠物", result.getErrors().get(0).getMessage());
+        Assertions.assertEquals(1, chunks.size());
+        TransactionCreateRequest expense = chunks.get(0).get(0);
+        Assertions.assertEquals("expense", expense.getType());
+        Assertions.assertEquals(0, new BigDecimal("1234.50").compareTo(expense.getAmount()));
+        Assertions.assertEquals(LocalDate.of(2024, 1, 5), expense.getDate());
+        Assertions.assertEquals(20L, expense.getCategoryId());
+        Assertions.assertEquals(10L, expense.getAccountId());
+        Assertions.assertEquals("餐厅 午饭", expense.getNote());
+        TransactionCreateRequest income = chunks.get(0).get(1);
+        Assertions.assertEquals("income", income.getType());
+        Assertions.assertEquals(22L, income.getCategoryId());
+    }
+
+    /**
+     * 测试按配置的批次大小分批写入
+     */
+    @Test
+    void importCsvShouldFlushInChunks() {
+        mockCreateTransactions();
+        importProperties.setChunkSize(2);
+        StringBuilder content = new StringBuilder("日期,金额,账户\n");
+        for (int i = 1; i <= 5; i++) {
+            content.append("2024-02-0").append(i).append(",-").append(i).append(",现金\n");
+        }
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+                content.toString().getBytes(Charset.forName("UTF-8")));
+
+        TransactionImportResultVO result = newService().importCsv(file, null, null);
+
+        Assertions.assertEquals(5L, result.getSuccessCount());
+        Assertions.assertEquals(3, chunks.size());
+        Assertions.assertEquals("expense", chunks.get(2).get(0).getType());
+        Assertions.assertEquals(21L, chunks.get(2).get(0).getCategoryId());
+    }
+
+    /**
+     * 创建服务实例
+     *
+     * @return 服务实例
+     */
+    private TransactionImportServiceImpl newService() {
+        return new TransactionImportServiceImpl(busTransactionService, busAccountMapper, busCategoryMapper,
+                importProperties);
+    }
+
+    /**
+     * 模拟批量写入，全部成功并记录每批内容
+     */
+    private void mockCreateTransactions() {
+        Mockito.when(busTransactionService.createTransactions(Mockito.eq(1L), Mockito.anyList(), Mockito.anyMap(),
+                Mockito.anyMap())).thenAnswer(invocation -> {
+            List<TransactionCreateRequest> items = new ArrayList<>(invocation.getArgument(1));
+            chunks.add(items);
+            TransactionBatchResultVO result = new TransactionBatchResultVO();
+            for (int i = 0; i < items.size(); i++) {
+                TransactionBatchItemVO item = new TransactionBatchItemVO();
+                item.setIndex(i);
+                item.setSuccess(true);
+                result.getItems().add(item);
+            }
+            result.setSuccessCount(items.size());
+            result.setFailureCount(0);
+            return result;
+        });
+    }
+
+    /**
+     * 构建账户
+     *
+     * @param id 账户ID
+     * @param name 账户名称
+     * @return 账户实体
+     */
+    private BusAccount account(Long id, String name) {
+        BusAccount account = new BusAccount();
+        account.setId(id);
+        account.setUserId(1L);
+        account.setName(name);
+        return account;
+    }
+
+    /**
+     * 构建分类
+     *
+     * @param id 分类ID
+     * @param name 分类名称
+     * @param type 分类类型
+     * @return 分类实体
+     */
+    private BusCategory category(Long id, String name, String type) {
+        BusCategory category = new BusCategory();
+        category.setId(id);
+        category.setUserId(1L);
+        category.setName(name);
+        category.setType(type);
+        return category;
+    }
+}
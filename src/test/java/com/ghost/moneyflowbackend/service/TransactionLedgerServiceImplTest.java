@@ -0,0 +1,246 @@
+package com.ghost.moneyflowbackend.service;
+
+import com.ghost.moneyflowbackend.common.model.SyncEntityType;
+import com.ghost.moneyflowbackend.entity.BusDailySummary;
+import com.ghost.moneyflowbackend.entity.BusTransaction;
+import com.ghost.moneyflowbackend.mapper.BusAccountMapper;
+import com.ghost.moneyflowbackend.mapper.BusDailySummaryMapper;
+import com.ghost.moneyflowbackend.service.impl.TransactionLedgerServiceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 交易账本派生数据维护服务测试
+ */
+@ExtendWith(MockitoExtension.class)
+class TransactionLedgerServiceImplTest {
+
+    /**
+     * 交易日期
+     */
+    private static final LocalDate DATE = LocalDate.of(2026, 3, 15);
+
+    /**
+     * 日汇总数据访问层
+     */
+    @Mock
+    private BusDailySummaryMapper busDailySummaryMapper;
+
+    /**
+     * 账户数据访问层
+     */
+    @Mock
+    private BusAccountMapper busAccountMapper;
+
+    /**
+     * 净资产服务
+     */
+    @Mock
+    private NetWorthService netWorthService;
+
+    /**
+     * 变更日志服务
+     */
+    @Mock
+    private ChangeLogService changeLogService;
+
+    /**
+     * 服务实例
+     */
+    private TransactionLedgerServiceImpl ledgerService;
+
+    /**
+     * 初始化服务
+     */
+    @BeforeEach
+    void setUp() {
+        ledgerService = new TransactionLedgerServiceImpl(busDailySummaryMapper, busAccountMapper, netWorthService,
+                changeLogService);
+    }
+
+    /**
+     * 测试新增收入：日汇总正增量，账户余额增加
+     */
+    @Test
+    void recordCreatedShouldAddIncome() {
+        ledgerService.recordCreated(transaction(1L, "income", "100.00", 3L, 10L, null));
+
+        List<BusDailySummary> deltas = captureDeltas();
+        Assertions.assertEquals(1, deltas.size());
+        assertDelta(deltas.get(0), "income", 3L, 10L, "100.00", 1);
+        Mockito.verify(busAccountMapper).adjustBalance(10L, new BigDecimal("100.00"));
+        Mockito.verify(netWorthService).invalidateSnapshots(1L, DATE);
+        Mockito.verify(changeLogService).recordChanges(1L, SyncEntityType.TRANSACTION, Set.of(1L), false);
+        Mockito.verify(changeLogService).recordChanges(1L, SyncEntityType.ACCOUNT, Set.of(10L), false);
+    }
+
+    /**
+     * 测试新增支出：日汇总正增量，账户余额减少；无分类时归入分类 0
+     */
+    @Test
+    void recordCreatedShouldSubtractExpense() {
+        ledgerService.recordCreated(transaction(1L, "expense", "30.00", null, 10L, null));
+
+        List<BusDailySummary> deltas = captureDeltas();
+        Assertions.assertEquals(1, deltas.size());
+        assertDelta(deltas.get(0), "expense", 0L, 10L, "30.00", 1);
+        Mockito.verify(busAccountMapper).adjustBalance(10L, new BigDecimal("-30.00"));
+    }
+
+    /**
+     * 测试新增转账：转出与转入各记一个汇总键，余额从转出账户移到转入账户
+     */
+    @Test
+    void recordCreatedShouldSplitTransfer() {
+        ledgerService.recordCreated(transaction(1L, "transfer", "50.00", null, 10L, 11L));
+
+        List<BusDailySummary> deltas = captureDeltas();
+        Assertions.assertEquals(2, deltas.size());
+        // 增量按汇总键排序写入，"transfer_in|" 排在 "transfer|" 之前
+        assertDelta(deltas.get(0), "transfer_in", 0L, 11L, "50.00", 1);
+        assertDelta(deltas.get(1), "transfer", 0L, 10L, "50.00", 1);
+        Mockito.verify(busAccountMapper).adjustBalance(10L, new BigDecimal("-50.00"));
+        Mockito.verify(busAccountMapper).adjustBalance(11L, new BigDecimal("50.00"));
+        Mockito.verify(changeLogService).recordChanges(1L, SyncEntityType.ACCOUNT, Set.of(10L, 11L), false);
+    }
+
+    /**
+     * 测试修改金额：同一汇总键的新旧增量合并为差额，笔数不变
+     */
+    @Test
+    void recordUpdatedShouldNetAmountChange() {
+        BusTransaction before = transaction(1L, "expense", "30.00", 3L, 10L, null);
+        BusTransaction after = transaction(1L, "expense", "50.00", 3L, 10L, null);
+
+        ledgerService.recordUpdated(before, after);
+
+        List<BusDailySummary> deltas = captureDeltas();
+        Assertions.assertEquals(1, deltas.size());
+        assertDelta(deltas.get(0), "expense", 3L, 10L, "20.00", 0);
+        Mockito.verify(busAccountMapper).adjustBalance(10L, new BigDecimal("-20.00"));
+        Mockito.verify(netWorthService).invalidateSnapshots(1L, DATE);
+    }
+
+    /**
+     * 测试修改账户与类型：旧键整笔撤销，新键整笔计入，两个账户分别调整
+     */
+    @Test
+    void recordUpdatedShouldMoveBetweenAccountsAndTypes() {
+        BusTransaction before = transaction(1L, "expense", "30.00", 3L, 10L, null);
+        BusTransaction after = transaction(1L, "income", "30.00", 4L, 11L, null);
+
+        ledgerService.recordUpdated(before, after);
+
+        List<BusDailySummary> deltas = captureDeltas();
+        Assertions.assertEquals(2, deltas.size());
+        assertDelta(deltas.get(0), "expense", 3L, 10L, "-30.00", -1);
+        assertDelta(deltas.get(1), "income", 4L, 11L, "30.00", 1);
+        Mockito.verify(busAccountMapper).adjustBalance(10L, new BigDecimal("30.00"));
+        Mockito.verify(busAccountMapper).adjustBalance(11L, new BigDecimal("30.00"));
+        Mockito.verify(changeLogService).recordChanges(1L, SyncEntityType.ACCOUNT, Set.of(10L, 11L), false);
+    }
+
+    /**
+     * 测试只改备注：增量全部抵消，不写汇总、不调余额、不失效快照
+     */
+    @Test
+    void recordUpdatedShouldSkipZeroDeltas() {
+        BusTransaction before = transaction(1L, "expense", "30.00", 3L, 10L, null);
+        BusTransaction after = transaction(1L, "expense", "30.00", 3L, 10L, null);
+        after.setNote("改了备注");
+
+        ledgerService.recordUpdated(before, after);
+
+        Mockito.verify(busDailySummaryMapper, Mockito.never()).upsertDeltas(Mockito.any());
+        Mockito.verify(busAccountMapper, Mockito.never()).adjustBalance(Mockito.any(), Mockito.any());
+        Mockito.verify(netWorthService, Mockito.never()).invalidateSnapshots(Mockito.any(), Mockito.any());
+        Mockito.verify(changeLogService).recordChanges(1L, SyncEntityType.TRANSACTION, Set.of(1L), false);
+        Mockito.verify(changeLogService).recordChanges(1L, SyncEntityType.ACCOUNT, Collections.emptySet(), false);
+    }
+
+    /**
+     * 测试删除转账：两个汇总键整笔撤销，余额退回转出账户
+     */
+    @Test
+    void recordDeletedShouldReverseTransfer() {
+        ledgerService.recordDeleted(transaction(1L, "transfer", "50.00", null, 10L, 11L));
+
+        List<BusDailySummary> deltas = captureDeltas();
+        Assertions.assertEquals(2, deltas.size());
+        assertDelta(deltas.get(0), "transfer_in", 0L, 11L, "-50.00", -1);
+        assertDelta(deltas.get(1), "transfer", 0L, 10L, "-50.00", -1);
+        Mockito.verify(busAccountMapper).adjustBalance(10L, new BigDecimal("50.00"));
+        Mockito.verify(busAccountMapper).adjustBalance(11L, new BigDecimal("-50.00"));
+        Mockito.verify(changeLogService).recordChanges(1L, SyncEntityType.TRANSACTION, Set.of(1L), true);
+    }
+
+    /**
+     * 捕获唯一一次写入的日汇总增量
+     *
+     * @return 日汇总增量列表
+     */
+    @SuppressWarnings("unchecked")
+    private List<BusDailySummary> captureDeltas() {
+        ArgumentCaptor<List<BusDailySummary>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(busDailySummaryMapper).upsertDeltas(captor.capture());
+        return captor.getValue();
+    }
+
+    /**
+     * 校验日汇总增量
+     *
+     * @param delta 日汇总增量
+     * @param type 汇总类型
+     * @param categoryId 分类ID
+     * @param accountId 账户ID
+     * @param amount 金额增量
+     * @param count 笔数增量
+     */
+    private void assertDelta(BusDailySummary delta, String type, Long categoryId, Long accountId, String amount,
+                             int count) {
+        Assertions.assertEquals(1L, delta.getUserId());
+        Assertions.assertEquals(DATE, delta.getDate());
+        Assertions.assertEquals(type, delta.getType());
+        Assertions.assertEquals(categoryId, delta.getCategoryId());
+        Assertions.assertEquals(accountId, delta.getAccountId());
+        Assertions.assertEquals(new BigDecimal(amount), delta.getAmountSum());
+        Assertions.assertEquals(count, delta.getTxCount());
+    }
+
+    /**
+     * 构造交易
+     *
+     * @param id 交易ID
+     * @param type 类型
+     * @param amount 金额
+     * @param categoryId 分类ID
+     * @param accountId 账户ID
+     * @param targetAccountId 转入账户ID
+     * @return 交易
+     */
+    private BusTransaction transaction(Long id, String type, String amount, Long categoryId, Long accountId,
+                                       Long targetAccountId) {
+        BusTransaction transaction = new BusTransaction();
+        transaction.setId(id);
+        transaction.setUserId(1L);
+        transaction.setType(type);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDate(DATE);
+        transaction.setCategoryId(categoryId);
+        transaction.setAccountId(accountId);
+        transaction.setTargetAccountId(targetAccountId);
+        return transaction;
+    }
+}